@@ -0,0 +1,5 @@
+-- 업로드 시 클라이언트가 신고한 영상 정보 (prod는 ddl-auto=validate 이므로 배포 전 수동 적용)
+ALTER TABLE video_processing_queue
+    ADD COLUMN declared_duration DOUBLE NULL,
+    ADD COLUMN resolution VARCHAR(16) NULL,
+    ADD COLUMN codec VARCHAR(32) NULL;
@@ -0,0 +1,7 @@
+-- 다중 인스턴스 DB 큐 선점용 임대 컬럼과 인덱스 (SKIP LOCKED는 MySQL 8.0.1 이상 필요)
+ALTER TABLE video_processing_queue
+    ADD COLUMN worker_id VARCHAR(64) NULL,
+    ADD COLUMN lease_expires_at DATETIME(6) NULL;
+
+CREATE INDEX idx_queue_status_created ON video_processing_queue (status, created_at);
+CREATE INDEX idx_queue_status_lease ON video_processing_queue (status, lease_expires_at);
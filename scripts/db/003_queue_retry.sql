@@ -0,0 +1,15 @@
+-- 재시도 예약/실패 유형 컬럼과 DEAD_LETTER 상태
+-- Hibernate 6는 @Enumerated(STRING)을 MySQL ENUM으로 만들기 때문에 상태 값을 추가하면 컬럼 정의도 함께 바꿔야 함
+ALTER TABLE video_processing_queue
+    MODIFY status ENUM ('PENDING','PROCESSING','COMPLETED','FAILED','DEAD_LETTER') NOT NULL,
+    ADD COLUMN next_attempt_at DATETIME(6) NULL,
+    ADD COLUMN failure_class ENUM ('STT_TIMEOUT','S3_NOT_FOUND','LLM_RATE_LIMITED','LEASE_EXPIRED','UNKNOWN') NULL,
+    ADD COLUMN last_error VARCHAR(500) NULL;
+
+UPDATE video_processing_queue SET next_attempt_at = created_at WHERE next_attempt_at IS NULL;
+
+ALTER TABLE video_processing_queue MODIFY next_attempt_at DATETIME(6) NOT NULL;
+
+-- 선점 쿼리가 next_attempt_at 순으로 바뀌어 002의 created_at 인덱스를 교체
+DROP INDEX idx_queue_status_created ON video_processing_queue;
+CREATE INDEX idx_queue_status_next_attempt ON video_processing_queue (status, next_attempt_at);
@@ -0,0 +1,31 @@
+-- 끝난 큐 작업 보관: 완료 시각 컬럼/인덱스와 이력 테이블
+ALTER TABLE video_processing_queue
+    ADD COLUMN finished_at DATETIME(6) NULL;
+
+CREATE INDEX idx_queue_status_finished ON video_processing_queue (status, finished_at);
+
+CREATE TABLE video_processing_queue_history
+(
+    id                BIGINT       NOT NULL,
+    question_id       BIGINT       NOT NULL,
+    request_no        INT          NOT NULL,
+    video_key         VARCHAR(255) NOT NULL,
+    is_open           BIT          NOT NULL,
+    start_time        BIGINT       NOT NULL,
+    use_presigned_url BIT          NOT NULL,
+    username          VARCHAR(255) NOT NULL,
+    status            ENUM ('PENDING','PROCESSING','COMPLETED','FAILED','DEAD_LETTER') NOT NULL,
+    created_at        DATETIME(6)  NOT NULL,
+    started_at        DATETIME(6)  NULL,
+    finished_at       DATETIME(6)  NULL,
+    retry_count       INT          NULL,
+    failure_class     ENUM ('STT_TIMEOUT','S3_NOT_FOUND','LLM_RATE_LIMITED','LEASE_EXPIRED','UNKNOWN') NULL,
+    last_error        VARCHAR(500) NULL,
+    declared_duration DOUBLE       NULL,
+    resolution        VARCHAR(16)  NULL,
+    codec             VARCHAR(32)  NULL,
+    archived_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_queue_history_username (username, created_at),
+    INDEX idx_queue_history_archived (archived_at)
+);
@@ -0,0 +1,14 @@
+-- 처리 차선(SHORT/LONG)과 우선순위, 사용자별 처리 중 집계 인덱스
+ALTER TABLE video_processing_queue
+    ADD COLUMN lane ENUM ('SHORT','LONG') NOT NULL DEFAULT 'SHORT',
+    ADD COLUMN priority INT NOT NULL DEFAULT 0;
+
+UPDATE video_processing_queue SET lane = 'LONG' WHERE declared_duration > 300;
+
+DROP INDEX idx_queue_status_next_attempt ON video_processing_queue;
+CREATE INDEX idx_queue_lane_pickup ON video_processing_queue (status, lane, priority DESC, next_attempt_at);
+CREATE INDEX idx_queue_status_user ON video_processing_queue (status, username);
+
+ALTER TABLE video_processing_queue_history
+    ADD COLUMN lane ENUM ('SHORT','LONG') NOT NULL DEFAULT 'SHORT',
+    ADD COLUMN priority INT NOT NULL DEFAULT 0;
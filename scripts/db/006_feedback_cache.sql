@@ -0,0 +1,19 @@
+-- 피드백 캐시: 같은 답변·질문·프롬프트 버전·모델 조합의 Claude 응답 재사용
+CREATE TABLE feedback_cache
+(
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    cache_key         VARCHAR(64)  NOT NULL,
+    question_id       BIGINT       NOT NULL,
+    prompt_version    VARCHAR(32)  NOT NULL,
+    model             VARCHAR(64)  NOT NULL,
+    contents          TEXT         NOT NULL,
+    input_tokens      INT          NULL,
+    output_tokens     INT          NULL,
+    generation_millis BIGINT       NOT NULL,
+    hit_count         INT          NOT NULL DEFAULT 0,
+    created_at        DATETIME(6)  NOT NULL,
+    last_hit_at       DATETIME(6)  NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_feedback_cache_key UNIQUE (cache_key),
+    INDEX idx_feedback_cache_created (created_at)
+);
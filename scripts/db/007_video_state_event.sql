@@ -0,0 +1,20 @@
+-- 영상 처리 상태 전환 이벤트 (추가 전용): 단계별 소요 시간 분포를 로그 파싱 없이 DB에서 계산
+-- processing_status 값은 ProcessingState 이름 그대로이므로 video 테이블은 변경 없음
+CREATE TABLE video_state_event
+(
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    video_id     BIGINT      NOT NULL,
+    from_state   VARCHAR(16) NULL,
+    to_state     VARCHAR(16) NOT NULL,
+    occurred_at  DATETIME(6) NOT NULL,
+    elapsed_ms   BIGINT      NOT NULL,
+    probe_ms     BIGINT      NULL,
+    thumbnail_ms BIGINT      NULL,
+    stt_ms       BIGINT      NULL,
+    feedback_ms  BIGINT      NULL,
+    wait_ms      BIGINT      NULL,
+    queued       BIT         NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_video_state_event_video (video_id),
+    INDEX idx_video_state_event_to_occurred (to_state, occurred_at)
+);
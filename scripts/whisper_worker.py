@@ -0,0 +1,89 @@
+#!/usr/bin/env python3
+"""
+상주 Whisper STT 워커.
+
+모델을 한 번만 로드한 뒤 stdin/stdout으로 프레임 단위 요청을 처리한다.
+프레임 형식: [4바이트 big-endian 길이][UTF-8 JSON]
+
+요청
+  {"type": "transcribe", "id": "...", "source": "<presigned URL 또는 파일 경로>"}
+  {"type": "ping"}
+  {"type": "shutdown"}
+응답
+  {"type": "ready", "model": "base"}                 # 모델 로드 완료 후 1회
+  {"type": "result", "id": "...", "ok": true, "text": "..."}
+  {"type": "result", "id": "...", "ok": false, "error": "..."}
+  {"type": "pong"}
+
+--stub 옵션을 주면 모델 없이 입력을 그대로 돌려주는 스텁으로 동작한다.
+"""
+import argparse
+import json
+import struct
+import sys
+
+
+def read_frame(stream):
+    header = stream.read(4)
+    if len(header) < 4:
+        return None
+    (length,) = struct.unpack(">I", header)
+    body = stream.read(length)
+    if len(body) < length:
+        return None
+    return json.loads(body.decode("utf-8"))
+
+
+def write_frame(stream, payload):
+    body = json.dumps(payload, ensure_ascii=False).encode("utf-8")
+    stream.write(struct.pack(">I", len(body)))
+    stream.write(body)
+    stream.flush()
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--model", default="base")
+    parser.add_argument("--language", default="ko")
+    parser.add_argument("--stub", action="store_true")
+    args = parser.parse_args()
+
+    # 라이브러리 출력이 프로토콜 스트림을 오염시키지 않도록 stdout을 분리
+    out = sys.stdout.buffer
+    sys.stdout = sys.stderr
+    stdin = sys.stdin.buffer
+
+    if args.stub:
+        def transcribe(source):
+            return "[stub] " + source
+    else:
+        import whisper
+        model = whisper.load_model(args.model)
+
+        def transcribe(source):
+            result = model.transcribe(source, language=args.language, fp16=False)
+            return result["text"].strip()
+
+    write_frame(out, {"type": "ready", "model": "stub" if args.stub else args.model})
+
+    while True:
+        request = read_frame(stdin)
+        if request is None:
+            break
+        request_type = request.get("type")
+        if request_type == "ping":
+            write_frame(out, {"type": "pong"})
+        elif request_type == "shutdown":
+            break
+        elif request_type == "transcribe":
+            request_id = request.get("id")
+            try:
+                text = transcribe(request["source"])
+                write_frame(out, {"type": "result", "id": request_id, "ok": True, "text": text})
+            except Exception as e:  # 작업 실패는 응답으로 돌려주고 워커는 유지
+                print("transcribe 실패: %s" % e, file=sys.stderr)
+                write_frame(out, {"type": "result", "id": request_id, "ok": False, "error": str(e)})
+
+
+if __name__ == "__main__":
+    main()
@@ -1,5 +1,7 @@
 package com.site.xidong.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -11,7 +13,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
 
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Configuration
@@ -20,19 +22,23 @@ import java.util.concurrent.ThreadPoolExecutor;
 public class AsyncConfig implements AsyncConfigurer {
 
     @Bean(name = "threadPoolTaskExecutor")
-    public ThreadPoolTaskExecutor threadPoolTaskExecutor() {
+    public ThreadPoolTaskExecutor threadPoolTaskExecutor(MeterRegistry meterRegistry) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(50); // Database as a queue가 큐 역할을 하므로 스레드풀에는 별도로 큐가 필요없음
         executor.setThreadNamePrefix("VideoProcessing-");
-        /*
+        // CallerRunsPolicy는 가득 찼을 때 Tomcat 요청 스레드에서 작업을 돌리므로 사용하지 않음
+        // 거부된 작업은 호출 측이 DB 큐로 넘기거나 429로 응답
+        Counter overflowCounter = Counter.builder("video.overflow")
+                .tag("source", "async-executor")
+                .tag("action", "rejected")
+                .register(meterRegistry);
         executor.setRejectedExecutionHandler((r, e) -> {
-            log.error("DB 큐 적용했지만 요청 유실이 발생함");
-            log.error("Active: {}, Queue: {}", e.getActiveCount(), e.getQueue().size());
+            overflowCounter.increment();
+            log.warn("비동기 실행기 포화로 작업 거부 - Active: {}, Queue: {}", e.getActiveCount(), e.getQueue().size());
+            throw new RejectedExecutionException("비동기 실행기 포화");
         });
-         */
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.initialize();
         return executor;
     }
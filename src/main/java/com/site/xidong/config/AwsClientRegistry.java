@@ -0,0 +1,184 @@
+package com.site.xidong.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.transcribe.TranscribeAsyncClient;
+import software.amazon.awssdk.services.transcribe.TranscribeClient;
+import software.amazon.awssdk.services.transcribestreaming.TranscribeStreamingAsyncClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리전별 AWS 클라이언트 공유 저장소
+ * S3/Transcribe 클라이언트를 호출마다 만들지 않고 커넥션 풀과 자격 증명을 재사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AwsClientRegistry {
+
+    private final MeterRegistry meterRegistry;
+
+    private final AwsCredentialsProvider credentialsProvider = DefaultCredentialsProvider.create();
+
+    private final Map<Region, S3Client> s3Clients = new ConcurrentHashMap<>();
+    private final Map<Region, S3AsyncClient> s3AsyncClients = new ConcurrentHashMap<>();
+    private final Map<Region, S3Presigner> presigners = new ConcurrentHashMap<>();
+    private final Map<Region, TranscribeClient> transcribeClients = new ConcurrentHashMap<>();
+    private final Map<Region, TranscribeAsyncClient> transcribeAsyncClients = new ConcurrentHashMap<>();
+    private final Map<Region, TranscribeStreamingAsyncClient> transcribeStreamingClients = new ConcurrentHashMap<>();
+
+    @Value("${cloud.aws.region.static}")
+    private String defaultRegion;
+
+    @Value("${aws.client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${aws.client.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+
+    @Value("${aws.client.acquisition-timeout-ms:10000}")
+    private long acquisitionTimeoutMs;
+
+    @Value("${aws.client.max-idle-ms:60000}")
+    private long maxIdleMs;
+
+    public Region getDefaultRegion() {
+        return Region.of(defaultRegion);
+    }
+
+    public AwsCredentialsProvider getCredentialsProvider() {
+        return credentialsProvider;
+    }
+
+    public S3Client s3() {
+        return s3(getDefaultRegion());
+    }
+
+    public S3Client s3(Region region) {
+        return s3Clients.computeIfAbsent(region, r -> S3Client.builder()
+                .region(r)
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(syncHttpClient())
+                .overrideConfiguration(overrideConfiguration("s3", r))
+                .build());
+    }
+
+    public S3AsyncClient s3Async() {
+        return s3Async(getDefaultRegion());
+    }
+
+    public S3AsyncClient s3Async(Region region) {
+        return s3AsyncClients.computeIfAbsent(region, r -> S3AsyncClient.builder()
+                .region(r)
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(asyncHttpClient())
+                .overrideConfiguration(overrideConfiguration("s3-async", r))
+                .build());
+    }
+
+    public S3Presigner presigner() {
+        return presigner(getDefaultRegion());
+    }
+
+    public S3Presigner presigner(Region region) {
+        return presigners.computeIfAbsent(region, r -> S3Presigner.builder()
+                .region(r)
+                .credentialsProvider(credentialsProvider)
+                .build());
+    }
+
+    public TranscribeClient transcribe() {
+        return transcribe(getDefaultRegion());
+    }
+
+    public TranscribeClient transcribe(Region region) {
+        return transcribeClients.computeIfAbsent(region, r -> TranscribeClient.builder()
+                .region(r)
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(syncHttpClient())
+                .overrideConfiguration(overrideConfiguration("transcribe", r))
+                .build());
+    }
+
+    public TranscribeAsyncClient transcribeAsync() {
+        return transcribeAsync(getDefaultRegion());
+    }
+
+    public TranscribeAsyncClient transcribeAsync(Region region) {
+        return transcribeAsyncClients.computeIfAbsent(region, r -> TranscribeAsyncClient.builder()
+                .region(r)
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(asyncHttpClient())
+                .overrideConfiguration(overrideConfiguration("transcribe-async", r))
+                .build());
+    }
+
+    public TranscribeStreamingAsyncClient transcribeStreaming() {
+        return transcribeStreaming(getDefaultRegion());
+    }
+
+    // 스트리밍은 HTTP/2가 필요하며, httpClientBuilder로 넘기면 서비스 기본값(HTTP/2)이 적용됨
+    public TranscribeStreamingAsyncClient transcribeStreaming(Region region) {
+        return transcribeStreamingClients.computeIfAbsent(region, r -> TranscribeStreamingAsyncClient.builder()
+                .region(r)
+                .credentialsProvider(credentialsProvider)
+                .httpClientBuilder(asyncHttpClient())
+                .overrideConfiguration(overrideConfiguration("transcribe-streaming", r))
+                .build());
+    }
+
+    // 클라이언트마다 전용 풀을 두되, 빌더가 만든 풀은 클라이언트 close 시 함께 정리됨
+    private ApacheHttpClient.Builder syncHttpClient() {
+        return ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                .connectionAcquisitionTimeout(Duration.ofMillis(acquisitionTimeoutMs))
+                .connectionMaxIdleTime(Duration.ofMillis(maxIdleMs))
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(true);
+    }
+
+    private NettyNioAsyncHttpClient.Builder asyncHttpClient() {
+        return NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConnections)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                .connectionAcquisitionTimeout(Duration.ofMillis(acquisitionTimeoutMs))
+                .connectionMaxIdleTime(Duration.ofMillis(maxIdleMs))
+                .tcpKeepAlive(true);
+    }
+
+    private ClientOverrideConfiguration overrideConfiguration(String clientName, Region region) {
+        log.info("AWS 클라이언트 생성: {} ({})", clientName, region.id());
+        return ClientOverrideConfiguration.builder()
+                .addMetricPublisher(new AwsSdkMetricPublisher(meterRegistry, clientName + "-" + region.id()))
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        s3Clients.values().forEach(SdkClient::close);
+        s3AsyncClients.values().forEach(SdkClient::close);
+        presigners.values().forEach(S3Presigner::close);
+        transcribeClients.values().forEach(SdkClient::close);
+        transcribeAsyncClients.values().forEach(SdkClient::close);
+        transcribeStreamingClients.values().forEach(SdkClient::close);
+        log.info("AWS 클라이언트 종료 완료");
+    }
+}
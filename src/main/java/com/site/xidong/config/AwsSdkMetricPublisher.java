@@ -0,0 +1,82 @@
+package com.site.xidong.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AWS SDK 클라이언트 메트릭을 Micrometer로 전달
+ * 커넥션 풀 상태(임대/대기/가용/최대)는 호출마다 갱신되는 게이지로 노출
+ */
+public class AwsSdkMetricPublisher implements MetricPublisher {
+
+    private final MeterRegistry meterRegistry;
+    private final String clientName;
+
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger max = new AtomicInteger();
+    private final Map<String, Timer> apiCallTimers = new ConcurrentHashMap<>();
+
+    public AwsSdkMetricPublisher(MeterRegistry meterRegistry, String clientName) {
+        this.meterRegistry = meterRegistry;
+        this.clientName = clientName;
+
+        registerGauge("aws.client.pool.leased", leased);
+        registerGauge("aws.client.pool.pending", pending);
+        registerGauge("aws.client.pool.available", available);
+        registerGauge("aws.client.pool.max", max);
+    }
+
+    private void registerGauge(String name, AtomicInteger value) {
+        Gauge.builder(name, value, AtomicInteger::get)
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        List<String> operations = metricCollection.metricValues(CoreMetric.OPERATION_NAME);
+        List<Duration> durations = metricCollection.metricValues(CoreMetric.API_CALL_DURATION);
+        if (!operations.isEmpty() && !durations.isEmpty()) {
+            apiCallTimers.computeIfAbsent(operations.get(0), operation -> Timer.builder("aws.client.api.call")
+                            .tag("client", clientName)
+                            .tag("operation", operation)
+                            .register(meterRegistry))
+                    .record(durations.get(0));
+        }
+        recordPoolState(metricCollection);
+    }
+
+    // HTTP 풀 메트릭은 ApiCallAttempt > HttpClient 하위 컬렉션에 들어있음
+    private void recordPoolState(MetricCollection collection) {
+        update(collection.metricValues(HttpMetric.LEASED_CONCURRENCY), leased);
+        update(collection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES), pending);
+        update(collection.metricValues(HttpMetric.AVAILABLE_CONCURRENCY), available);
+        update(collection.metricValues(HttpMetric.MAX_CONCURRENCY), max);
+        for (MetricCollection child : collection.children()) {
+            recordPoolState(child);
+        }
+    }
+
+    private void update(List<Integer> values, AtomicInteger target) {
+        if (!values.isEmpty()) {
+            target.set(values.get(values.size() - 1));
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
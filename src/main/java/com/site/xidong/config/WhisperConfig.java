@@ -0,0 +1,65 @@
+package com.site.xidong.config;
+
+import com.site.xidong.stt.WhisperWorkerPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class WhisperConfig {
+
+    @Value("${whisper.python.path}")
+    private String pythonPath;
+
+    @Value("${whisper.worker.script.path:scripts/whisper_worker.py}")
+    private String workerScriptPath;
+
+    @Value("${whisper.model.size}")
+    private String modelSize;
+
+    @Value("${whisper.pool.stub:false}")
+    private boolean stub;
+
+    @Value("${whisper.pool.size:2}")
+    private int poolSize;
+
+    @Value("${whisper.pool.job-timeout-seconds:300}")
+    private long jobTimeoutSeconds;
+
+    @Value("${whisper.pool.startup-timeout-seconds:120}")
+    private long startupTimeoutSeconds;
+
+    @Value("${whisper.pool.acquire-timeout-seconds:600}")
+    private long acquireTimeoutSeconds;
+
+    @Value("${whisper.pool.health-check-interval-seconds:30}")
+    private long healthCheckIntervalSeconds;
+
+    @Value("${whisper.pool.max-jobs-per-worker:200}")
+    private int maxJobsPerWorker;
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "whisper.pool.enabled", havingValue = "true")
+    public WhisperWorkerPool whisperWorkerPool(MeterRegistry meterRegistry) {
+        List<String> command = new ArrayList<>(List.of(pythonPath, workerScriptPath, "--model", modelSize));
+        if (stub) {
+            command.add("--stub"); // 모델 없이 프로토콜만 검증하는 로컬 스텁 모드
+        }
+        return new WhisperWorkerPool(
+                command,
+                poolSize,
+                Duration.ofSeconds(jobTimeoutSeconds),
+                Duration.ofSeconds(startupTimeoutSeconds),
+                Duration.ofSeconds(acquireTimeoutSeconds),
+                Duration.ofSeconds(healthCheckIntervalSeconds),
+                maxJobsPerWorker,
+                meterRegistry
+        );
+    }
+}
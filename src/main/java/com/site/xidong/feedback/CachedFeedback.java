@@ -0,0 +1,64 @@
+package com.site.xidong.feedback;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 같은 답변(정규화한 STT 결과)·질문·프롬프트 버전·모델 조합에 대해 생성한 피드백
+ * 재업로드/큐 재시도/부하테스트 재실행 시 Claude를 다시 부르지 않기 위해 보관
+ */
+@Entity
+@Table(name = "feedback_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_feedback_cache_key", columnNames = "cacheKey")
+}, indexes = {
+        @Index(name = "idx_feedback_cache_created", columnList = "createdAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CachedFeedback {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 hex
+    @Column(nullable = false, length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false)
+    private Long questionId;
+
+    @Column(nullable = false, length = 32)
+    private String promptVersion;
+
+    @Column(nullable = false, length = 64)
+    private String model;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String contents;
+
+    @Column
+    private Integer inputTokens;
+
+    @Column
+    private Integer outputTokens;
+
+    // 처음 생성할 때 걸린 시간 (적중 시 절약한 시간으로 기록)
+    @Column(nullable = false)
+    private long generationMillis;
+
+    @Column(nullable = false)
+    private int hitCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime lastHitAt;
+}
@@ -0,0 +1,24 @@
+package com.site.xidong.feedback;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CachedFeedbackRepository extends JpaRepository<CachedFeedback, Long> {
+
+    Optional<CachedFeedback> findByCacheKey(String cacheKey);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE CachedFeedback c SET c.hitCount = c.hitCount + 1, c.lastHitAt = :now WHERE c.id = :id")
+    int recordHit(Long id, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CachedFeedback c WHERE c.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,58 @@
+package com.site.xidong.feedback;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Message Batches 결과 JSONL의 한 줄
+ * 성공하면 response, 실패(errored/canceled/expired)하면 error가 채워짐
+ */
+record ClaudeBatchResult(String customId, ClaudeResponse response, IOException error) {
+
+    static ClaudeBatchResult parse(ObjectMapper objectMapper, String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        String customId = node.path("custom_id").asText();
+        JsonNode result = node.path("result");
+        String type = result.path("type").asText();
+        if ("succeeded".equals(type)) {
+            return new ClaudeBatchResult(customId, fromMessage(result.path("message")), null);
+        }
+        if ("errored".equals(type)) {
+            // error는 {"type":"error","error":{"type":...,"message":...}} 형태로 한 번 감싸져 옴
+            JsonNode error = result.path("error");
+            if (error.has("error")) {
+                error = error.path("error");
+            }
+            String errorType = error.path("type").asText();
+            String message = error.path("message").asText();
+            IOException exception = switch (errorType) {
+                case "overloaded_error" -> new LlmRateLimitException(529, message);
+                case "rate_limit_error" -> new LlmRateLimitException(429, message);
+                default -> new IOException("Claude 배치 요청 실패 (" + errorType + "): " + message);
+            };
+            return new ClaudeBatchResult(customId, null, exception);
+        }
+        // canceled, expired: 처리되지 못한 요청 (DB 큐 재시도 대상)
+        return new ClaudeBatchResult(customId, null, new IOException("Claude 배치 요청이 처리되지 않음 (" + type + ")"));
+    }
+
+    private static ClaudeResponse fromMessage(JsonNode message) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode block : message.path("content")) {
+            if ("text".equals(block.path("type").asText())) {
+                text.append(block.path("text").asText());
+            }
+        }
+        JsonNode usage = message.path("usage");
+        return new ClaudeResponse(text.toString(),
+                usage.path("input_tokens").asInt(),
+                usage.path("output_tokens").asInt(),
+                usage.path("cache_read_input_tokens").asInt(),
+                usage.path("cache_creation_input_tokens").asInt(),
+                message.path("stop_reason").asText(null),
+                -1);
+    }
+}
@@ -0,0 +1,195 @@
+package com.site.xidong.feedback;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Claude Messages API 클라이언트
+ * HttpClient 하나를 공유해 커넥션을 재사용하고, 응답은 SSE 스트림으로 받아 호출 스레드를 막지 않음
+ * 밀린 큐 작업용 Message Batches API 호출도 같은 클라이언트로 보냄
+ */
+@Component
+public class ClaudeClient {
+
+    static final String API_VERSION = "2023-06-01";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final URI messagesUri;
+    private final URI batchesUri;
+    private final String apiKey;
+    private final Duration timeout;
+
+    public ClaudeClient(@Value("${claude.api.key}") String apiKey,
+                        @Value("${claude.api.base-url:https://api.anthropic.com}") String baseUrl,
+                        @Value("${claude.api.connect-timeout-ms:5000}") long connectTimeoutMs,
+                        @Value("${claude.api.timeout-ms:120000}") long timeoutMs) {
+        this.apiKey = apiKey;
+        this.messagesUri = URI.create(baseUrl.replaceAll("/+$", "") + "/v1/messages");
+        this.batchesUri = URI.create(messagesUri + "/batches");
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    /**
+     * onText: 텍스트 조각이 도착할 때마다 HttpClient 스레드에서 호출됨 (null 가능)
+     * 429/529 응답과 스트림 중 overloaded/rate_limit 오류는 LlmRateLimitException으로 실패
+     */
+    public CompletableFuture<ClaudeResponse> stream(ClaudeRequest request, Consumer<String> onText) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = HttpRequest.newBuilder(messagesUri)
+                    .timeout(timeout)
+                    .header("x-api-key", apiKey)
+                    .header("anthropic-version", API_VERSION)
+                    .header("content-type", "application/json")
+                    .header("accept", "text/event-stream")
+                    .POST(HttpRequest.BodyPublishers.ofString(request.toJson(objectMapper, true), StandardCharsets.UTF_8))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        ClaudeStreamParser parser = new ClaudeStreamParser(objectMapper, onText, System.nanoTime());
+        // HttpRequest.timeout은 응답 헤더까지만 적용되므로 본문 스트림 전체에 한 번 더 시간 제한
+        return httpClient.sendAsync(httpRequest, info -> bodySubscriber(info, parser))
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((response, throwable) -> {
+                    if (throwable == null) {
+                        return response.body();
+                    }
+                    parser.cancel();
+                    throw new CompletionException(unwrap(throwable));
+                });
+    }
+
+    /**
+     * Message Batches API에 요청 묶음을 제출하고 배치 ID를 돌려줌
+     * requests: custom_id → 요청
+     */
+    public CompletableFuture<String> createBatch(Map<String, ClaudeRequest> requests) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode items = root.putArray("requests");
+        requests.forEach((customId, request) -> {
+            ObjectNode item = items.addObject();
+            item.put("custom_id", customId);
+            item.set("params", request.toParams(objectMapper));
+        });
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return sendForJson(apiRequest(batchesUri).POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8)))
+                .thenApply(json -> json.path("id").asText());
+    }
+
+    // processing_status가 ended가 되면 results_url에서 결과를 받을 수 있음
+    public CompletableFuture<JsonNode> getBatch(String batchId) {
+        return sendForJson(apiRequest(URI.create(batchesUri + "/" + batchId)).GET());
+    }
+
+    // 요청마다 한 줄씩인 JSONL 본문
+    public CompletableFuture<String> getBatchResults(String resultsUrl) {
+        return send(apiRequest(URI.create(resultsUrl)).GET());
+    }
+
+    private HttpRequest.Builder apiRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("x-api-key", apiKey)
+                .header("anthropic-version", API_VERSION)
+                .header("content-type", "application/json");
+    }
+
+    private CompletableFuture<JsonNode> sendForJson(HttpRequest.Builder builder) {
+        return send(builder).thenApply(body -> {
+            try {
+                return objectMapper.readTree(body);
+            } catch (JsonProcessingException e) {
+                throw new CompletionException(new IOException("Claude 배치 응답 파싱 실패: " + body, e));
+            }
+        });
+    }
+
+    private CompletableFuture<String> send(HttpRequest.Builder builder) {
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        throw new CompletionException(unwrap(throwable));
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new CompletionException(errorFor(response.statusCode(), response.body(),
+                                retryAfterMillis(response.headers().firstValue("retry-after").orElse(null))));
+                    }
+                    return response.body();
+                });
+    }
+
+    private static HttpResponse.BodySubscriber<ClaudeResponse> bodySubscriber(HttpResponse.ResponseInfo info,
+                                                                            ClaudeStreamParser parser) {
+        if (info.statusCode() == 200) {
+            return HttpResponse.BodySubscribers.fromLineSubscriber(parser, ClaudeStreamParser::finish, StandardCharsets.UTF_8, null);
+        }
+        Long retryAfterMillis = retryAfterMillis(info.headers().firstValue("retry-after").orElse(null));
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8), body -> {
+            throw new UncheckedIOException(errorFor(info.statusCode(), body, retryAfterMillis));
+        });
+    }
+
+    static IOException errorFor(int statusCode, String body, Long retryAfterMillis) {
+        if (statusCode == 429 || statusCode == 529) {
+            return new LlmRateLimitException(statusCode, body, retryAfterMillis);
+        }
+        return new IOException("Claude API 오류 (" + statusCode + "): " + body);
+    }
+
+    // retry-after는 초 단위 숫자만 사용 (HTTP 날짜 형식은 무시하고 기본 백오프 적용)
+    static Long retryAfterMillis(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Math.max(0, (long) (Double.parseDouble(header.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException
+                || current instanceof UncheckedIOException) && current.getCause() != null) {
+            current = current.getCause();
+        }
+        if (current instanceof TimeoutException) {
+            return new HttpTimeoutException("Claude 응답 시간 초과");
+        }
+        return current;
+    }
+}
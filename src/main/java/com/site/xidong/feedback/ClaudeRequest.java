@@ -0,0 +1,60 @@
+package com.site.xidong.feedback;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Claude Messages API 요청 (단일 user 메시지)
+ * system: 고정 지침, context: 질문별 맥락 (둘 다 null 가능, 있으면 캐시 지점으로 표시)
+ * prompt: 매번 달라지는 부분으로 항상 마지막에 둠
+ */
+public record ClaudeRequest(String model, int maxTokens, String system, String context, String prompt) {
+
+    public ClaudeRequest(String model, int maxTokens, String prompt) {
+        this(model, maxTokens, null, null, prompt);
+    }
+
+    public int promptLength() {
+        return length(system) + length(context) + length(prompt);
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    public String toJson(ObjectMapper objectMapper, boolean stream) throws JsonProcessingException {
+        ObjectNode root = toParams(objectMapper);
+        root.put("stream", stream);
+        return objectMapper.writeValueAsString(root);
+    }
+
+    // Message Batches 요청의 params로도 그대로 사용 (stream 필드 없음)
+    public ObjectNode toParams(ObjectMapper objectMapper) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("model", model);
+        root.put("max_tokens", maxTokens);
+        if (system != null) {
+            addCachedText(root.putArray("system"), system);
+        }
+        ObjectNode message = root.putArray("messages").addObject();
+        message.put("role", "user");
+        if (context == null) {
+            message.put("content", prompt);
+        } else {
+            ArrayNode content = message.putArray("content");
+            addCachedText(content, context);
+            content.addObject().put("type", "text").put("text", prompt);
+        }
+        return root;
+    }
+
+    // 이 블록까지의 접두사를 프롬프트 캐시에 저장 (모델별 최소 길이보다 짧으면 API가 무시)
+    private static void addCachedText(ArrayNode blocks, String text) {
+        ObjectNode block = blocks.addObject();
+        block.put("type", "text");
+        block.put("text", text);
+        block.putObject("cache_control").put("type", "ephemeral");
+    }
+}
@@ -0,0 +1,11 @@
+package com.site.xidong.feedback;
+
+/**
+ * 스트리밍 응답을 모두 받은 뒤의 결과
+ * inputTokens는 캐시를 거치지 않은 입력만 포함 (캐시 읽기/쓰기 토큰은 따로 집계)
+ * timeToFirstTokenMillis: 요청 전송부터 첫 텍스트 조각까지 (텍스트가 없으면 -1)
+ */
+public record ClaudeResponse(String text, int inputTokens, int outputTokens,
+                             int cacheReadInputTokens, int cacheCreationInputTokens,
+                             String stopReason, long timeToFirstTokenMillis) {
+}
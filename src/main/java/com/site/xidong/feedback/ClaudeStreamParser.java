@@ -0,0 +1,161 @@
+package com.site.xidong.feedback;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Messages API SSE 응답을 줄 단위로 받아 텍스트 조각과 토큰 사용량을 모음
+ * 빈 줄에서 이벤트 하나가 끝나며, 스트림 중간의 error 이벤트는 완료 시점에 예외로 전달
+ */
+final class ClaudeStreamParser implements Flow.Subscriber<String> {
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<String> onText;
+    private final long startedAt;
+
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder data = new StringBuilder();
+    private String eventName;
+    private int inputTokens;
+    private int outputTokens;
+    private int cacheReadInputTokens;
+    private int cacheCreationInputTokens;
+    private long firstTextAt;
+    private String stopReason;
+    private IOException error;
+
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+
+    ClaudeStreamParser(ObjectMapper objectMapper, Consumer<String> onText) {
+        this(objectMapper, onText, System.nanoTime());
+    }
+
+    // startedAt: 요청을 보낸 시각 (System.nanoTime), 첫 토큰까지 걸린 시간 계산용
+    ClaudeStreamParser(ObjectMapper objectMapper, Consumer<String> onText, long startedAt) {
+        this.objectMapper = objectMapper;
+        this.onText = onText;
+        this.startedAt = startedAt;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (cancelled) {
+            subscription.cancel();
+        } else {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (line.isEmpty()) {
+            dispatch();
+        } else if (line.startsWith("event:")) {
+            eventName = line.substring(6).trim();
+        } else if (line.startsWith("data:")) {
+            if (!data.isEmpty()) {
+                data.append('\n');
+            }
+            data.append(line.substring(5).trim());
+        }
+        // ':'로 시작하는 주석 줄과 그 밖의 필드는 무시
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        // 응답 future가 같은 예외로 실패하므로 따로 처리하지 않음
+    }
+
+    @Override
+    public void onComplete() {
+        dispatch();
+    }
+
+    ClaudeResponse finish() {
+        if (error != null) {
+            throw new UncheckedIOException(error);
+        }
+        long timeToFirstToken = firstTextAt == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(firstTextAt - startedAt);
+        return new ClaudeResponse(text.toString(), inputTokens, outputTokens,
+                cacheReadInputTokens, cacheCreationInputTokens, stopReason, timeToFirstToken);
+    }
+
+    void cancel() {
+        cancelled = true;
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private void dispatch() {
+        if (data.isEmpty()) {
+            eventName = null;
+            return;
+        }
+        String payload = data.toString();
+        data.setLength(0);
+        String fallbackType = eventName;
+        eventName = null;
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            error = new IOException("Claude 스트림 파싱 실패: " + payload, e);
+            return;
+        }
+
+        switch (node.path("type").asText(fallbackType)) {
+            case "message_start" -> {
+                JsonNode usage = node.path("message").path("usage");
+                inputTokens = usage.path("input_tokens").asInt();
+                outputTokens = usage.path("output_tokens").asInt();
+                cacheReadInputTokens = usage.path("cache_read_input_tokens").asInt();
+                cacheCreationInputTokens = usage.path("cache_creation_input_tokens").asInt();
+            }
+            case "content_block_delta" -> {
+                JsonNode delta = node.path("delta");
+                if ("text_delta".equals(delta.path("type").asText())) {
+                    String chunk = delta.path("text").asText();
+                    if (firstTextAt == 0 && !chunk.isEmpty()) {
+                        firstTextAt = System.nanoTime();
+                    }
+                    text.append(chunk);
+                    if (onText != null && !chunk.isEmpty()) {
+                        onText.accept(chunk);
+                    }
+                }
+            }
+            case "message_delta" -> {
+                stopReason = node.path("delta").path("stop_reason").asText(null);
+                // message_delta의 output_tokens는 누적값
+                outputTokens = node.path("usage").path("output_tokens").asInt(outputTokens);
+            }
+            case "error" -> {
+                JsonNode body = node.path("error");
+                String type = body.path("type").asText();
+                String message = body.path("message").asText();
+                if ("overloaded_error".equals(type)) {
+                    error = new LlmRateLimitException(529, message);
+                } else if ("rate_limit_error".equals(type)) {
+                    error = new LlmRateLimitException(429, message);
+                } else {
+                    error = new IOException("Claude 스트림 오류 (" + type + "): " + message);
+                }
+            }
+            default -> {
+                // ping, content_block_start/stop, message_stop
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.site.xidong.feedback;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DB 큐에 작업이 많이 밀렸을 때 큐 작업의 피드백 요청을 모아 Message Batches API로 한 번에 제출
+ * 묶음 크기나 최대 대기 시간에 도달하면 제출하고, 배치가 끝날 때까지 주기적으로 상태를 확인한 뒤
+ * 결과를 요청별 future로 돌려줌 (실시간 요청보다 느리지만 분당 한도를 쓰지 않고 비용이 낮음)
+ * 상태 변경은 모두 배치 스레드 하나에서만 일어남
+ */
+@Slf4j
+@Component
+public class FeedbackBatcher {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ClaudeClient claudeClient;
+    private final ScheduledExecutorService scheduler;
+    // 호출 측 후속 작업(피드백 저장, 알림)이 배치 스레드를 막지 않도록 완료 통지는 별도 스레드에서
+    // 배치 결과 100건이 한꺼번에 와도 DB 커넥션을 다투는 스레드가 늘지 않도록 스레드 수 고정
+    private final ExecutorService callbackExecutor;
+
+    private final boolean enabled;
+    private final long backlogThreshold;
+    private final int maxBatchSize;
+    private final long maxWaitMs;
+    private final long pollIntervalMs;
+
+    private final List<BatchItem> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private final Map<String, Map<String, BatchItem>> activeBatches = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final DistributionSummary batchSize;
+    private final Timer turnaroundTimer;
+    private final MeterRegistry meterRegistry;
+
+    public FeedbackBatcher(ClaudeClient claudeClient, Environment environment, MeterRegistry meterRegistry) {
+        this.claudeClient = claudeClient;
+        this.meterRegistry = meterRegistry;
+        this.enabled = environment.getProperty("claude.batch.enabled", Boolean.class, false);
+        this.backlogThreshold = environment.getProperty("claude.batch.backlog-threshold", Long.class, 100L);
+        this.maxBatchSize = environment.getProperty("claude.batch.max-size", Integer.class, 100);
+        this.maxWaitMs = environment.getProperty("claude.batch.max-wait-ms", Long.class, 30_000L);
+        this.pollIntervalMs = environment.getProperty("claude.batch.poll-interval-ms", Long.class, 30_000L);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("FeedbackBatcher-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        CustomizableThreadFactory callbackThreads = new CustomizableThreadFactory("FeedbackBatchCallback-");
+        callbackThreads.setDaemon(true);
+        this.callbackExecutor = Executors.newFixedThreadPool(
+                environment.getProperty("claude.batch.callback-threads", Integer.class, 4), callbackThreads);
+
+        Gauge.builder("llm.batch.active", activeBatches, Map::size).register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("llm.batch.size")
+                .description("제출한 배치당 요청 수")
+                .register(meterRegistry);
+        this.turnaroundTimer = Timer.builder("llm.batch.turnaround")
+                .description("배치 제출부터 결과 수신까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 큐 작업의 피드백을 배치로 보낼지 판단 (대기 중인 큐 작업 수 기준)
+     */
+    public boolean accepts(long queueBacklog) {
+        return enabled && queueBacklog >= backlogThreshold;
+    }
+
+    public CompletableFuture<ClaudeResponse> submit(ClaudeRequest request) {
+        BatchItem item = new BatchItem("feedback-" + sequence.incrementAndGet(), request);
+        scheduler.execute(() -> {
+            pending.add(item);
+            if (pending.size() >= maxBatchSize) {
+                flush();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        });
+        return item.future.whenCompleteAsync((response, throwable) -> { }, callbackExecutor);
+    }
+
+    private void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, BatchItem> items = new LinkedHashMap<>();
+        for (BatchItem item : pending) {
+            items.put(item.customId, item);
+        }
+        pending.clear();
+
+        Map<String, ClaudeRequest> requests = new LinkedHashMap<>();
+        items.forEach((customId, item) -> requests.put(customId, item.request));
+        long submittedAt = System.nanoTime();
+        claudeClient.createBatch(requests).whenCompleteAsync((batchId, throwable) -> {
+            if (throwable != null) {
+                log.error("Claude 배치 제출 실패: {}건", items.size(), throwable);
+                failAll(items, throwable);
+                return;
+            }
+            log.info("Claude 배치 제출: batchId={}, {}건", batchId, items.size());
+            batchSize.record(items.size());
+            activeBatches.put(batchId, items);
+            schedulePoll(batchId, submittedAt);
+        }, scheduler);
+    }
+
+    private void schedulePoll(String batchId, long submittedAt) {
+        scheduler.schedule(() -> poll(batchId, submittedAt), pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(String batchId, long submittedAt) {
+        claudeClient.getBatch(batchId).whenCompleteAsync((batch, throwable) -> {
+            if (throwable != null) {
+                // 상태 조회 실패는 일시적일 수 있으므로 다음 주기에 다시 확인
+                log.warn("Claude 배치 상태 조회 실패: batchId={}, {}", batchId, throwable.getMessage());
+                schedulePoll(batchId, submittedAt);
+                return;
+            }
+            if (!"ended".equals(batch.path("processing_status").asText())) {
+                schedulePoll(batchId, submittedAt);
+                return;
+            }
+            turnaroundTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            fetchResults(batchId, batch);
+        }, scheduler);
+    }
+
+    private void fetchResults(String batchId, JsonNode batch) {
+        Map<String, BatchItem> items = activeBatches.remove(batchId);
+        if (items == null) {
+            return;
+        }
+        claudeClient.getBatchResults(batch.path("results_url").asText()).whenCompleteAsync((body, throwable) -> {
+            if (throwable != null) {
+                log.error("Claude 배치 결과 수신 실패: batchId={}", batchId, throwable);
+                failAll(items, throwable);
+                return;
+            }
+            Map<String, BatchItem> remaining = new HashMap<>(items);
+            for (String line : body.split("\\R")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ClaudeBatchResult result;
+                try {
+                    result = ClaudeBatchResult.parse(objectMapper, line);
+                } catch (IOException e) {
+                    log.warn("Claude 배치 결과 줄 파싱 실패: batchId={}, {}", batchId, e.getMessage());
+                    continue;
+                }
+                BatchItem item = remaining.remove(result.customId());
+                if (item == null) {
+                    continue;
+                }
+                countResult(result.error() == null ? "succeeded" : "failed");
+                if (result.error() == null) {
+                    item.future.complete(result.response());
+                } else {
+                    item.future.completeExceptionally(result.error());
+                }
+            }
+            if (!remaining.isEmpty()) {
+                failAll(remaining, new IOException("Claude 배치 결과에 요청이 없음: batchId=" + batchId));
+            }
+            log.info("Claude 배치 결과 반영: batchId={}, {}건", batchId, items.size() - remaining.size());
+        }, scheduler);
+    }
+
+    private void failAll(Map<String, BatchItem> items, Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        for (BatchItem item : items.values()) {
+            countResult("failed");
+            item.future.completeExceptionally(cause);
+        }
+    }
+
+    private void countResult(String result) {
+        Counter.builder("llm.batch.requests").tag("result", result).register(meterRegistry).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        callbackExecutor.shutdown();
+    }
+
+    private static final class BatchItem {
+        private final String customId;
+        private final ClaudeRequest request;
+        private final CompletableFuture<ClaudeResponse> future = new CompletableFuture<>();
+
+        private BatchItem(String customId, ClaudeRequest request) {
+            this.customId = customId;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.site.xidong.feedback;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 생성된 피드백 캐시 (메모리 LRU → feedback_cache 테이블 순으로 조회)
+ * 메모리 항목은 TTL이 지나면 버리고 DB에서 다시 읽음, DB 행은 보관 기간이 지나면 정리
+ */
+@Slf4j
+@Component
+public class FeedbackCache {
+
+    private final CachedFeedbackRepository repository;
+    private final boolean enabled;
+    private final long memoryTtlNanos;
+    private final Duration retention;
+    private final Map<String, MemoryEntry> memory;
+
+    private final Counter memoryHits;
+    private final Counter dbHits;
+    private final Counter misses;
+    private final Timer savedTimer;
+
+    public FeedbackCache(CachedFeedbackRepository repository, Environment environment, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.enabled = environment.getProperty("claude.feedback-cache.enabled", Boolean.class, true);
+        this.memoryTtlNanos = TimeUnit.MINUTES.toNanos(
+                environment.getProperty("claude.feedback-cache.memory-ttl-minutes", Long.class, 60L));
+        this.retention = Duration.ofDays(environment.getProperty("claude.feedback-cache.retention-days", Long.class, 30L));
+        int memorySize = environment.getProperty("claude.feedback-cache.memory-size", Integer.class, 1000);
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MemoryEntry> eldest) {
+                return size() > memorySize;
+            }
+        });
+
+        this.memoryHits = lookupCounter(meterRegistry, "hit-memory");
+        this.dbHits = lookupCounter(meterRegistry, "hit-db");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("llm.feedback.cache.hit.ratio", this, FeedbackCache::hitRatio)
+                .description("기동 후 피드백 캐시 적중률")
+                .register(meterRegistry);
+        this.savedTimer = Timer.builder("llm.feedback.cache.saved")
+                .description("캐시 적중으로 생략한 Claude 생성 시간")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("llm.feedback.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public Optional<CachedFeedback> find(String cacheKey) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        MemoryEntry entry = memory.get(cacheKey);
+        if (entry != null && now - entry.loadedAt() < memoryTtlNanos) {
+            memoryHits.increment();
+            return Optional.of(hit(entry.feedback()));
+        }
+
+        Optional<CachedFeedback> stored;
+        try {
+            stored = repository.findByCacheKey(cacheKey)
+                    .filter(cached -> cached.getCreatedAt().isAfter(LocalDateTime.now().minus(retention)));
+        } catch (Exception e) {
+            // 캐시 조회 실패는 Claude 호출로 대신함
+            log.warn("피드백 캐시 조회 실패: {}", e.getMessage());
+            stored = Optional.empty();
+        }
+        if (stored.isEmpty()) {
+            memory.remove(cacheKey);
+            misses.increment();
+            return Optional.empty();
+        }
+        memory.put(cacheKey, new MemoryEntry(stored.get(), now));
+        dbHits.increment();
+        return Optional.of(hit(stored.get()));
+    }
+
+    private CachedFeedback hit(CachedFeedback cached) {
+        savedTimer.record(cached.getGenerationMillis(), TimeUnit.MILLISECONDS);
+        try {
+            repository.recordHit(cached.getId(), LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("피드백 캐시 적중 기록 실패: {}", e.getMessage());
+        }
+        return cached;
+    }
+
+    // 토큰 한도 등으로 잘린 응답은 캐시하지 않음
+    public static boolean isCacheable(ClaudeResponse response) {
+        return "end_turn".equals(response.stopReason());
+    }
+
+    public void put(CachedFeedback cached) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            repository.save(cached);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 키를 다른 요청이 먼저 저장함
+            log.debug("피드백 캐시 중복 저장 무시: {}", cached.getCacheKey());
+            return;
+        } catch (Exception e) {
+            log.warn("피드백 캐시 저장 실패: {}", e.getMessage());
+            return;
+        }
+        memory.put(cached.getCacheKey(), new MemoryEntry(cached, System.nanoTime()));
+    }
+
+    double hitRatio() {
+        double hits = memoryHits.count() + dbHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    @Scheduled(fixedDelayString = "${claude.feedback-cache.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+            if (deleted > 0) {
+                log.info("보관 기간이 지난 피드백 캐시 {}건 삭제", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("피드백 캐시 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private record MemoryEntry(CachedFeedback feedback, long loadedAt) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.site.xidong.feedback;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * 피드백 캐시 키: SHA-256(질문 ID, 프롬프트 버전, 모델, 정규화한 답변)
+ * STT 결과는 공백/줄바꿈/대소문자만 다른 경우가 많아 정규화 후 비교
+ */
+final class FeedbackCacheKey {
+
+    private FeedbackCacheKey() {
+    }
+
+    static String of(long questionId, String promptVersion, String model, String transcript) {
+        String material = questionId + "\n" + promptVersion + "\n" + model + "\n" + normalize(transcript);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String normalize(String transcript) {
+        if (transcript == null) {
+            return "";
+        }
+        return Normalizer.normalize(transcript, Normalizer.Form.NFC)
+                .replaceAll("\\s+", " ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+    }
+}
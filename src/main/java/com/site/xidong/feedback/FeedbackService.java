@@ -1,134 +1,168 @@
 package com.site.xidong.feedback;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.site.xidong.video.Video;
 import com.site.xidong.video.VideoRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class FeedbackService {
-    @Value("${claude.api.key}")
-    private String API_KEY;
-
     @Value("${claude.mock.enabled}")
     private boolean mockEnabled;
 
+    @Value("${claude.model:claude-3-7-sonnet-20250219}")
+    private String model;
+
+    @Value("${claude.max-tokens:1024}")
+    private int maxTokens;
+
     private final VideoRepository videoRepository;
     private final FeedbackRepository feedbackRepository;
+    private final LlmDispatcher llmDispatcher;
+    private final FeedbackBatcher feedbackBatcher;
+    private final FeedbackCache feedbackCache;
+    private final PromptTemplateRegistry promptTemplates;
+    private final MeterRegistry meterRegistry;
+
+    public FeedbackReturnDTO getFeedback(AnswerDTO answerDTO) throws Exception {
+        try {
+            return getFeedbackAsync(answerDTO, null).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
 
-    public FeedbackReturnDTO getFeedback(AnswerDTO answerDTO) throws Exception { //TODO: WebClient으로 변경하기
+    /**
+     * 응답을 기다리는 동안 스레드를 점유하지 않음
+     * onText: 생성 중인 피드백 조각을 받음 (null 가능)
+     */
+    public CompletableFuture<FeedbackReturnDTO> getFeedbackAsync(AnswerDTO answerDTO, Consumer<String> onText) {
+        return generateFeedback(answerDTO, onText, false);
+    }
 
+    // 대기 중인 큐 작업 수가 기준 이상이면 큐 작업의 피드백을 배치로 보냄
+    public boolean acceptsBatch(long queueBacklog) {
+        return !mockEnabled && feedbackBatcher.accepts(queueBacklog);
+    }
+
+    /**
+     * 밀린 큐 작업용: Message Batches로 모아 보내므로 결과까지 수 분 이상 걸릴 수 있음
+     */
+    public CompletableFuture<FeedbackReturnDTO> getBatchedFeedbackAsync(AnswerDTO answerDTO) {
+        return generateFeedback(answerDTO, null, true);
+    }
+
+    private CompletableFuture<FeedbackReturnDTO> generateFeedback(AnswerDTO answerDTO, Consumer<String> onText, boolean batch) {
+        Video video = videoRepository.findById(answerDTO.getVideoId()).orElse(null);
+        if (video == null) {
+            return CompletableFuture.failedFuture(new Exception("비디오를 찾을 수 없습니다: " + answerDTO.getVideoId()));
+        }
         if (mockEnabled) {
             log.info("부하테스트 모드: Claude API 호출 생략");
-            return getMockFeedback(answerDTO);
+            return getMockFeedback(video);
         }
-        Video video = videoRepository.findById(answerDTO.getVideoId()).orElse(null);
+
         String question = video.getQuestion().getContents();
         String answer = answerDTO.getAnswer();
-        String cmd = answer + "은 CS 면접 질문 [" + question + "]에 대한 답변 영상을 음성으로 변환한 후 STT 변환한거야. 그러니 오타라고 생각하지 말고 융통성 있게 받아들여줘. 이 답변을 실제 개발자 채용 면접 답변이라고 생각하고 내용 측면과 전달력 측면에서 피드백해줘. 결과는 한국어로 전달해줘.";
-
-        // Jackson 객체 매퍼 생성
-        ObjectMapper mapper = new ObjectMapper();
-        ObjectNode rootNode = mapper.createObjectNode();
-
-        // JSON 구조 설정
-        rootNode.put("model", "claude-3-7-sonnet-20250219");
-        rootNode.put("max_tokens", 1024);
-
-        ArrayNode messagesNode = mapper.createArrayNode();
-        ObjectNode messageNode = mapper.createObjectNode();
-        messageNode.put("role", "user");
-        messageNode.put("content", cmd);
-        messagesNode.add(messageNode);
-
-        rootNode.set("messages", messagesNode);
-
-        // JSON 문자열로 변환
-        String jsonInputString = mapper.writeValueAsString(rootNode);
-
-        // Claude API 요청 URL
-        URL url = new URL("https://api.anthropic.com/v1/messages");
-
-        // HTTP 연결 설정
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("x-api-key", API_KEY); // 실제 API 키로 교체
-        log.info("API KEY: " + API_KEY);
-        connection.setRequestProperty("anthropic-version", "2023-06-01");
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setDoOutput(true);
-
-        // 요청 본문 전송
-        try (OutputStream os = connection.getOutputStream()) {
-            byte[] input = jsonInputString.getBytes("utf-8");
-            os.write(input, 0, input.length);
-        }
-
-        // 응답 처리
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), "utf-8"))) {
-            StringBuilder response = new StringBuilder();
-            String responseLine;
-            while ((responseLine = br.readLine()) != null) {
-                response.append(responseLine.trim());
+        PromptTemplate template = promptTemplates.current();
+
+        // 같은 답변을 다시 제출한 경우(재업로드, 큐 재시도 등) Claude를 다시 부르지 않고 피드백 행만 새로 만듦
+        String cacheKey = FeedbackCacheKey.of(video.getQuestion().getId(), template.cacheVersion(), model, answer);
+        Optional<CachedFeedback> cached = feedbackCache.find(cacheKey);
+        if (cached.isPresent()) {
+            log.info("피드백 캐시 적중: videoId={}, 생략한 생성 시간 {}ms", video.getId(), cached.get().getGenerationMillis());
+            if (onText != null) {
+                onText.accept(cached.get().getContents());
             }
+            return CompletableFuture.completedFuture(saveFeedback(video, cached.get().getContents()));
+        }
 
-            // 응답을 FeedbackDTO로 변환하는 부분
-            String responseString = response.toString();
-
-            // Jackson을 사용하여 JSON 응답 파싱
-            ObjectNode responseNode = mapper.readValue(responseString, ObjectNode.class);
-            String content = responseNode.path("content").path(0).path("text").asText();
-
-            Feedback feedback = Feedback.builder()
-                    .contents(content)
-                    .createdAt(LocalDateTime.now())
-                    .video(video)
-                    .build();
-            feedbackRepository.save(feedback);
-
-            FeedbackReturnDTO feedbackDTO = FeedbackReturnDTO.builder()
-                    .feedbackId(feedback.getId())
-                    .videoId(feedback.getVideo().getId())
-                    .contents(feedback.getContents())
-                    .createdAt(feedback.getCreatedAt())
-                    .build();
-
-            return feedbackDTO;
-        } catch (IOException e) {
-            // 에러 응답 처리
-            if (connection.getResponseCode() >= 400) {
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getErrorStream(), "utf-8"))) {
-                    StringBuilder errorResponse = new StringBuilder();
-                    String responseLine;
-                    while ((responseLine = br.readLine()) != null) {
-                        errorResponse.append(responseLine.trim());
+        long start = System.currentTimeMillis();
+        ClaudeRequest request = template.toRequest(model, maxTokens, question, answer);
+        // 실시간 요청의 동시 요청 수와 분당 요청/토큰 한도는 디스패처가 관리
+        CompletableFuture<ClaudeResponse> pending = batch
+                ? feedbackBatcher.submit(request)
+                : llmDispatcher.submit(request, onText);
+        return pending
+                .thenApply(response -> {
+                    long elapsed = System.currentTimeMillis() - start;
+                    log.info("Claude 응답 완료: videoId={}, 프롬프트 {}, 입력 토큰 {} (캐시 읽기 {}, 캐시 쓰기 {}), 출력 토큰 {}, 첫 토큰 {}ms, 종료 사유 {}, 소요 {}ms",
+                            video.getId(), template.version(), response.inputTokens(), response.cacheReadInputTokens(),
+                            response.cacheCreationInputTokens(), response.outputTokens(), response.timeToFirstTokenMillis(),
+                            response.stopReason(), elapsed);
+                    recordUsage(template, response);
+                    if (FeedbackCache.isCacheable(response)) {
+                        feedbackCache.put(CachedFeedback.builder()
+                                .cacheKey(cacheKey)
+                                .questionId(video.getQuestion().getId())
+                                .promptVersion(template.cacheVersion())
+                                .model(model)
+                                .contents(response.text())
+                                .inputTokens(response.inputTokens())
+                                .outputTokens(response.outputTokens())
+                                .generationMillis(elapsed)
+                                .createdAt(LocalDateTime.now())
+                                .build());
                     }
-                    log.error("API Error ({}): {}", connection.getResponseCode(), errorResponse.toString());
-                }
-            }
-            throw e;
+                    return saveFeedback(video, response.text());
+                });
+    }
+
+    // 프롬프트 버전별로 나눠 기록해 템플릿 변경 전후의 첫 토큰 시간과 입력 비용을 비교
+    private void recordUsage(PromptTemplate template, ClaudeResponse response) {
+        if (response.timeToFirstTokenMillis() >= 0) {
+            Timer.builder("llm.feedback.ttft")
+                    .tag("prompt_version", template.version())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(response.timeToFirstTokenMillis(), TimeUnit.MILLISECONDS);
         }
+        recordTokens(template, "input", response.inputTokens());
+        recordTokens(template, "cache_read", response.cacheReadInputTokens());
+        recordTokens(template, "cache_creation", response.cacheCreationInputTokens());
+        recordTokens(template, "output", response.outputTokens());
     }
 
-    private FeedbackReturnDTO getMockFeedback(AnswerDTO answerDTO) throws Exception {
-        Video video = videoRepository.findById(answerDTO.getVideoId())
-                .orElseThrow(() -> new Exception("비디오를 찾을 수 없습니다: " + answerDTO.getVideoId()));
+    private void recordTokens(PromptTemplate template, String type, int tokens) {
+        DistributionSummary.builder("llm.feedback.tokens")
+                .tag("type", type)
+                .tag("prompt_version", template.version())
+                .register(meterRegistry)
+                .record(tokens);
+    }
 
+    private FeedbackReturnDTO saveFeedback(Video video, String content) {
+        Feedback feedback = Feedback.builder()
+                .contents(content)
+                .createdAt(LocalDateTime.now())
+                .video(video)
+                .build();
+        feedbackRepository.save(feedback);
+
+        return FeedbackReturnDTO.builder()
+                .feedbackId(feedback.getId())
+                .videoId(video.getId())
+                .contents(feedback.getContents())
+                .createdAt(feedback.getCreatedAt())
+                .build();
+    }
+
+    private CompletableFuture<FeedbackReturnDTO> getMockFeedback(Video video) {
         String question = video.getQuestion().getContents();
         long acceptedAt = System.currentTimeMillis();
 
@@ -160,26 +194,12 @@ public class FeedbackService {
                 ---
                 """, question);
 
-        // 실제 처리 시뮬레이션 (약간의 지연)
-        Thread.sleep(20000);  // 실제 Claude API 호출 시간 시뮬레이션
-
-        // DB 저장 (실제와 동일)
-        Feedback feedback = Feedback.builder()
-                .contents(mockContent)
-                .createdAt(LocalDateTime.now())
-                .video(video)
-                .build();
-        feedbackRepository.save(feedback);
-
-        return FeedbackReturnDTO.builder()
-                .feedbackId(feedback.getId())
-                .videoId(video.getId())
-                .contents(feedback.getContents())
-                .createdAt(feedback.getCreatedAt())
-                .build();
+        // 실제 Claude API 호출 시간 시뮬레이션 (스레드를 재우지 않고 지연 후 완료)
+        return CompletableFuture.supplyAsync(() -> saveFeedback(video, mockContent),
+                CompletableFuture.delayedExecutor(20, TimeUnit.SECONDS));
     }
 
-    public Feedback findFeedback(Long feedbackId) throws Exception {
+    public Feedback findFeedback(Long feedbackId) {
         Feedback feedback = feedbackRepository.findById(feedbackId).orElse(null);
         return feedback;
     }
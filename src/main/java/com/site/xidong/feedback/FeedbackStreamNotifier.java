@@ -0,0 +1,61 @@
+package com.site.xidong.feedback;
+
+import com.site.xidong.notification.NotificationService;
+import com.site.xidong.notification.VideoNotificationDTO;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 생성 중인 피드백 조각을 SSE로 전달
+ * 토큰마다 보내지 않고 일정 길이나 시간이 모이면 묶어서 보냄
+ */
+@Log4j2
+public class FeedbackStreamNotifier {
+
+    static final String EVENT_NAME = "feedback-delta";
+    private static final int FLUSH_CHARS = 200;
+    private static final long FLUSH_INTERVAL_MS = 500;
+
+    private final NotificationService notificationService;
+    private final String username;
+    private final Long videoId;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private long lastFlushAt = System.currentTimeMillis();
+    private boolean disabled;
+
+    public FeedbackStreamNotifier(NotificationService notificationService, String username, Long videoId) {
+        this.notificationService = notificationService;
+        this.username = username;
+        this.videoId = videoId;
+    }
+
+    public synchronized void append(String chunk) {
+        if (disabled) {
+            return;
+        }
+        buffer.append(chunk);
+        if (buffer.length() >= FLUSH_CHARS || System.currentTimeMillis() - lastFlushAt >= FLUSH_INTERVAL_MS) {
+            flush();
+        }
+    }
+
+    public synchronized void flush() {
+        if (disabled || buffer.isEmpty()) {
+            return;
+        }
+        VideoNotificationDTO delta = VideoNotificationDTO.builder()
+                .videoId(videoId)
+                .status("FEEDBACK_STREAMING")
+                .message(buffer.toString())
+                .build();
+        buffer.setLength(0);
+        lastFlushAt = System.currentTimeMillis();
+        try {
+            notificationService.send(username, EVENT_NAME, delta);
+        } catch (Throwable t) {
+            // 연결이 끊겨도 피드백 생성은 계속하고 완료 알림만 남김
+            log.warn("피드백 스트리밍 전송 중단: videoId={}, {}", videoId, t.getMessage());
+            disabled = true;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.site.xidong.feedback;
+
+import com.site.xidong.queue.RetryPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 모든 Claude 호출이 거치는 중앙 디스패처
+ * 분당 요청 수/예상 토큰 수 토큰 버킷과 동시 요청 한도를 지키며 대기열 순서대로 내보냄
+ * 429/529를 받으면 retry-after(없으면 지수 백오프)만큼 전체 발송을 멈추고 같은 요청을 맨 앞에서 다시 시도
+ * 상태 변경은 모두 디스패처 스레드 하나에서만 일어나므로 별도 잠금이 없음
+ */
+@Slf4j
+@Component
+public class LlmDispatcher {
+
+    // 한국어 위주 프롬프트 기준 대략적인 문자 수 대비 토큰 수
+    private static final double CHARS_PER_TOKEN = 2.0;
+
+    private final ClaudeClient claudeClient;
+    private final ScheduledExecutorService scheduler;
+    // 호출 측 후속 작업(피드백 저장 등)이 디스패처 스레드를 막지 않도록 완료 통지는 별도 스레드에서
+    // 후속 작업이 DB 커넥션을 쓰므로 완료가 몰려도 스레드 수는 고정 (초과분은 대기)
+    private final ExecutorService callbackExecutor;
+    private final Deque<PendingRequest> waiting = new ArrayDeque<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final int maxRetries;
+    private final long retryBaseDelayMs;
+    private final long retryMaxDelayMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private long pausedUntilNanos;
+    private ScheduledFuture<?> scheduledDrain;
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+    private final MeterRegistry meterRegistry;
+
+    public LlmDispatcher(ClaudeClient claudeClient, Environment environment, MeterRegistry meterRegistry) {
+        this.claudeClient = claudeClient;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrency = environment.getProperty("claude.dispatch.max-concurrency", Integer.class, 8);
+        this.queueCapacity = environment.getProperty("claude.dispatch.queue-capacity", Integer.class, 200);
+        this.maxRetries = environment.getProperty("claude.dispatch.max-retries", Integer.class, 3);
+        this.retryBaseDelayMs = environment.getProperty("claude.dispatch.retry-base-delay-ms", Long.class, 2000L);
+        this.retryMaxDelayMs = environment.getProperty("claude.dispatch.retry-max-delay-ms", Long.class, 60000L);
+        long now = System.nanoTime();
+        this.requestBucket = new TokenBucket(environment.getProperty("claude.dispatch.requests-per-minute", Double.class, 50d), now);
+        this.tokenBucket = new TokenBucket(environment.getProperty("claude.dispatch.tokens-per-minute", Double.class, 40000d), now);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("LlmDispatcher-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        CustomizableThreadFactory callbackThreads = new CustomizableThreadFactory("LlmCallback-");
+        callbackThreads.setDaemon(true);
+        this.callbackExecutor = Executors.newFixedThreadPool(
+                environment.getProperty("claude.dispatch.callback-threads", Integer.class, 4), callbackThreads);
+
+        Gauge.builder("llm.dispatch.queue", waitingCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("llm.dispatch.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+        this.waitTimer = Timer.builder("llm.dispatch.wait")
+                .description("Claude 요청이 디스패처 대기열에서 기다린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("llm.dispatch.rejected").register(meterRegistry);
+    }
+
+    /**
+     * 대기열이 가득 차면 바로 LlmRateLimitException으로 실패 (DB 큐가 나중에 다시 시도)
+     */
+    public CompletableFuture<ClaudeResponse> submit(ClaudeRequest request, Consumer<String> onText) {
+        if (waitingCount.incrementAndGet() > queueCapacity) {
+            waitingCount.decrementAndGet();
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(new LlmRateLimitException(429, "LLM 대기열 가득 참 (" + queueCapacity + ")"));
+        }
+        PendingRequest pending = new PendingRequest(request, onText, estimateTokens(request));
+        scheduler.execute(() -> {
+            waiting.addLast(pending);
+            drain();
+        });
+        return pending.future.whenCompleteAsync((response, throwable) -> { }, callbackExecutor);
+    }
+
+    static double estimateTokens(ClaudeRequest request) {
+        return Math.ceil(request.promptLength() / CHARS_PER_TOKEN) + request.maxTokens();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && inFlight.get() < maxConcurrency) {
+            long now = System.nanoTime();
+            PendingRequest head = waiting.peekFirst();
+            long delay = Math.max(pausedUntilNanos - now, Math.max(
+                    requestBucket.nanosUntilAvailable(1, now),
+                    tokenBucket.nanosUntilAvailable(head.estimatedTokens, now)));
+            if (delay > 0) {
+                scheduleDrain(delay);
+                return;
+            }
+            waiting.pollFirst();
+            waitingCount.decrementAndGet();
+            requestBucket.consume(1, now);
+            tokenBucket.consume(head.estimatedTokens, now);
+            start(head, now);
+        }
+    }
+
+    private void scheduleDrain(long delayNanos) {
+        if (scheduledDrain != null && !scheduledDrain.isDone()) {
+            if (scheduledDrain.getDelay(TimeUnit.NANOSECONDS) <= delayNanos) {
+                return;
+            }
+            scheduledDrain.cancel(false);
+        }
+        scheduledDrain = scheduler.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void start(PendingRequest pending, long now) {
+        pending.attempts++;
+        if (pending.attempts == 1) {
+            waitTimer.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        inFlight.incrementAndGet();
+        claudeClient.stream(pending.request, pending::onText)
+                .whenCompleteAsync((response, throwable) -> onFinished(pending, response, throwable), scheduler);
+    }
+
+    private void onFinished(PendingRequest pending, ClaudeResponse response, Throwable throwable) {
+        inFlight.decrementAndGet();
+        if (throwable == null) {
+            // 예상치와 실제 사용량 차이를 버킷에 반영 (캐시에서 읽은 입력 토큰은 한도에 포함하지 않음)
+            double actual = response.inputTokens() + response.cacheCreationInputTokens() + response.outputTokens();
+            if (actual < pending.estimatedTokens) {
+                tokenBucket.refund(pending.estimatedTokens - actual);
+            } else {
+                tokenBucket.consume(actual - pending.estimatedTokens, System.nanoTime());
+            }
+            pending.future.complete(response);
+        } else {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            // 이미 일부 텍스트를 보낸 요청은 다시 보내면 중복되므로 DB 큐 재시도에 맡김
+            if (cause instanceof LlmRateLimitException rateLimited && pending.attempts <= maxRetries && !pending.textEmitted) {
+                long delayMs = rateLimited.getRetryAfterMillis() != null
+                        ? rateLimited.getRetryAfterMillis()
+                        : RetryPolicy.backoffMillis(pending.attempts, retryBaseDelayMs, retryMaxDelayMs,
+                        ThreadLocalRandom.current().nextDouble());
+                pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs));
+                // 거절된 요청은 한도를 쓰지 않았으므로 예상 토큰을 돌려줌
+                tokenBucket.refund(pending.estimatedTokens);
+                meterRegistry.counter("llm.dispatch.retries", "status", String.valueOf(rateLimited.getStatusCode())).increment();
+                log.warn("Claude 요청 제한({}), {}ms 동안 발송 중지 후 재시도 ({}/{})",
+                        rateLimited.getStatusCode(), delayMs, pending.attempts, maxRetries);
+                waiting.addFirst(pending);
+                waitingCount.incrementAndGet();
+            } else {
+                pending.future.completeExceptionally(cause);
+            }
+        }
+        drain();
+    }
+
+    public int getWaiting() {
+        return waitingCount.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        callbackExecutor.shutdown();
+    }
+
+    private static final class PendingRequest {
+        private final ClaudeRequest request;
+        private final Consumer<String> textSink;
+        private final double estimatedTokens;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<ClaudeResponse> future = new CompletableFuture<>();
+        private int attempts;
+        private volatile boolean textEmitted;
+
+        private PendingRequest(ClaudeRequest request, Consumer<String> textSink, double estimatedTokens) {
+            this.request = request;
+            this.textSink = textSink;
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        private void onText(String chunk) {
+            textEmitted = true;
+            if (textSink != null) {
+                textSink.accept(chunk);
+            }
+        }
+    }
+}
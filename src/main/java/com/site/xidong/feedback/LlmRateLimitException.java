@@ -0,0 +1,27 @@
+package com.site.xidong.feedback;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Claude API가 429(요청 한도 초과) 또는 529(과부하)로 응답함
+ * 잠시 후 다시 시도하면 성공할 수 있는 실패
+ */
+@Getter
+public class LlmRateLimitException extends IOException {
+
+    private final int statusCode;
+    // 응답의 retry-after 헤더 (없으면 null)
+    private final Long retryAfterMillis;
+
+    public LlmRateLimitException(int statusCode, String message) {
+        this(statusCode, message, null);
+    }
+
+    public LlmRateLimitException(int statusCode, String message, Long retryAfterMillis) {
+        super("Claude API 요청 제한 (" + statusCode + "): " + message);
+        this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
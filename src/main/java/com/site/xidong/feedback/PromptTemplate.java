@@ -0,0 +1,101 @@
+package com.site.xidong.feedback;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 피드백 프롬프트 템플릿 (resources/prompts/feedback.<버전>.prompt)
+ * [system], [context], [answer] 구역으로 나누며, 고정 지침 → 질문 맥락 → 답변 순으로 보내
+ * 앞의 두 구역을 프롬프트 캐시로 재사용함. {question}, {answer} 자리표시자를 채움
+ * '#'으로 시작하는 줄은 주석
+ */
+public record PromptTemplate(String version, String fingerprint, String system, String context, String answer) {
+
+    private static final String[] SECTIONS = {"system", "context", "answer"};
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(question|answer)}");
+
+    static PromptTemplate parse(String version, String source) {
+        Map<String, StringBuilder> sections = new LinkedHashMap<>();
+        StringBuilder current = null;
+        for (String line : source.split("\\R", -1)) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+                String name = trimmed.substring(1, trimmed.length() - 1).trim();
+                if (!isSection(name)) {
+                    throw new IllegalArgumentException("알 수 없는 프롬프트 구역: [" + name + "] (" + version + ")");
+                }
+                current = new StringBuilder();
+                sections.put(name, current);
+            } else if (current != null) {
+                current.append(line).append('\n');
+            } else if (!trimmed.isEmpty()) {
+                throw new IllegalArgumentException("구역 밖의 내용: " + trimmed + " (" + version + ")");
+            }
+        }
+        String answer = section(sections, "answer");
+        if (answer == null || !answer.contains("{answer}")) {
+            throw new IllegalArgumentException("[answer] 구역에 {answer}가 없음 (" + version + ")");
+        }
+        return new PromptTemplate(version, fingerprint(source), section(sections, "system"),
+                section(sections, "context"), answer);
+    }
+
+    private static boolean isSection(String name) {
+        for (String section : SECTIONS) {
+            if (section.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String section(Map<String, StringBuilder> sections, String name) {
+        StringBuilder body = sections.get(name);
+        if (body == null) {
+            return null;
+        }
+        String text = body.toString().strip();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String fingerprint(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 피드백 캐시 키에 넣는 버전: 같은 버전 이름이라도 파일 내용이 바뀌면 달라짐
+     */
+    public String cacheVersion() {
+        return version + "-" + fingerprint;
+    }
+
+    public ClaudeRequest toRequest(String model, int maxTokens, String question, String answerText) {
+        return new ClaudeRequest(model, maxTokens,
+                fill(system, question, answerText),
+                fill(context, question, answerText),
+                fill(answer, question, answerText));
+    }
+
+    private static String fill(String section, String question, String answerText) {
+        if (section == null) {
+            return null;
+        }
+        // 한 번에 치환하므로 질문/답변에 자리표시자 같은 문자열이 있어도 다시 치환되지 않음
+        return PLACEHOLDER.matcher(section).replaceAll(match ->
+                Matcher.quoteReplacement(match.group(1).equals("question") ? question : answerText));
+    }
+}
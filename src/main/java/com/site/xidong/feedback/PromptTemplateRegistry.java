@@ -0,0 +1,67 @@
+package com.site.xidong.feedback;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 현재 사용하는 피드백 프롬프트 템플릿
+ * claude.prompt.location 아래 feedback.<버전>.prompt를 읽고, 주기적으로 다시 읽어 바뀌면 교체 (재배포 없이 수정)
+ * 다시 읽다가 실패하면 기존 템플릿을 계속 사용
+ */
+@Slf4j
+@Component
+public class PromptTemplateRegistry {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final String version;
+
+    private volatile PromptTemplate current;
+
+    public PromptTemplateRegistry(ResourceLoader resourceLoader,
+                                  @Value("${claude.prompt.location:classpath:prompts/}") String location,
+                                  @Value("${claude.prompt.version:v2}") String version) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.version = version;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        current = read();
+        log.info("피드백 프롬프트 로드: {} ({})", current.version(), current.fingerprint());
+    }
+
+    public PromptTemplate current() {
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${claude.prompt.reload-interval-ms:30000}")
+    public void reload() {
+        try {
+            PromptTemplate loaded = read();
+            if (!loaded.fingerprint().equals(current.fingerprint())) {
+                log.info("피드백 프롬프트 변경 감지: {} ({} → {})", loaded.version(), current.fingerprint(), loaded.fingerprint());
+                current = loaded;
+            }
+        } catch (Exception e) {
+            log.warn("피드백 프롬프트 다시 읽기 실패, 기존 템플릿 유지: {}", e.getMessage());
+        }
+    }
+
+    private PromptTemplate read() throws IOException {
+        Resource resource = resourceLoader.getResource(location + "feedback." + version + ".prompt");
+        try (InputStream in = resource.getInputStream()) {
+            return PromptTemplate.parse(version, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
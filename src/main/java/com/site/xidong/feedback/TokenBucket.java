@@ -0,0 +1,53 @@
+package com.site.xidong.feedback;
+
+/**
+ * 분당 한도를 연속적으로 채우는 토큰 버킷 (스레드 안전하지 않음, 호출 측에서 직렬화)
+ * 실제 사용량이 예상보다 많으면 잔량이 음수가 되어 다음 요청이 그만큼 늦게 나감
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double perMinute, long nowNanos) {
+        this.capacity = perMinute;
+        this.refillPerNano = perMinute / 60_000_000_000d;
+        this.tokens = perMinute;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * amount만큼 쓸 수 있을 때까지 남은 시간 (0이면 바로 사용 가능)
+     * 용량보다 큰 요청은 버킷이 가득 차면 보낼 수 있도록 용량으로 자름
+     */
+    long nanosUntilAvailable(double amount, long nowNanos) {
+        refill(nowNanos);
+        double missing = Math.min(amount, capacity) - tokens;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerNano);
+    }
+
+    void consume(double amount, long nowNanos) {
+        refill(nowNanos);
+        tokens -= amount;
+    }
+
+    // 예상보다 적게 썼거나 요청이 거절되어 실제로 쓰지 않은 양을 돌려줌
+    void refund(double amount) {
+        tokens = Math.min(capacity, tokens + amount);
+    }
+
+    double available(long nowNanos) {
+        refill(nowNanos);
+        return tokens;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
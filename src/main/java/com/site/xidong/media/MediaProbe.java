@@ -0,0 +1,235 @@
+package com.site.xidong.media;
+
+import com.site.xidong.config.AwsClientRegistry;
+import com.site.xidong.queue.QueueLane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * S3 영상 길이 확인
+ * 업로드 메타데이터 → 클라이언트 신고 길이 → 컨테이너 헤더(WebM/MP4, Range GET) → 파일 크기 기반 추정 순으로 시도
+ * 신고 길이가 경계 근처이거나 비트레이트가 의심스러우면 헤더로 확인
+ * 객체 전체를 내려받지 않으며, 결과는 videoKey 단위로 캐시 (크기 기반 추정값 제외)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaProbe {
+
+    static final int HEAD_BYTES = 64 * 1024;
+
+    private final AwsClientRegistry awsClientRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private final WebmDurationParser webmParser = new WebmDurationParser();
+    private final Mp4DurationParser mp4Parser = new Mp4DurationParser();
+
+    @Value("${video.probe.cache-size:1000}")
+    private int cacheSize;
+
+    @Value("${video.probe.max-read-bytes:2097152}")
+    private long maxReadBytes;
+
+    private final Map<String, ProbeResult> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ProbeResult> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+
+    // 클라이언트 신고 길이가 이 비트레이트 범위를 벗어나면 믿지 않고 헤더를 파싱
+    static final double MIN_PLAUSIBLE_MBPS = 0.05;
+    static final double MAX_PLAUSIBLE_MBPS = 20.0;
+    // 그럴듯한 신고 길이라도 아래 조건이면 헤더를 파싱해 확인 (needsVerification)
+    static final double VERIFY_MARGIN = 0.3;
+    static final double VERIFY_BITRATE_FACTOR = 2.0;
+
+    public ProbeResult probe(String bucket, String videoKey) {
+        return probe(bucket, videoKey, null);
+    }
+
+    /**
+     * declaredDuration: 업로드 완료 요청에서 클라이언트가 신고한 길이 (없으면 null)
+     * 파일 크기와 비교해 그럴듯하면 헤더 파싱 없이 사용
+     */
+    public ProbeResult probe(String bucket, String videoKey, Double declaredDuration) {
+        ProbeResult cached = cache.get(videoKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.currentTimeMillis();
+        ProbeResult result = doProbe(bucket, videoKey, declaredDuration);
+        Counter.builder("video.probe")
+                .tag("method", result.method())
+                .register(meterRegistry)
+                .increment();
+        log.info("비디오 길이 확인 완료: {}초 ({}), 소요 {}ms - {}",
+                Math.round(result.durationSeconds()), result.method(), System.currentTimeMillis() - start, videoKey);
+
+        // 추정값은 일시적인 HEAD/헤더 조회 실패로 나온 것일 수 있으므로 캐시하지 않음 (재시도 시 다시 확인)
+        if (result.durationSeconds() > 0 && !"estimate".equals(result.method())) {
+            cache.put(videoKey, result);
+        }
+        return result;
+    }
+
+    private ProbeResult doProbe(String bucket, String videoKey, Double declaredDuration) {
+        S3Client s3Client = awsClientRegistry.s3();
+        HeadObjectResponse head;
+        try {
+            head = s3Client.headObject(r -> r.bucket(bucket).key(videoKey));
+        } catch (S3Exception e) {
+            // 객체가 없으면 이후 단계도 진행할 수 없으므로 작업 실패로 넘김
+            if (e.statusCode() == 404) {
+                throw e;
+            }
+            log.error("비디오 메타데이터 조회 실패: {}", videoKey, e);
+            return new ProbeResult(0, "estimate");
+        } catch (Exception e) {
+            log.error("비디오 메타데이터 조회 실패: {}", videoKey, e);
+            return new ProbeResult(0, "estimate");
+        }
+
+        long size = head.contentLength() != null ? head.contentLength() : 0;
+        if (size <= 0) {
+            log.error("파일 크기를 확인할 수 없음: {}", videoKey);
+            return new ProbeResult(0, "estimate");
+        }
+        double expectedMbps = getEstimatedBitrate(videoKey, head.contentType());
+
+        // 1. 업로드 시 기록된 duration 메타데이터, 2. 클라이언트 신고 길이 (둘 다 파일 크기 대비 비트레이트로 검증)
+        ProbeResult claimed = null;
+        String declared = head.metadata().get("duration");
+        if (declared != null) {
+            Double metadataDuration = parseDuration(declared);
+            if (isPlausible(metadataDuration, size)) {
+                claimed = new ProbeResult(metadataDuration, "metadata");
+            } else {
+                log.warn("메타데이터 duration을 사용할 수 없음: {}, {} bytes ({})", declared, size, videoKey);
+            }
+        }
+        if (claimed == null && declaredDuration != null) {
+            if (isPlausible(declaredDuration, size)) {
+                claimed = new ProbeResult(declaredDuration, "declared");
+            } else {
+                log.warn("신고된 길이가 파일 크기와 맞지 않음: {}초, {} bytes ({})", declaredDuration, size, videoKey);
+            }
+        }
+        if (claimed != null && !needsVerification(claimed.durationSeconds(), size, expectedMbps)) {
+            return claimed;
+        }
+
+        // 3. 컨테이너 헤더 파싱 (앞 64KB + 필요 시 끝부분/moov 위치만 추가로 읽음)
+        // 신고값이 긴/짧은 영상 경계 근처이거나 형식별 일반 비트레이트와 크게 다르면 여기서 확인
+        S3RangeReader reader = new S3RangeReader(s3Client, bucket, videoKey, size, maxReadBytes);
+        try {
+            Optional<ProbeResult> parsed = parseContainer(reader);
+            if (parsed.isPresent()) {
+                log.info("컨테이너 헤더에서 길이 확인: {} bytes 읽음 (파일 {} bytes)", reader.getBytesRead(), size);
+                if (claimed != null) {
+                    log.info("신고 길이 확인: 신고 {}초 ({}), 헤더 {}초 ({})", Math.round(claimed.durationSeconds()),
+                            claimed.method(), Math.round(parsed.get().durationSeconds()), videoKey);
+                }
+                return parsed.get();
+            }
+        } catch (Exception e) {
+            log.warn("컨테이너 헤더 파싱 실패: {} ({})", videoKey, e.getMessage());
+        }
+
+        // 헤더로 확인하지 못하면 크기 대비 그럴듯한 신고값을 추정보다 우선 사용
+        if (claimed != null) {
+            return claimed;
+        }
+
+        // 4. 파일 크기 기반 추정
+        return new ProbeResult(size / (1024.0 * 1024.0) * 8 / expectedMbps, "estimate");
+    }
+
+    static Double parseDuration(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // NaN/무한대/0 이하와 비트레이트 범위를 벗어난 값은 모두 거부
+    static boolean isPlausible(Double declaredDuration, long size) {
+        if (declaredDuration == null || !Double.isFinite(declaredDuration) || declaredDuration <= 0 || size <= 0) {
+            return false;
+        }
+        double mbps = size * 8 / declaredDuration / 1_000_000;
+        return mbps >= MIN_PLAUSIBLE_MBPS && mbps <= MAX_PLAUSIBLE_MBPS;
+    }
+
+    /**
+     * 신고 길이를 헤더 파싱 없이 믿을 수 있는지 판단
+     * 긴/짧은 영상 경계(±VERIFY_MARGIN) 근처이면 처리 경로가 바뀔 수 있고,
+     * 형식별 일반 비트레이트와 VERIFY_BITRATE_FACTOR배 넘게 다르면 길이를 줄여 신고했을 수 있으므로 확인 필요
+     */
+    static boolean needsVerification(double durationSeconds, long size, double expectedMbps) {
+        double threshold = QueueLane.LONG_VIDEO_SECONDS;
+        if (Math.abs(durationSeconds - threshold) <= threshold * VERIFY_MARGIN) {
+            return true;
+        }
+        double mbps = size * 8 / durationSeconds / 1_000_000;
+        return mbps > expectedMbps * VERIFY_BITRATE_FACTOR || mbps < expectedMbps / VERIFY_BITRATE_FACTOR;
+    }
+
+    Optional<ProbeResult> parseContainer(RangeReader reader) throws IOException {
+        byte[] head = reader.read(0, (int) Math.min(HEAD_BYTES, reader.size()));
+        if (WebmDurationParser.matches(head)) {
+            return webmParser.parse(reader, head);
+        }
+        if (Mp4DurationParser.matches(head)) {
+            return mp4Parser.parse(reader, head);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 파일 형식별 예상 비트레이트 반환 (Mbps)
+     * 신고 길이 검증과 헤더에서 길이를 얻지 못했을 때의 추정에 사용
+     */
+    static double getEstimatedBitrate(String videoKey, String contentType) {
+        String fileName = videoKey.toLowerCase();
+
+        // Content-Type 우선 확인
+        if (contentType != null) {
+            contentType = contentType.toLowerCase();
+            if (contentType.contains("webm")) return 2.0;
+            if (contentType.contains("mp4")) return 3.0;
+            if (contentType.contains("avi")) return 4.0;
+            if (contentType.contains("mov")) return 3.5;
+            if (contentType.contains("mkv")) return 2.5;
+        }
+
+        // 파일 확장자로 추정
+        if (fileName.endsWith(".webm")) return 2.0;      // WebM: 효율적 압축
+        if (fileName.endsWith(".mp4")) return 3.0;       // MP4: 일반적
+        if (fileName.endsWith(".avi")) return 4.0;       // AVI: 큰 용량
+        if (fileName.endsWith(".mov")) return 3.5;       // MOV: 고품질
+        if (fileName.endsWith(".mkv")) return 2.5;       // MKV: 가변적
+        if (fileName.endsWith(".flv")) return 1.5;       // FLV: 낮은 품질
+        if (fileName.endsWith(".wmv")) return 2.0;       // WMV: 압축률 좋음
+        if (fileName.endsWith(".m4v")) return 3.0;       // M4V: MP4와 유사
+
+        // 기본값: 중간 비트레이트
+        return 2.5;
+    }
+}
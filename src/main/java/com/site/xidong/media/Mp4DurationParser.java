@@ -0,0 +1,113 @@
+package com.site.xidong.media;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * MP4/MOV 길이 파서
+ * 최상위 박스 헤더만 Range로 건너뛰며 moov를 찾고, mvhd(없으면 조각 MP4의 mehd)에서 길이를 읽음
+ * mdat 본문은 읽지 않음
+ */
+public class Mp4DurationParser {
+
+    static final int MOOV_READ_BYTES = 64 * 1024;
+    private static final int MAX_TOP_LEVEL_BOXES = 64;
+
+    public static boolean matches(byte[] head) {
+        return head.length >= 8 && "ftyp".equals(new String(head, 4, 4, StandardCharsets.US_ASCII));
+    }
+
+    public Optional<ProbeResult> parse(RangeReader reader, byte[] head) throws IOException {
+        long size = reader.size();
+        long pos = 0;
+        for (int boxes = 0; boxes < MAX_TOP_LEVEL_BOXES && pos + 8 <= size; boxes++) {
+            byte[] header = slice(reader, head, pos, (int) Math.min(16, size - pos));
+            if (header.length < 8) {
+                break;
+            }
+            long boxSize = readUnsigned(header, 0, 4);
+            String type = new String(header, 4, 4, StandardCharsets.US_ASCII);
+            int headerLength = 8;
+            if (boxSize == 1 && header.length >= 16) {
+                boxSize = readUnsigned(header, 8, 8);
+                headerLength = 16;
+            } else if (boxSize == 0) {
+                boxSize = size - pos;
+            }
+            if (boxSize < headerLength) {
+                break;
+            }
+
+            if ("moov".equals(type)) {
+                int length = (int) Math.min(boxSize - headerLength, MOOV_READ_BYTES);
+                return findDuration(slice(reader, head, pos + headerLength, length));
+            }
+            pos += boxSize;
+        }
+        return Optional.empty();
+    }
+
+    static Optional<ProbeResult> findDuration(byte[] moov) {
+        long timescale = 0;
+        long duration = 0;
+        for (int pos = 0; pos + 8 <= moov.length; ) {
+            long boxSize = readUnsigned(moov, pos, 4);
+            String type = new String(moov, pos + 4, 4, StandardCharsets.US_ASCII);
+            if (boxSize < 8) {
+                break;
+            }
+            if ("mvhd".equals(type) && pos + 32 <= moov.length) {
+                int version = moov[pos + 8];
+                if (version == 1 && pos + 40 <= moov.length) {
+                    timescale = readUnsigned(moov, pos + 28, 4);
+                    duration = readUnsigned(moov, pos + 32, 8);
+                } else {
+                    timescale = readUnsigned(moov, pos + 20, 4);
+                    duration = readUnsigned(moov, pos + 24, 4);
+                    if (duration == 0xFFFFFFFFL) {
+                        duration = 0; // 길이 미상
+                    }
+                }
+                if (timescale > 0 && duration > 0) {
+                    return Optional.of(new ProbeResult((double) duration / timescale, "mp4-mvhd"));
+                }
+            } else if ("mvex".equals(type) && timescale > 0) {
+                // 조각 MP4: mvex > mehd의 fragment_duration (mvhd와 같은 timescale)
+                int mehd = pos + 8;
+                if (mehd + 16 <= moov.length && "mehd".equals(new String(moov, mehd + 4, 4, StandardCharsets.US_ASCII))) {
+                    int version = moov[mehd + 8];
+                    long fragmentDuration = version == 1 && mehd + 20 <= moov.length
+                            ? readUnsigned(moov, mehd + 12, 8)
+                            : readUnsigned(moov, mehd + 12, 4);
+                    if (fragmentDuration > 0) {
+                        return Optional.of(new ProbeResult((double) fragmentDuration / timescale, "mp4-mehd"));
+                    }
+                }
+            }
+            if (pos + boxSize > moov.length) {
+                break;
+            }
+            pos += (int) boxSize;
+        }
+        return Optional.empty();
+    }
+
+    // 이미 읽은 앞부분 안에 있으면 재사용, 아니면 Range 요청
+    private byte[] slice(RangeReader reader, byte[] head, long offset, int length) throws IOException {
+        if (offset + length <= head.length) {
+            byte[] bytes = new byte[length];
+            System.arraycopy(head, (int) offset, bytes, 0, length);
+            return bytes;
+        }
+        return reader.read(offset, length);
+    }
+
+    private static long readUnsigned(byte[] bytes, int pos, int length) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (bytes[pos + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package com.site.xidong.media;
+
+/**
+ * 영상 길이 확인 결과
+ * method는 길이를 얻은 방법 (metadata, declared, webm-info, webm-cluster, mp4-mvhd, mp4-mehd, estimate)
+ */
+public record ProbeResult(double durationSeconds, String method) {
+
+    public boolean isEstimated() {
+        return "estimate".equals(method);
+    }
+}
@@ -0,0 +1,15 @@
+package com.site.xidong.media;
+
+import java.io.IOException;
+
+/**
+ * 원본 파일의 일부 구간만 읽는 인터페이스
+ * 컨테이너 헤더 파서가 S3 객체 전체를 내려받지 않도록 필요한 바이트만 요청
+ */
+public interface RangeReader {
+
+    long size();
+
+    // length보다 적게 돌려줄 수 있음 (파일 끝)
+    byte[] read(long offset, int length) throws IOException;
+}
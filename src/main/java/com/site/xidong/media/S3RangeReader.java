@@ -0,0 +1,55 @@
+package com.site.xidong.media;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+import java.io.IOException;
+
+/**
+ * S3 Range GET 기반 RangeReader
+ * 읽기 총량 한도를 넘으면 예외를 던져 전체 다운로드로 번지지 않게 함
+ */
+public class S3RangeReader implements RangeReader {
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final long size;
+    private final long maxReadBytes;
+    private long bytesRead;
+
+    public S3RangeReader(S3Client s3Client, String bucket, String key, long size, long maxReadBytes) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.size = size;
+        this.maxReadBytes = maxReadBytes;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public byte[] read(long offset, int length) throws IOException {
+        long end = Math.min(offset + length, size) - 1;
+        if (offset < 0 || end < offset) {
+            return new byte[0];
+        }
+        if (bytesRead + (end - offset + 1) > maxReadBytes) {
+            throw new IOException("S3 부분 읽기 한도 초과: " + maxReadBytes + " bytes");
+        }
+        byte[] bytes = s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .range("bytes=" + offset + "-" + end)
+                .build()).asByteArray();
+        bytesRead += bytes.length;
+        return bytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+}
@@ -0,0 +1,211 @@
+package com.site.xidong.media;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * WebM/Matroska 길이 파서 (EBML)
+ * 1) Segment > Info > Duration이 있으면 그대로 사용
+ * 2) MediaRecorder 녹화본처럼 Duration이 없으면 파일 끝부분만 읽어 마지막 Cluster의 Timecode + 블록 상대 시간으로 계산
+ */
+public class WebmDurationParser {
+
+    static final int TAIL_BYTES = 512 * 1024;
+
+    private static final long ID_EBML = 0x1A45DFA3L;
+    private static final long ID_SEGMENT = 0x18538067L;
+    private static final long ID_INFO = 0x1549A966L;
+    private static final long ID_TIMECODE_SCALE = 0x2AD7B1L;
+    private static final long ID_DURATION = 0x4489L;
+    private static final long ID_CLUSTER = 0x1F43B675L;
+    private static final long ID_TIMECODE = 0xE7L;
+    private static final long ID_SIMPLE_BLOCK = 0xA3L;
+    private static final long ID_BLOCK_GROUP = 0xA0L;
+    private static final long ID_BLOCK = 0xA1L;
+    private static final long DEFAULT_TIMECODE_SCALE = 1_000_000L; // ns
+
+    public static boolean matches(byte[] head) {
+        return head.length >= 4 && (head[0] & 0xFF) == 0x1A && (head[1] & 0xFF) == 0x45
+                && (head[2] & 0xFF) == 0xDF && (head[3] & 0xFF) == 0xA3;
+    }
+
+    public Optional<ProbeResult> parse(RangeReader reader, byte[] head) throws IOException {
+        Element ebml = Element.read(head, 0);
+        if (ebml == null || ebml.id != ID_EBML || ebml.unknownSize) {
+            return Optional.empty();
+        }
+        Element segment = Element.read(head, ebml.end());
+        if (segment == null || segment.id != ID_SEGMENT) {
+            return Optional.empty();
+        }
+
+        long timecodeScale = DEFAULT_TIMECODE_SCALE;
+        double duration = 0;
+        int pos = segment.dataStart;
+        while (pos < head.length) {
+            Element element = Element.read(head, pos);
+            if (element == null || element.id == ID_CLUSTER) {
+                break;
+            }
+            if (element.id == ID_INFO) {
+                if (element.unknownSize || element.end() > head.length) {
+                    break;
+                }
+                for (int child = element.dataStart; child < element.end(); ) {
+                    Element info = Element.read(head, child);
+                    if (info == null || info.end() > element.end()) {
+                        break;
+                    }
+                    if (info.id == ID_TIMECODE_SCALE) {
+                        timecodeScale = readUnsigned(head, info.dataStart, (int) info.size);
+                    } else if (info.id == ID_DURATION) {
+                        duration = readFloat(head, info.dataStart, (int) info.size);
+                    }
+                    child = (int) info.end();
+                }
+                break;
+            }
+            if (element.unknownSize || element.end() >= head.length) {
+                break;
+            }
+            pos = (int) element.end();
+        }
+
+        if (duration > 0) {
+            return Optional.of(new ProbeResult(duration * timecodeScale / 1e9, "webm-info"));
+        }
+
+        long lastTimecode = lastBlockTimecode(readTail(reader, head));
+        if (lastTimecode < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new ProbeResult(lastTimecode * (double) timecodeScale / 1e9, "webm-cluster"));
+    }
+
+    private byte[] readTail(RangeReader reader, byte[] head) throws IOException {
+        long size = reader.size();
+        if (size <= head.length) {
+            return head;
+        }
+        int length = (int) Math.min(size, TAIL_BYTES);
+        return reader.read(size - length, length);
+    }
+
+    // 뒤에서부터 Cluster ID를 찾고, 첫 자식이 Timecode인 것만 진짜 Cluster로 인정 (프레임 데이터 속 우연한 일치 배제)
+    static long lastBlockTimecode(byte[] tail) {
+        for (int i = tail.length - 4; i >= 0; i--) {
+            if ((tail[i] & 0xFF) != 0x1F || (tail[i + 1] & 0xFF) != 0x43
+                    || (tail[i + 2] & 0xFF) != 0xB6 || (tail[i + 3] & 0xFF) != 0x75) {
+                continue;
+            }
+            Element cluster = Element.read(tail, i);
+            if (cluster == null) {
+                continue;
+            }
+            Element timecode = Element.read(tail, cluster.dataStart);
+            if (timecode == null || timecode.id != ID_TIMECODE || timecode.end() > tail.length || timecode.size > 8) {
+                continue;
+            }
+            long clusterTimecode = readUnsigned(tail, timecode.dataStart, (int) timecode.size);
+            int maxRelative = 0;
+            int limit = cluster.unknownSize ? tail.length : (int) Math.min(tail.length, cluster.end());
+            for (int pos = (int) timecode.end(); pos < limit; ) {
+                Element child = Element.read(tail, pos);
+                if (child == null || child.id == ID_CLUSTER) {
+                    break;
+                }
+                if (child.id == ID_SIMPLE_BLOCK || child.id == ID_BLOCK) {
+                    maxRelative = Math.max(maxRelative, blockRelativeTimecode(tail, child.dataStart));
+                } else if (child.id == ID_BLOCK_GROUP) {
+                    Element block = Element.read(tail, child.dataStart);
+                    if (block != null && block.id == ID_BLOCK) {
+                        maxRelative = Math.max(maxRelative, blockRelativeTimecode(tail, block.dataStart));
+                    }
+                }
+                if (child.unknownSize) {
+                    break;
+                }
+                pos = (int) Math.min(child.end(), Integer.MAX_VALUE);
+            }
+            return clusterTimecode + maxRelative;
+        }
+        return -1;
+    }
+
+    // 블록 헤더: 트랙 번호(vint) + 상대 타임코드(int16)
+    private static int blockRelativeTimecode(byte[] bytes, int pos) {
+        if (pos >= bytes.length) {
+            return 0;
+        }
+        int trackLength = Element.vintLength(bytes[pos]);
+        int timecodePos = pos + trackLength;
+        if (trackLength == 0 || timecodePos + 1 >= bytes.length) {
+            return 0;
+        }
+        return (short) (((bytes[timecodePos] & 0xFF) << 8) | (bytes[timecodePos + 1] & 0xFF));
+    }
+
+    private static long readUnsigned(byte[] bytes, int pos, int length) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (bytes[pos + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static double readFloat(byte[] bytes, int pos, int length) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, pos, length);
+        return length == 4 ? buffer.getFloat() : length == 8 ? buffer.getDouble() : 0;
+    }
+
+    /**
+     * EBML 요소 헤더 (ID + 크기)
+     */
+    private record Element(long id, long size, int dataStart, boolean unknownSize) {
+
+        long end() {
+            return dataStart + size;
+        }
+
+        static Element read(byte[] bytes, long position) {
+            if (position < 0 || position >= bytes.length) {
+                return null;
+            }
+            int pos = (int) position;
+            int idLength = vintLength(bytes[pos]);
+            if (idLength == 0 || idLength > 4 || pos + idLength >= bytes.length) {
+                return null;
+            }
+            long id = 0;
+            for (int i = 0; i < idLength; i++) {
+                id = (id << 8) | (bytes[pos + i] & 0xFF);
+            }
+
+            int sizePos = pos + idLength;
+            int sizeLength = vintLength(bytes[sizePos]);
+            if (sizeLength == 0 || sizePos + sizeLength > bytes.length) {
+                return null;
+            }
+            long mask = 0xFF >> sizeLength;
+            long size = bytes[sizePos] & mask;
+            boolean allOnes = size == mask;
+            for (int i = 1; i < sizeLength; i++) {
+                int b = bytes[sizePos + i] & 0xFF;
+                size = (size << 8) | b;
+                allOnes &= b == 0xFF;
+            }
+            return new Element(id, size, sizePos + sizeLength, allOnes);
+        }
+
+        static int vintLength(byte first) {
+            int value = first & 0xFF;
+            for (int length = 1; length <= 8; length++) {
+                if ((value & (0x80 >> (length - 1))) != 0) {
+                    return length;
+                }
+            }
+            return 0;
+        }
+    }
+}
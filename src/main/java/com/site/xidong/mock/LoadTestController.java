@@ -1,19 +1,26 @@
 package com.site.xidong.mock;
 
+import com.site.xidong.pipeline.VideoPipeline;
+import com.site.xidong.queue.PendingCountCache;
 import com.site.xidong.queue.VideoProcessingQueue;
 import com.site.xidong.queue.VideoProcessingQueueRepository;
-import com.site.xidong.video.VideoService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
 
+import javax.sql.DataSource;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 
 @RestController
@@ -21,16 +28,23 @@ import java.util.concurrent.ThreadPoolExecutor;
 @RequestMapping("/api/test")
 @Slf4j
 public class LoadTestController {
-    private final VideoService videoService;
     private final VideoProcessingQueueRepository queueRepository;
     @Qualifier("threadPoolTaskExecutor")
     private final ThreadPoolTaskExecutor videoProcessingExecutor;
     private final MockFeedbackService mockFeedbackService;
+    private final PendingCountCache pendingCountCache;
+    private final VideoPipeline videoPipeline;
+    private final MeterRegistry meterRegistry;
+    private final DataSource dataSource;
 
     @PostMapping("/feedback")
     public ResponseEntity<?> mockFeedbackRequest() {
         try {
             mockFeedbackService.generateMockFeedback();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -50,28 +64,8 @@ public class LoadTestController {
 
         long startTime = System.currentTimeMillis();
 
-        // 스레드풀 용량 체크
-        boolean hasCapacity = videoService.checkThreadPoolCapacity();
-
-        if (hasCapacity) {
-            // Fast Path
-            log.info("Fast Path: Mock 작업 시작");
-
-            CompletableFuture.runAsync(() -> {
-                try {
-                    log.info("Mock 영상 처리 시작 - Thread: {}",
-                            Thread.currentThread().getName());
-
-                    // 실제 영상 처리 대신 Sleep
-                    Thread.sleep(processingMinutes * 60 * 1000);
-
-                    log.info("Mock 영상 처리 완료 - Thread: {}",
-                            Thread.currentThread().getName());
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }, videoProcessingExecutor);
-
+        // 적응형 동시 처리 한도 기준으로 빠른/느린 경로 결정
+        if (videoPipeline.hasCapacity() && startMockFastPath(processingMinutes)) {
             return ResponseEntity.accepted().body(Map.of(
                     "status", "processing",
                     "path", "fast",
@@ -81,6 +75,7 @@ public class LoadTestController {
         } else {
             // Slow Path
             log.warn("Slow Path: DB 큐 저장");
+            meterRegistry.counter("video.overflow", "source", "mock-video", "action", "spilled").increment();
 
             VideoProcessingQueue queueItem = VideoProcessingQueue.builder()
                     .questionId(999L)  // Mock
@@ -102,6 +97,34 @@ public class LoadTestController {
         }
     }
 
+    // 실행기가 포화되어 거부하면 요청 스레드에서 돌리지 않고 느린 경로로 넘김
+    private boolean startMockFastPath(int processingMinutes) {
+        log.info("Fast Path: Mock 작업 시작");
+
+        long jobStartedAt = videoPipeline.jobStarted();
+        try {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    log.info("Mock 영상 처리 시작 - Thread: {}",
+                            Thread.currentThread().getName());
+
+                    // 실제 영상 처리 대신 Sleep
+                    Thread.sleep(processingMinutes * 60 * 1000);
+
+                    log.info("Mock 영상 처리 완료 - Thread: {}",
+                            Thread.currentThread().getName());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, videoProcessingExecutor).whenComplete((result, throwable) ->
+                    videoPipeline.jobFinished(jobStartedAt, 0, throwable != null));
+            return true;
+        } catch (RejectedExecutionException e) {
+            videoPipeline.jobFinished(jobStartedAt, 0, true);
+            return false;
+        }
+    }
+
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getSystemStatus() {
         ThreadPoolExecutor executor = videoProcessingExecutor.getThreadPoolExecutor();
@@ -109,9 +132,7 @@ public class LoadTestController {
         int activeCount = executor.getActiveCount();
         int queueSize = executor.getQueue().size();
         long completedTasks = executor.getCompletedTaskCount();
-        long dbQueueCount = queueRepository.countByStatus(
-                VideoProcessingQueue.QueueStatus.PENDING
-        );
+        long dbQueueCount = pendingCountCache.get();
 
         Map<String, Object> status = Map.of(
                 "threadPool", Map.of(
@@ -123,9 +144,30 @@ public class LoadTestController {
                 "dbQueue", Map.of(
                         "pending", dbQueueCount
                 ),
+                "pipeline", Map.of(
+                        "inFlight", videoPipeline.getInFlight(),
+                        "limit", videoPipeline.getLimit(),
+                        "limitHistory", videoPipeline.getLimitHistory()
+                ),
+                "dbPool", dbPoolStatus(),
                 "timestamp", LocalDateTime.now()
         );
 
         return ResponseEntity.ok(status);
     }
+
+    // 부하 테스트 중 STT/LLM 호출 동안 커넥션을 잡고 있지 않은지 확인 (active가 처리 중 작업 수를 따라가면 안 됨)
+    private Map<String, Object> dbPoolStatus() {
+        if (!(dataSource instanceof HikariDataSource hikari) || hikari.getHikariPoolMXBean() == null) {
+            return Map.of();
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return Map.of(
+                "active", pool.getActiveConnections(),
+                "idle", pool.getIdleConnections(),
+                "pending", pool.getThreadsAwaitingConnection(),
+                "total", pool.getTotalConnections(),
+                "max", hikari.getMaximumPoolSize()
+        );
+    }
 }
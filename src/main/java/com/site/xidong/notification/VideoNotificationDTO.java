@@ -10,4 +10,5 @@ public class VideoNotificationDTO {
     private String status;
     private String message;
     private Long feedbackId;
+    private String thumbnailUrl;
 }
@@ -0,0 +1,49 @@
+package com.site.xidong.pipeline;
+
+/**
+ * AIMD 방식 동시 처리 한도
+ * 작업이 단계 큐에서 목표보다 오래 기다렸거나 실패하면 한도를 비율로 줄이고(multiplicative decrease),
+ * 한도를 충분히 쓰고 있는데 지연이 없으면 작업 완료마다 1/limit씩 늘림(additive increase)
+ * 한 번 줄인 뒤에는 그 이전에 시작된 작업의 결과로 다시 줄이지 않음
+ */
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long targetWaitMillis;
+
+    private double limit;
+    private long lastDecreaseAt = Long.MIN_VALUE;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long targetWaitMillis) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.targetWaitMillis = targetWaitMillis;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * startedAt: 작업 시작 시각 (System.nanoTime), now: 완료 시각
+     * waitMillis: 작업이 단계 큐에서 기다린 시간 합, inFlight: 완료 직전 처리 중이던 작업 수
+     * 반환값은 갱신된 한도
+     */
+    public synchronized int onSample(long startedAt, long now, long waitMillis, int inFlight, boolean failed) {
+        boolean congested = failed || waitMillis > targetWaitMillis;
+        if (congested) {
+            if (startedAt > lastDecreaseAt) {
+                limit = Math.max(minLimit, Math.floor(limit * backoffRatio));
+                lastDecreaseAt = now;
+            }
+        } else if (inFlight * 2 >= limit) {
+            // 한도의 절반도 안 쓰는 동안에는 늘려도 검증되지 않으므로 유지
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        return (int) limit;
+    }
+}
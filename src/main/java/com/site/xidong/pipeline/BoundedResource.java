@@ -0,0 +1,22 @@
+package com.site.xidong.pipeline;
+
+import lombok.Getter;
+
+/**
+ * 동시 사용량을 제한해야 하는 외부 자원
+ * 스레드 수와 무관하게 백엔드가 감당할 수 있는 만큼만 동시에 사용
+ */
+@Getter
+public enum BoundedResource {
+
+    WHISPER("whisper", 2),   // 호출마다 띄우는 Whisper Python 프로세스 (모델 로드로 메모리 큼)
+    FFMPEG("ffmpeg", 4);     // 오디오 추출/썸네일용 ffmpeg 디코딩
+
+    private final String key;
+    private final int defaultPermits;
+
+    BoundedResource(String key, int defaultPermits) {
+        this.key = key;
+        this.defaultPermits = defaultPermits;
+    }
+}
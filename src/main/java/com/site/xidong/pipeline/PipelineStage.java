@@ -0,0 +1,27 @@
+package com.site.xidong.pipeline;
+
+import lombok.Getter;
+
+/**
+ * 영상 처리 파이프라인 단계
+ * 단계마다 별도 실행기와 동시성 한도를 가짐
+ */
+@Getter
+public enum PipelineStage {
+
+    PROBE("probe", 4, 100),          // 길이 확인 + 초기 저장 (I/O 짧음)
+    THUMBNAIL("thumbnail", 2, 100),  // 프레임 디코딩 (CPU 위주)
+    STT("stt", 4, 100),              // Whisper/Transcribe (장시간 서브프로세스)
+    STT_CHUNK("stt-chunk", 8, 200),  // 긴 영상 청크 단위 STT (모든 영상이 공유)
+    FEEDBACK("feedback", 8, 100);    // Claude 호출 (I/O 대기)
+
+    private final String key;
+    private final int defaultConcurrency;
+    private final int defaultQueueCapacity;
+
+    PipelineStage(String key, int defaultConcurrency, int defaultQueueCapacity) {
+        this.key = key;
+        this.defaultConcurrency = defaultConcurrency;
+        this.defaultQueueCapacity = defaultQueueCapacity;
+    }
+}
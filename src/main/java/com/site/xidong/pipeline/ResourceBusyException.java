@@ -0,0 +1,13 @@
+package com.site.xidong.pipeline;
+
+import java.io.IOException;
+
+/**
+ * 자원 한도에서 정해진 시간 안에 자리를 얻지 못함
+ */
+public class ResourceBusyException extends IOException {
+
+    public ResourceBusyException(String message) {
+        super(message);
+    }
+}
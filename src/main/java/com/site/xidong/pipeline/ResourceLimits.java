@@ -0,0 +1,76 @@
+package com.site.xidong.pipeline;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whisper/ffmpeg 동시 사용 한도 (Claude 호출은 LlmDispatcher가 제한)
+ * 가상 스레드 모드에서는 스레드 수가 더 이상 동시성을 막아주지 않으므로 실제 자원 단위로 제한
+ * 기다린 시간은 실행 중인 영상 작업의 대기 시간에 합산되어 적응형 한도의 혼잡 신호가 됨
+ */
+@Slf4j
+@Component
+public class ResourceLimits {
+
+    private final Map<BoundedResource, Semaphore> semaphores = new EnumMap<>(BoundedResource.class);
+    private final Map<BoundedResource, Long> acquireTimeoutMillis = new EnumMap<>(BoundedResource.class);
+    private final Map<BoundedResource, Timer> waitTimers = new EnumMap<>(BoundedResource.class);
+
+    public ResourceLimits(Environment environment, MeterRegistry meterRegistry) {
+        for (BoundedResource resource : BoundedResource.values()) {
+            String prefix = "video.resource." + resource.getKey();
+            int permits = environment.getProperty(prefix + ".permits", Integer.class, resource.getDefaultPermits());
+            long timeout = environment.getProperty(prefix + ".acquire-timeout-ms", Long.class, 600000L);
+            Semaphore semaphore = new Semaphore(permits, true);
+            semaphores.put(resource, semaphore);
+            acquireTimeoutMillis.put(resource, timeout);
+
+            Gauge.builder("video.resource.in-use", semaphore, s -> permits - s.availablePermits())
+                    .tag("resource", resource.getKey())
+                    .register(meterRegistry);
+            Gauge.builder("video.resource.waiting", semaphore, Semaphore::getQueueLength)
+                    .tag("resource", resource.getKey())
+                    .register(meterRegistry);
+            waitTimers.put(resource, Timer.builder("video.resource.wait")
+                    .tag("resource", resource.getKey())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            log.info("자원 한도 초기화: {} (동시 {}개, 대기 최대 {}ms)", resource, permits, timeout);
+        }
+    }
+
+    /**
+     * try-with-resources로 사용
+     */
+    public Permit acquire(BoundedResource resource) throws InterruptedException, ResourceBusyException {
+        Semaphore semaphore = semaphores.get(resource);
+        long timeout = acquireTimeoutMillis.get(resource);
+        long start = System.nanoTime();
+        boolean acquired = semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+        long waited = System.nanoTime() - start;
+        waitTimers.get(resource).record(waited, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            throw new ResourceBusyException(resource + " 자원 대기 시간 초과 (" + timeout + "ms)");
+        }
+        StageExecutor.recordWaitForCurrentJob(TimeUnit.NANOSECONDS.toMillis(waited));
+        return semaphore::release;
+    }
+
+    public int getAvailable(BoundedResource resource) {
+        return semaphores.get(resource).availablePermits();
+    }
+
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,224 @@
+package com.site.xidong.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 파이프라인 단계 하나를 담당하는 제한된 실행기
+ * 큐가 가득 차면 앞 단계 워커가 자리가 날 때까지 대기 (backpressure)
+ * 파이프라인 밖의 스레드(요청 스레드, 큐 디스패처)는 대기하지 않고 즉시 거부되어 DB 큐로 넘김
+ * 가상 스레드 모드에서는 작업마다 가상 스레드를 만들고, 단계 동시성은 세마포어로만 제한
+ */
+@Slf4j
+public class StageExecutor {
+
+    // 단계 간 전달은 파이프라인 워커 스레드에서만 일어나므로 이 스레드들만 대기를 허용
+    private static final ThreadLocal<Boolean> PIPELINE_WORKER = ThreadLocal.withInitial(() -> false);
+    // 자원 한도 대기 시간을 실행 중인 작업의 대기 시간에 합산하기 위함
+    private static final ThreadLocal<VideoJobContext> CURRENT_JOB = new ThreadLocal<>();
+
+    @Getter
+    private final PipelineStage stage;
+    @Getter
+    private final boolean virtualThreads;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService virtualExecutor;
+    private final Semaphore virtualPermits;
+    private final AtomicInteger virtualWaiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter overflowCounter;
+
+    public StageExecutor(PipelineStage stage, int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+        this(stage, concurrency, queueCapacity, false, meterRegistry);
+    }
+
+    public StageExecutor(PipelineStage stage, int concurrency, int queueCapacity, boolean virtualThreads,
+                         MeterRegistry meterRegistry) {
+        this.stage = stage;
+        this.virtualThreads = virtualThreads;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.overflowCounter = Counter.builder("video.overflow")
+                .tag("source", "stage-" + stage.getKey())
+                .tag("action", "rejected")
+                .register(meterRegistry);
+
+        if (virtualThreads) {
+            this.executor = null;
+            this.virtualPermits = new Semaphore(concurrency);
+            this.virtualExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("Pipeline-" + stage.getKey() + "-vt-", 0).factory());
+        } else {
+            this.virtualPermits = null;
+            this.virtualExecutor = null;
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("Pipeline-" + stage.getKey() + "-");
+            this.executor = new ThreadPoolExecutor(
+                    concurrency, concurrency,
+                    60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> threadFactory.newThread(() -> {
+                        PIPELINE_WORKER.set(true);
+                        runnable.run();
+                    }),
+                    (runnable, pool) -> {
+                        if (pool.isShutdown()) {
+                            throw new RejectedExecutionException(stage + " 단계 실행기가 종료됨");
+                        }
+                        if (!PIPELINE_WORKER.get()) {
+                            overflowCounter.increment();
+                            throw new RejectedExecutionException(stage + " 단계 대기열 가득 참 (큐 " + pool.getQueue().size() + ")");
+                        }
+                        try {
+                            pool.getQueue().put(runnable);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException(stage + " 단계 대기 중 인터럽트", e);
+                        }
+                    });
+        }
+
+        Gauge.builder("video.pipeline.stage.queue.depth", this, StageExecutor::getQueueDepth)
+                .tag("stage", stage.getKey())
+                .register(meterRegistry);
+        Gauge.builder("video.pipeline.stage.active", this, StageExecutor::getActiveCount)
+                .tag("stage", stage.getKey())
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("video.pipeline.stage.wait")
+                .tag("stage", stage.getKey())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.successTimer = latencyTimer(meterRegistry, "success");
+        this.failureTimer = latencyTimer(meterRegistry, "failure");
+    }
+
+    private Timer latencyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("video.pipeline.stage.latency")
+                .tag("stage", stage.getKey())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<VideoJobContext> submit(VideoJobContext context, StageTask task) {
+        CompletableFuture<VideoJobContext> future = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        try {
+            dispatch(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                context.recordWait(stage, TimeUnit.NANOSECONDS.toMillis(startedAt - enqueuedAt));
+                CURRENT_JOB.set(context);
+                try {
+                    task.run(context);
+                    long elapsed = System.nanoTime() - startedAt;
+                    successTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                    context.recordStage(stage, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                    CURRENT_JOB.remove();
+                    future.complete(context);
+                } catch (Throwable t) {
+                    failureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    CURRENT_JOB.remove();
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("{} 단계 작업 거부: videoKey={}", stage, context.getVideoKey(), e);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    // 작업 컨텍스트 없이 값을 돌려주는 하위 작업용 (예: 긴 영상의 청크 STT)
+    public <T> CompletableFuture<T> call(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        try {
+            dispatch(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    T result = task.call();
+                    successTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    future.complete(result);
+                } catch (Throwable t) {
+                    failureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("{} 단계 작업 거부", stage, e);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void dispatch(Runnable runnable) {
+        if (!virtualThreads) {
+            executor.execute(runnable);
+            return;
+        }
+        // 가상 스레드는 대기 비용이 작으므로 단계 간 전달은 제한하지 않고, 외부 제출만 대기 수로 거부
+        if (!PIPELINE_WORKER.get() && virtualWaiting.get() >= queueCapacity) {
+            overflowCounter.increment();
+            throw new RejectedExecutionException(stage + " 단계 대기열 가득 참 (대기 " + virtualWaiting.get() + ")");
+        }
+        virtualWaiting.incrementAndGet();
+        virtualExecutor.execute(() -> {
+            PIPELINE_WORKER.set(true);
+            virtualPermits.acquireUninterruptibly();
+            virtualWaiting.decrementAndGet();
+            try {
+                runnable.run();
+            } finally {
+                virtualPermits.release();
+            }
+        });
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 작업의 대기 시간에 더함 (자원 한도 대기 등)
+     * 적응형 한도가 단계 큐 대기뿐 아니라 외부 자원 대기도 혼잡 신호로 보게 함
+     */
+    static void recordWaitForCurrentJob(long waitMillis) {
+        VideoJobContext context = CURRENT_JOB.get();
+        if (context != null && waitMillis > 0) {
+            context.recordResourceWait(waitMillis);
+        }
+    }
+
+    public int getQueueDepth() {
+        return virtualThreads ? virtualWaiting.get() : executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return virtualThreads ? concurrency - virtualPermits.availablePermits() : executor.getActiveCount();
+    }
+
+    public void shutdown() {
+        if (virtualThreads) {
+            virtualExecutor.shutdown();
+        } else {
+            executor.shutdown();
+        }
+    }
+}
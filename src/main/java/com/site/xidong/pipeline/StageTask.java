@@ -0,0 +1,6 @@
+package com.site.xidong.pipeline;
+
+@FunctionalInterface
+public interface StageTask {
+    void run(VideoJobContext context) throws Exception;
+}
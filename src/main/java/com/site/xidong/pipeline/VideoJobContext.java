@@ -0,0 +1,71 @@
+package com.site.xidong.pipeline;
+
+import com.site.xidong.video.ProcessingState;
+import com.site.xidong.video.UploadMetadata;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 파이프라인 단계 사이에서 전달되는 영상 작업 상태
+ */
+@Getter
+@Setter
+@Builder
+public class VideoJobContext {
+
+    private final String username;
+    private final Long questionId;
+    private final int requestNo;
+    private final String videoKey;
+    private final Boolean isOpen;
+    private final long startTime;
+    @Builder.Default
+    private final UploadMetadata uploadMetadata = UploadMetadata.EMPTY;
+    // DB 큐에서 꺼낸 작업 (직접 처리 요청은 false)
+    private final boolean queued;
+
+    private Long videoId;
+    // 마지막으로 반영된 처리 상태 (VideoStateMachine만 변경)
+    private volatile ProcessingState state;
+    private double durationSeconds;
+    private boolean longVideo;
+    private String thumbnailUrl;
+    private String answer;
+    private boolean answerValid;
+    // 피드백을 Message Batches로 생성 (결과를 기다리는 동안 파이프라인 자리를 차지하지 않음)
+    private boolean batchFeedback;
+
+    @Builder.Default
+    private final Map<PipelineStage, Long> stageWaitMillis = Collections.synchronizedMap(new EnumMap<>(PipelineStage.class));
+
+    // Whisper/ffmpeg 자원 한도에서 기다린 시간 합
+    @Builder.Default
+    private final AtomicLong resourceWaitMillis = new AtomicLong();
+
+    @Builder.Default
+    private final Map<PipelineStage, Long> stageMillis = Collections.synchronizedMap(new EnumMap<>(PipelineStage.class));
+
+    public void recordStage(PipelineStage stage, long millis) {
+        stageMillis.put(stage, millis);
+    }
+
+    public void recordWait(PipelineStage stage, long millis) {
+        stageWaitMillis.put(stage, millis);
+    }
+
+    public void recordResourceWait(long millis) {
+        resourceWaitMillis.addAndGet(millis);
+    }
+
+    public long getTotalWaitMillis() {
+        synchronized (stageWaitMillis) {
+            return stageWaitMillis.values().stream().mapToLong(Long::longValue).sum() + resourceWaitMillis.get();
+        }
+    }
+}
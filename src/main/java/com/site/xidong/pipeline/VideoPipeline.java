@@ -0,0 +1,134 @@
+package com.site.xidong.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 단계별 실행기 묶음
+ * 각 단계는 자기 큐와 워커를 가지며, 단계 완료 시 작업 컨텍스트를 다음 단계 큐로 넘김
+ * 동시에 투입할 영상 수는 AimdLimit이 단계 대기 시간과 실패율을 보고 조절
+ */
+@Slf4j
+@Component
+public class VideoPipeline {
+
+    private static final int LIMIT_HISTORY_SIZE = 100;
+
+    private final Map<PipelineStage, StageExecutor> executors = new EnumMap<>(PipelineStage.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AimdLimit limit;
+    private final AtomicInteger currentLimit = new AtomicInteger();
+    private final Deque<LimitChange> limitHistory = new ConcurrentLinkedDeque<>();
+    private final Counter limitIncreases;
+    private final Counter limitDecreases;
+
+    public VideoPipeline(Environment environment, MeterRegistry meterRegistry) {
+        // 가상 스레드 모드: 단계 동시성은 넉넉히 두고 실제 제한은 ResourceLimits(Whisper/ffmpeg)와 LlmDispatcher가 담당
+        boolean virtualThreads = environment.getProperty("video.pipeline.virtual-threads.enabled", Boolean.class, false);
+        int virtualConcurrency = environment.getProperty("video.pipeline.virtual-threads.stage-concurrency", Integer.class, 256);
+        for (PipelineStage stage : PipelineStage.values()) {
+            String prefix = "video.pipeline." + stage.getKey();
+            int concurrency = virtualThreads
+                    ? environment.getProperty(prefix + ".virtual-concurrency", Integer.class, virtualConcurrency)
+                    : environment.getProperty(prefix + ".concurrency", Integer.class, stage.getDefaultConcurrency());
+            int queueCapacity = environment.getProperty(prefix + ".queue-capacity", Integer.class, stage.getDefaultQueueCapacity());
+            executors.put(stage, new StageExecutor(stage, concurrency, queueCapacity, virtualThreads, meterRegistry));
+            log.info("파이프라인 단계 초기화: {} (동시성 {}, 큐 {}, 가상 스레드 {})", stage, concurrency, queueCapacity, virtualThreads);
+        }
+        Gauge.builder("video.pipeline.inflight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+
+        int initialLimit = environment.getProperty("video.pipeline.limit.initial", Integer.class, 20);
+        this.limit = new AimdLimit(initialLimit,
+                environment.getProperty("video.pipeline.limit.min", Integer.class, 4),
+                environment.getProperty("video.pipeline.limit.max", Integer.class, 60),
+                environment.getProperty("video.pipeline.limit.backoff-ratio", Double.class, 0.9),
+                environment.getProperty("video.pipeline.limit.target-wait-ms", Long.class, 5000L));
+        currentLimit.set(limit.getLimit());
+        Gauge.builder("video.pipeline.limit", currentLimit, AtomicInteger::get)
+                .description("동시에 투입할 수 있는 영상 수 (AIMD)")
+                .register(meterRegistry);
+        this.limitIncreases = Counter.builder("video.pipeline.limit.change").tag("direction", "increase").register(meterRegistry);
+        this.limitDecreases = Counter.builder("video.pipeline.limit.change").tag("direction", "decrease").register(meterRegistry);
+        log.info("파이프라인 동시 처리 한도 초기값: {}", currentLimit.get());
+    }
+
+    public CompletableFuture<VideoJobContext> run(PipelineStage stage, VideoJobContext context, StageTask task) {
+        return executors.get(stage).submit(context, task);
+    }
+
+    public <T> CompletableFuture<T> call(PipelineStage stage, Callable<T> task) {
+        return executors.get(stage).call(task);
+    }
+
+    // 반환한 시작 시각을 jobFinished에 그대로 넘김
+    public long jobStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * waitMillis: 작업이 단계 큐에서 기다린 시간 합 (혼잡 신호)
+     */
+    public void jobFinished(long startedAt, long waitMillis, boolean failed) {
+        int running = inFlight.getAndDecrement();
+        int previous = currentLimit.get();
+        int updated = limit.onSample(startedAt, System.nanoTime(), waitMillis, running, failed);
+        if (updated != previous) {
+            currentLimit.set(updated);
+            (updated > previous ? limitIncreases : limitDecreases).increment();
+            limitHistory.addLast(new LimitChange(System.currentTimeMillis(), updated));
+            while (limitHistory.size() > LIMIT_HISTORY_SIZE) {
+                limitHistory.pollFirst();
+            }
+            log.info("파이프라인 동시 처리 한도 변경: {} → {} (대기 {}ms, 실패 {})", previous, updated, waitMillis, failed);
+        }
+    }
+
+    public int getLimit() {
+        return currentLimit.get();
+    }
+
+    public List<LimitChange> getLimitHistory() {
+        return List.copyOf(limitHistory);
+    }
+
+    // 빠른 경로(즉시 처리) 사용 여부 판단
+    public boolean hasCapacity() {
+        return getAvailableSlots() > 0;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getAvailableSlots() {
+        return Math.max(0, currentLimit.get() - inFlight.get());
+    }
+
+    public StageExecutor getExecutor(PipelineStage stage) {
+        return executors.get(stage);
+    }
+
+    public record LimitChange(long timestamp, int limit) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(StageExecutor::shutdown);
+    }
+}
@@ -0,0 +1,60 @@
+package com.site.xidong.queue;
+
+import com.site.xidong.feedback.LlmRateLimitException;
+import com.site.xidong.stt.SttTimeoutException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * DB 큐 작업 실패 유형
+ * 유형마다 최대 시도 횟수와 재시도 기본 간격이 다름 (video.queue.retry.<key>.* 로 덮어쓸 수 있음)
+ */
+public enum FailureClass {
+
+    STT_TIMEOUT("stt-timeout", 3, 30_000),
+    S3_NOT_FOUND("s3-not-found", 2, 10_000),
+    LLM_RATE_LIMITED("llm-rate-limited", 6, 20_000),
+    LEASE_EXPIRED("lease-expired", 3, 5_000),
+    UNKNOWN("unknown", 3, 10_000);
+
+    private final String key;
+    private final int defaultMaxAttempts;
+    private final long defaultBaseDelayMs;
+
+    FailureClass(String key, int defaultMaxAttempts, long defaultBaseDelayMs) {
+        this.key = key;
+        this.defaultMaxAttempts = defaultMaxAttempts;
+        this.defaultBaseDelayMs = defaultBaseDelayMs;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultMaxAttempts() {
+        return defaultMaxAttempts;
+    }
+
+    public long getDefaultBaseDelayMs() {
+        return defaultBaseDelayMs;
+    }
+
+    // CompletionException 등으로 감싸진 원인까지 따라가며 판단
+    public static FailureClass classify(Throwable throwable) {
+        Throwable current = throwable;
+        for (int depth = 0; current != null && depth < 10; depth++) {
+            if (current instanceof SttTimeoutException || current instanceof TimeoutException) {
+                return STT_TIMEOUT;
+            }
+            if (current instanceof LlmRateLimitException) {
+                return LLM_RATE_LIMITED;
+            }
+            if (current instanceof S3Exception s3Exception && s3Exception.statusCode() == 404) {
+                return S3_NOT_FOUND;
+            }
+            current = current.getCause();
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,57 @@
+package com.site.xidong.queue;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 선점 후보 중 실제로 가져갈 작업 선택
+ * 차선(SHORT → LONG) 순으로, 각 차선 안에서는 사용자별 라운드 로빈으로 한 건씩 고르며
+ * 사용자별 처리 중 작업 수 상한과 LONG 차선 남은 자리를 넘지 않음
+ */
+public final class FairShareSelector {
+
+    private FairShareSelector() {
+    }
+
+    /**
+     * candidates: 차선별 후보 (각각 priority, next_attempt_at 순으로 정렬된 상태)
+     * userInFlight: 사용자별 현재 처리 중인 작업 수 (전체 인스턴스 기준)
+     */
+    public static <T> List<T> select(List<T> shortCandidates, List<T> longCandidates, Function<T, String> userOf,
+                                     int slots, int longSlots, Map<String, Integer> userInFlight, int maxPerUser) {
+        Map<String, Integer> inFlight = new HashMap<>(userInFlight);
+        List<T> selected = new ArrayList<>();
+        roundRobin(shortCandidates, userOf, slots, inFlight, maxPerUser, selected);
+        int remaining = Math.min(slots - selected.size(), longSlots);
+        if (remaining > 0) {
+            int before = selected.size();
+            roundRobin(longCandidates, userOf, before + remaining, inFlight, maxPerUser, selected);
+        }
+        return selected;
+    }
+
+    private static <T> void roundRobin(List<T> candidates, Function<T, String> userOf, int limit,
+                                       Map<String, Integer> inFlight, int maxPerUser, List<T> selected) {
+        // 사용자별 대기열 (첫 후보가 앞선 사용자부터 차례를 가짐)
+        Map<String, Deque<T>> byUser = new LinkedHashMap<>();
+        for (T candidate : candidates) {
+            byUser.computeIfAbsent(userOf.apply(candidate), k -> new ArrayDeque<>()).add(candidate);
+        }
+
+        boolean progressed = true;
+        while (selected.size() < limit && progressed) {
+            progressed = false;
+            for (Iterator<Map.Entry<String, Deque<T>>> it = byUser.entrySet().iterator(); it.hasNext() && selected.size() < limit; ) {
+                Map.Entry<String, Deque<T>> entry = it.next();
+                int running = inFlight.getOrDefault(entry.getKey(), 0);
+                if (running >= maxPerUser || entry.getValue().isEmpty()) {
+                    it.remove();
+                    continue;
+                }
+                selected.add(entry.getValue().poll());
+                inFlight.put(entry.getKey(), running + 1);
+                progressed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.site.xidong.queue;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대기 중인 DB 큐 작업 수 (근사값)
+ * 주기적으로 COUNT 한 번으로 보정하고, 그 사이에는 이 인스턴스의 enqueue/선점만 반영
+ * 다른 인스턴스에서 일어난 변화는 다음 보정 때 반영됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingCountCache {
+
+    private final VideoProcessingQueueRepository queueRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    @PostConstruct
+    void registerGauge() {
+        Gauge.builder("video.queue.pending", pending, AtomicLong::get)
+                .description("대기 중인 DB 큐 작업 수 (근사값)")
+                .register(meterRegistry);
+    }
+
+    public long get() {
+        return pending.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onQueued(VideoQueuedEvent event) {
+        pending.incrementAndGet();
+    }
+
+    public void claimed(int count) {
+        pending.updateAndGet(current -> Math.max(0, current - count));
+    }
+
+    @Scheduled(fixedDelayString = "${video.queue.pending-count-refresh-ms:10000}")
+    public void refresh() {
+        try {
+            pending.set(queueRepository.countByStatus(VideoProcessingQueue.QueueStatus.PENDING));
+        } catch (Exception e) {
+            log.warn("대기 작업 수 갱신 실패: {}", e.getMessage());
+        }
+    }
+}
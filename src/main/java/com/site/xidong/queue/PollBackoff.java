@@ -0,0 +1,42 @@
+package com.site.xidong.queue;
+
+/**
+ * DB 큐 안전망 폴링 간격 계산
+ * 가져갈 작업이 계속 있으면 바로 다시 조회하고, 비어 있으면 최대값까지 두 배씩 늘림
+ */
+public class PollBackoff {
+
+    private final long minDelayMs;
+    private final long maxDelayMs;
+
+    private long currentDelayMs;
+
+    public PollBackoff(long minDelayMs, long maxDelayMs) {
+        this.minDelayMs = minDelayMs;
+        this.maxDelayMs = Math.max(minDelayMs, maxDelayMs);
+        this.currentDelayMs = minDelayMs;
+    }
+
+    /**
+     * claimed: 이번 조회에서 선점한 작업 수, requested: 요청한 최대 개수
+     * 반환값은 다음 조회까지 기다릴 시간 (깨우기 신호가 오면 더 일찍 조회)
+     */
+    public long next(int claimed, int requested) {
+        if (claimed > 0 && claimed >= requested) {
+            // 밀린 작업이 남아 있을 가능성이 높음
+            currentDelayMs = minDelayMs;
+            return 0;
+        }
+        if (claimed > 0) {
+            currentDelayMs = minDelayMs;
+        } else {
+            currentDelayMs = Math.min(currentDelayMs * 2, maxDelayMs);
+        }
+        return currentDelayMs;
+    }
+
+    // 파이프라인이 포화 상태일 때는 완료 신호를 기다리되, 놓친 신호 대비 최대 간격으로 재확인
+    public long saturated() {
+        return maxDelayMs;
+    }
+}
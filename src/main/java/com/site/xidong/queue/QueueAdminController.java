@@ -0,0 +1,65 @@
+package com.site.xidong.queue;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DB 큐 관리자 API (DEAD_LETTER 조회 및 재투입, 대기 작업 우선순위 조정)
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/queue")
+@PreAuthorize("hasAuthority('ADMIN')")
+@Slf4j
+public class QueueAdminController {
+    private final VideoQueueClaimer queueClaimer;
+    private final VideoQueueScheduler queueScheduler;
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<Map<String, Object>>> getDeadLetters(@RequestParam(defaultValue = "50") int size) {
+        List<Map<String, Object>> deadLetters = queueClaimer.findDeadLetters(Math.min(Math.max(size, 1), 500)).stream()
+                .map(this::toSummary)
+                .toList();
+        return ResponseEntity.ok(deadLetters);
+    }
+
+    @PostMapping("/{queueId}/requeue")
+    public ResponseEntity<Map<String, String>> requeue(@PathVariable Long queueId) {
+        if (!queueClaimer.requeue(queueId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "재투입할 수 없는 작업입니다: " + queueId));
+        }
+        queueScheduler.wakeUp();
+        return ResponseEntity.ok(Map.of("status", "requeued", "queueId", queueId.toString()));
+    }
+
+    @PostMapping("/{queueId}/priority")
+    public ResponseEntity<Map<String, String>> changePriority(@PathVariable Long queueId, @RequestParam int value) {
+        if (!queueClaimer.changePriority(queueId, value)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "대기 중인 작업이 아닙니다: " + queueId));
+        }
+        queueScheduler.wakeUp();
+        return ResponseEntity.ok(Map.of("status", "updated", "queueId", queueId.toString(), "priority", String.valueOf(value)));
+    }
+
+    private Map<String, Object> toSummary(VideoProcessingQueue task) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("queueId", task.getId());
+        summary.put("videoKey", task.getVideoKey());
+        summary.put("username", task.getUsername());
+        summary.put("failureClass", task.getFailureClass());
+        summary.put("retryCount", task.getRetryCount());
+        summary.put("lastError", task.getLastError());
+        summary.put("createdAt", task.getCreatedAt());
+        return summary;
+    }
+}
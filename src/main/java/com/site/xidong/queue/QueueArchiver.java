@@ -0,0 +1,81 @@
+package com.site.xidong.queue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 끝난 DB 큐 작업을 이력 테이블로 옮기는 보관 작업
+ * (status, finished_at) 인덱스로 오래된 행부터 batch-size개씩 복사 후 삭제하며, 묶음마다 별도 트랜잭션으로 처리해 잠금을 짧게 유지
+ * DEAD_LETTER는 관리자가 재투입할 수 있도록 더 오래 남겨둠
+ */
+@Slf4j
+@Component
+public class QueueArchiver {
+
+    private final VideoProcessingQueueRepository queueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+
+    @Value("${video.queue.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${video.queue.archive.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${video.queue.archive.completed-retention-hours:24}")
+    private long completedRetentionHours;
+
+    @Value("${video.queue.archive.dead-letter-retention-hours:168}")
+    private long deadLetterRetentionHours;
+
+    public QueueArchiver(VideoProcessingQueueRepository queueRepository, PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.queueRepository = queueRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter = Counter.builder("video.queue.archived").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${video.queue.archive.interval-ms:60000}")
+    public void archive() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int completed = archive(VideoProcessingQueue.QueueStatus.COMPLETED, now.minusHours(completedRetentionHours));
+            int deadLetters = archive(VideoProcessingQueue.QueueStatus.DEAD_LETTER, now.minusHours(deadLetterRetentionHours));
+            if (completed + deadLetters > 0) {
+                log.info("DB 큐 보관 완료: COMPLETED {}개, DEAD_LETTER {}개", completed, deadLetters);
+            }
+        } catch (Exception e) {
+            log.error("DB 큐 보관 작업 실패", e);
+        }
+    }
+
+    private int archive(VideoProcessingQueue.QueueStatus status, LocalDateTime before) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(tx -> {
+                List<Long> ids = queueRepository.findFinishedIds(status.name(), before, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                queueRepository.copyToHistory(ids, LocalDateTime.now());
+                return queueRepository.deleteByIds(ids);
+            });
+            int count = moved != null ? moved : 0;
+            total += count;
+            archivedCounter.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
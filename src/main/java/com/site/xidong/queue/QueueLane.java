@@ -0,0 +1,17 @@
+package com.site.xidong.queue;
+
+/**
+ * DB 큐 처리 차선
+ * 짧은 영상은 SHORT 차선으로 먼저 가져가고, 여러 청크로 오래 도는 긴 영상은 LONG 차선에서 동시 처리 수를 제한
+ */
+public enum QueueLane {
+    SHORT, LONG;
+
+    // VideoService의 긴 영상 기준(5분)과 같음
+    public static final double LONG_VIDEO_SECONDS = 300;
+
+    // 길이를 모르면 대부분인 짧은 답변 영상으로 간주
+    public static QueueLane of(Double declaredDuration) {
+        return declaredDuration != null && declaredDuration > LONG_VIDEO_SECONDS ? LONG : SHORT;
+    }
+}
@@ -0,0 +1,94 @@
+package com.site.xidong.queue;
+
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 큐 엔티티에 선언한 인덱스가 실제 DB에 있는지 기동 시 확인
+ * 운영은 ddl-auto=validate라 인덱스 누락을 잡지 못하므로, 빠진 인덱스는 적용할 DDL과 함께 로그로 남김
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueSchemaVerifier {
+
+    private static final List<Class<?>> ENTITIES = List.of(VideoProcessingQueue.class, VideoProcessingQueueHistory.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${video.queue.schema-check.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+        for (Class<?> entity : ENTITIES) {
+            Table table = entity.getAnnotation(Table.class);
+            try {
+                List<String> problems = findProblems(table.name(), expectedIndexes(table), actualIndexes(table.name()));
+                if (problems.isEmpty()) {
+                    log.info("인덱스 확인 완료: {} ({}개)", table.name(), table.indexes().length);
+                } else {
+                    problems.forEach(problem -> log.error("인덱스 불일치: {} - {}", table.name(), problem));
+                }
+            } catch (Exception e) {
+                log.warn("인덱스 확인 실패: {} ({})", table.name(), e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, List<String>> actualIndexes(String tableName) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY INDEX_NAME, SEQ_IN_INDEX",
+                rs -> {
+                    indexes.computeIfAbsent(rs.getString("INDEX_NAME").toLowerCase(), k -> new ArrayList<>())
+                            .add(rs.getString("COLUMN_NAME").toLowerCase());
+                },
+                tableName);
+        return indexes;
+    }
+
+    static Map<String, List<String>> expectedIndexes(Table table) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        for (Index index : table.indexes()) {
+            List<String> columns = new ArrayList<>();
+            for (String column : index.columnList().split(",")) {
+                // "priority DESC"처럼 정렬 방향이 붙은 경우 컬럼명만 비교
+                columns.add(toSnakeCase(column.trim().split("\\s+")[0]));
+            }
+            indexes.put(index.name().toLowerCase(), columns);
+        }
+        return indexes;
+    }
+
+    // 이름이 없거나 컬럼 순서가 다르면 문제로 보고 적용할 DDL을 함께 반환
+    static List<String> findProblems(String tableName, Map<String, List<String>> expected, Map<String, List<String>> actual) {
+        List<String> problems = new ArrayList<>();
+        expected.forEach((name, columns) -> {
+            List<String> existing = actual.get(name);
+            if (existing == null) {
+                problems.add("누락, 적용 필요: CREATE INDEX " + name + " ON " + tableName + " (" + String.join(", ", columns) + ");");
+            } else if (!existing.equals(columns)) {
+                problems.add("컬럼 불일치: " + name + " 기대 " + columns + ", 실제 " + existing);
+            }
+        });
+        return problems;
+    }
+
+    // 기본 물리 명명 전략(CamelCaseToUnderscores)과 같은 규칙
+    static String toSnakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
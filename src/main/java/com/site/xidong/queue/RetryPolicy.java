@@ -0,0 +1,51 @@
+package com.site.xidong.queue;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 실패 유형별 재시도 정책
+ * 간격은 기본 간격 × 2^(시도-1)을 최대값으로 자르고 절반은 고정, 절반은 무작위(jitter)로 둠
+ */
+@Component
+public class RetryPolicy {
+
+    private final Map<FailureClass, Integer> maxAttempts = new EnumMap<>(FailureClass.class);
+    private final Map<FailureClass, Long> baseDelayMs = new EnumMap<>(FailureClass.class);
+    private final long maxDelayMs;
+
+    public RetryPolicy(Environment environment) {
+        this.maxDelayMs = environment.getProperty("video.queue.retry.max-delay-ms", Long.class, 600_000L);
+        for (FailureClass failureClass : FailureClass.values()) {
+            String prefix = "video.queue.retry." + failureClass.getKey();
+            maxAttempts.put(failureClass, environment.getProperty(prefix + ".max-attempts", Integer.class,
+                    failureClass.getDefaultMaxAttempts()));
+            baseDelayMs.put(failureClass, environment.getProperty(prefix + ".base-delay-ms", Long.class,
+                    failureClass.getDefaultBaseDelayMs()));
+        }
+    }
+
+    public int getMaxAttempts(FailureClass failureClass) {
+        return maxAttempts.get(failureClass);
+    }
+
+    // attempts: 이번 실패까지 포함한 누적 시도 횟수
+    public boolean shouldRetry(FailureClass failureClass, int attempts) {
+        return attempts < getMaxAttempts(failureClass);
+    }
+
+    public long nextDelayMs(FailureClass failureClass, int attempts) {
+        return backoffMillis(attempts, baseDelayMs.get(failureClass), maxDelayMs, ThreadLocalRandom.current().nextDouble());
+    }
+
+    public static long backoffMillis(int attempts, long baseDelayMs, long maxDelayMs, double random) {
+        int exponent = Math.max(0, Math.min(attempts - 1, 20));
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << exponent);
+        long half = ceiling / 2;
+        return half + (long) (random * (ceiling - half));
+    }
+}
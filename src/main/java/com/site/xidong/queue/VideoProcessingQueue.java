@@ -1,5 +1,6 @@
 package com.site.xidong.queue;
 
+import com.site.xidong.video.UploadMetadata;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
@@ -8,7 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "video_processing_queue")
+@Table(name = "video_processing_queue", indexes = {
+        @Index(name = "idx_queue_lane_pickup", columnList = "status, lane, priority DESC, nextAttemptAt"),
+        @Index(name = "idx_queue_status_user", columnList = "status, username"),
+        @Index(name = "idx_queue_status_lease", columnList = "status, leaseExpiresAt"),
+        @Index(name = "idx_queue_status_finished", columnList = "status, finishedAt")
+})
 @Getter
 @NoArgsConstructor
 public class VideoProcessingQueue {
@@ -51,9 +57,51 @@ public class VideoProcessingQueue {
     @Column
     private Integer retryCount = 0;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private QueueLane lane = QueueLane.SHORT;
+
+    // 같은 차선 안에서 값이 클수록 먼저 가져감
+    @Column(nullable = false)
+    private int priority;
+
+    // 이 시각 이후에만 선점 대상 (신규 작업은 생성 시각, 재시도는 백오프 후 시각)
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt = createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private FailureClass failureClass;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // COMPLETED/DEAD_LETTER가 된 시각 (보관 작업 기준)
+    @Column
+    private LocalDateTime finishedAt;
+
+    // 작업을 선점한 인스턴스와 임대 만료 시각 (만료되면 다른 인스턴스가 회수)
+    @Column(length = 64)
+    private String workerId;
+
+    @Column
+    private LocalDateTime leaseExpiresAt;
+
+    // 클라이언트가 업로드 시 신고한 영상 정보 (선택)
+    @Column
+    private Double declaredDuration;
+
+    @Column(length = 16)
+    private String resolution;
+
+    @Column(length = 32)
+    private String codec;
+
     @Builder
     public VideoProcessingQueue(Long questionId, int requestNo, String videoKey, Boolean isOpen,
-                                Long startTime, Boolean usePresignedUrl, String username) {
+                                Long startTime, Boolean usePresignedUrl, String username,
+                                Double declaredDuration, String resolution, String codec,
+                                QueueLane lane, Integer priority) {
         this.questionId = questionId;
         this.requestNo = requestNo;
         this.videoKey = videoKey;
@@ -61,23 +109,73 @@ public class VideoProcessingQueue {
         this.startTime = startTime;
         this.usePresignedUrl = usePresignedUrl;
         this.username = username;
+        this.declaredDuration = declaredDuration;
+        this.resolution = resolution;
+        this.codec = codec;
+        this.lane = lane != null ? lane : QueueLane.of(declaredDuration);
+        this.priority = priority != null ? priority : 0;
+    }
+
+    public UploadMetadata getUploadMetadata() {
+        return UploadMetadata.builder()
+                .duration(declaredDuration)
+                .resolution(resolution)
+                .codec(codec)
+                .build();
     }
 
-    public void markProcessing() {
+    public void markProcessing(String workerId, LocalDateTime leaseExpiresAt) {
         this.status = QueueStatus.PROCESSING;
         this.startedAt = LocalDateTime.now();
+        this.workerId = workerId;
+        this.leaseExpiresAt = leaseExpiresAt;
     }
 
     public void markCompleted() {
         this.status = QueueStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public boolean isOwnedBy(String workerId) {
+        return status == QueueStatus.PROCESSING && workerId.equals(this.workerId);
+    }
+
+    public void scheduleRetry(FailureClass failureClass, String error, LocalDateTime nextAttemptAt) {
+        recordFailure(failureClass, error);
+        this.status = QueueStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void markDeadLetter(FailureClass failureClass, String error) {
+        recordFailure(failureClass, error);
+        this.status = QueueStatus.DEAD_LETTER;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void changePriority(int priority) {
+        this.priority = priority;
+    }
+
+    // 관리자 재투입: 시도 횟수를 초기화하고 바로 선점 대상이 됨
+    public void requeue() {
+        this.status = QueueStatus.PENDING;
+        this.retryCount = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+        this.workerId = null;
+        this.leaseExpiresAt = null;
+        this.finishedAt = null;
     }
 
-    public void markFailed() {
-        this.status = QueueStatus.FAILED;
+    private void recordFailure(FailureClass failureClass, String error) {
         this.retryCount++;
+        this.failureClass = failureClass;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        this.workerId = null;
+        this.leaseExpiresAt = null;
     }
 
+    // FAILED는 재시도 정책 도입 전 기록된 행에만 남아 있음
     public enum QueueStatus {
-        PENDING, PROCESSING, COMPLETED, FAILED
+        PENDING, PROCESSING, COMPLETED, FAILED, DEAD_LETTER
     }
 }
\ No newline at end of file
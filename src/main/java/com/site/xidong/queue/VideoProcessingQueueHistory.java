@@ -0,0 +1,88 @@
+package com.site.xidong.queue;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 끝난 DB 큐 작업 보관 테이블 (QueueArchiver가 native INSERT ... SELECT로 채움)
+ * 큐 테이블에는 처리 대상 행만 남겨 선점/집계 쿼리가 일정한 비용을 유지하도록 함
+ */
+@Entity
+@Table(name = "video_processing_queue_history", indexes = {
+        @Index(name = "idx_queue_history_username", columnList = "username, createdAt"),
+        @Index(name = "idx_queue_history_archived", columnList = "archivedAt")
+})
+@Getter
+@NoArgsConstructor
+public class VideoProcessingQueueHistory {
+
+    // 원래 큐 행의 ID를 그대로 사용
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long questionId;
+
+    @Column(nullable = false)
+    private int requestNo;
+
+    @Column(nullable = false)
+    private String videoKey;
+
+    @Column(nullable = false)
+    private Boolean isOpen;
+
+    @Column(nullable = false)
+    private Long startTime;
+
+    @Column(nullable = false)
+    private Boolean usePresignedUrl;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VideoProcessingQueue.QueueStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private QueueLane lane;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime startedAt;
+
+    @Column
+    private LocalDateTime finishedAt;
+
+    @Column
+    private Integer retryCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private FailureClass failureClass;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column
+    private Double declaredDuration;
+
+    @Column(length = 16)
+    private String resolution;
+
+    @Column(length = 32)
+    private String codec;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
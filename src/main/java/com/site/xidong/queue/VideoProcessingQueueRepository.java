@@ -2,17 +2,67 @@ package com.site.xidong.queue;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface VideoProcessingQueueRepository extends JpaRepository<VideoProcessingQueue, Long> {
-    @Query("SELECT q FROM VideoProcessingQueue q WHERE q.status = 'PENDING' ORDER BY q.createdAt ASC")
-    List<VideoProcessingQueue> findPendingTasks(Pageable pageable);
+    // 다른 인스턴스가 잠근 행은 건너뛰므로 여러 노드가 동시에 조회해도 같은 작업을 가져가지 않음 (MySQL 8+)
+    // 차선별로 priority, next_attempt_at 순으로 가져오므로 백오프 중인 재시도가 신규 작업 앞을 막지 않음
+    // 사용자별로 앞선 maxPerUser건만 후보로 올리고 이미 상한만큼 처리 중인 사용자는 빼서,
+    // 한 사용자의 대량 요청이 후보 범위를 모두 차지해 다른 사용자 작업이 밀리지 않게 함
+    @Query(value = "SELECT * FROM video_processing_queue WHERE id IN (" +
+            "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY username " +
+            "ORDER BY priority DESC, next_attempt_at ASC) AS rn FROM video_processing_queue " +
+            "WHERE status = 'PENDING' AND lane = :lane AND next_attempt_at <= :now " +
+            "AND username NOT IN (SELECT username FROM video_processing_queue WHERE status = 'PROCESSING' " +
+            "GROUP BY username HAVING COUNT(*) >= :maxPerUser)) ranked WHERE rn <= :maxPerUser) " +
+            "ORDER BY priority DESC, next_attempt_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<VideoProcessingQueue> lockPendingTasks(String lane, LocalDateTime now, int limit, int maxPerUser);
 
-    @Query("SELECT COUNT(q) FROM VideoProcessingQueue q WHERE q.status = 'PENDING'")
-    long countPendingTasks();
+    @Query("SELECT q.username, COUNT(q) FROM VideoProcessingQueue q " +
+            "WHERE q.status = 'PROCESSING' AND q.username IN :usernames GROUP BY q.username")
+    List<Object[]> countProcessingByUsername(Collection<String> usernames);
 
     long countByStatus(VideoProcessingQueue.QueueStatus status);
+
+    List<VideoProcessingQueue> findByStatusOrderByIdDesc(VideoProcessingQueue.QueueStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE VideoProcessingQueue q SET q.leaseExpiresAt = :leaseExpiresAt " +
+            "WHERE q.id IN :ids AND q.workerId = :workerId AND q.status = 'PROCESSING'")
+    int renewLeases(Collection<Long> ids, String workerId, LocalDateTime leaseExpiresAt);
+
+    // 임대가 만료된 작업 (행마다 재시도 시각을 따로 정하므로 잠가서 가져옴, 다른 인스턴스의 회수와 겹치면 건너뜀)
+    @Query(value = "SELECT * FROM video_processing_queue WHERE status = 'PROCESSING' " +
+            "AND (lease_expires_at < :now OR lease_expires_at IS NULL) ORDER BY id ASC " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<VideoProcessingQueue> lockExpiredLeases(LocalDateTime now, int limit);
+
+    // 완료 행은 바로 지우지 않고 보관 작업이 모아서 이력 테이블로 옮김
+    @Modifying
+    @Query("UPDATE VideoProcessingQueue q SET q.status = 'COMPLETED', q.workerId = NULL, q.leaseExpiresAt = NULL, " +
+            "q.finishedAt = :now WHERE q.id = :id AND q.workerId = :workerId AND q.status = 'PROCESSING'")
+    int completeOwned(Long id, String workerId, LocalDateTime now);
+
+    @Query(value = "SELECT id FROM video_processing_queue WHERE status = :status AND finished_at < :before " +
+            "ORDER BY finished_at ASC LIMIT :limit", nativeQuery = true)
+    List<Long> findFinishedIds(String status, LocalDateTime before, int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO video_processing_queue_history (id, question_id, request_no, video_key, is_open, " +
+            "start_time, use_presigned_url, username, status, lane, priority, created_at, started_at, finished_at, " +
+            "retry_count, failure_class, last_error, declared_duration, resolution, codec, archived_at) " +
+            "SELECT id, question_id, request_no, video_key, is_open, start_time, use_presigned_url, username, status, " +
+            "lane, priority, created_at, started_at, finished_at, retry_count, failure_class, last_error, " +
+            "declared_duration, resolution, codec, :archivedAt FROM video_processing_queue WHERE id IN :ids", nativeQuery = true)
+    int copyToHistory(Collection<Long> ids, LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("DELETE FROM VideoProcessingQueue q WHERE q.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
 }
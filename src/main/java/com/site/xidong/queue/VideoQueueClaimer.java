@@ -0,0 +1,241 @@
+package com.site.xidong.queue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * DB 큐 작업 선점/임대 관리
+ * SKIP LOCKED로 잠금과 PROCESSING 전환을 한 트랜잭션에서 처리해 여러 인스턴스가 같은 작업을 가져가지 않게 함
+ * 완료/실패 처리는 임대를 가진 인스턴스일 때만 반영하며, 실패는 RetryPolicy에 따라 재시도 예약 또는 DEAD_LETTER로 보냄
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VideoQueueClaimer {
+
+    // 한 번에 회수할 최대 작업 수 (남은 작업은 다음 주기에 회수)
+    private static final int REAP_BATCH_SIZE = 500;
+
+    private final VideoProcessingQueueRepository queueRepository;
+    private final RetryPolicy retryPolicy;
+    private final PendingCountCache pendingCountCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${video.queue.worker-id:}")
+    private String configuredWorkerId;
+
+    @Value("${video.queue.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${video.queue.fair.max-in-flight-per-user:3}")
+    private int maxInFlightPerUser;
+
+    @Value("${video.queue.fair.candidate-multiplier:4}")
+    private int candidateMultiplier;
+
+    private String workerId;
+
+    @PostConstruct
+    void init() {
+        workerId = StringUtils.hasText(configuredWorkerId) ? configuredWorkerId : defaultWorkerId();
+        log.info("DB 큐 워커 ID: {}, 임대 {}초", workerId, leaseSeconds);
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * slots: 이번에 가져갈 최대 작업 수, longSlots: 그중 LONG 차선에 줄 수 있는 최대 수
+     * 후보를 여유 있게 잠근 뒤 FairShareSelector로 고르고, 고르지 않은 행은 커밋 시 잠금만 풀림
+     * 후보는 사용자별 상한만큼만 잠그므로 한 사용자의 밀린 작업이 다른 사용자 작업을 후보에서 밀어내지 않음
+     */
+    @Transactional
+    public List<VideoProcessingQueue> claim(int slots, int longSlots) {
+        LocalDateTime now = LocalDateTime.now();
+        int window = Math.max(slots * candidateMultiplier, slots);
+        List<VideoProcessingQueue> shortCandidates =
+                queueRepository.lockPendingTasks(QueueLane.SHORT.name(), now, window, maxInFlightPerUser);
+        List<VideoProcessingQueue> longCandidates = longSlots > 0
+                ? queueRepository.lockPendingTasks(QueueLane.LONG.name(), now,
+                        Math.max(longSlots * candidateMultiplier, longSlots), maxInFlightPerUser)
+                : List.of();
+        if (shortCandidates.isEmpty() && longCandidates.isEmpty()) {
+            return List.of();
+        }
+
+        List<VideoProcessingQueue> tasks = FairShareSelector.select(shortCandidates, longCandidates,
+                VideoProcessingQueue::getUsername, slots, longSlots,
+                countProcessingByUser(shortCandidates, longCandidates), maxInFlightPerUser);
+        LocalDateTime leaseExpiresAt = nextLeaseExpiry();
+        for (VideoProcessingQueue task : tasks) {
+            task.markProcessing(getWorkerId(), leaseExpiresAt);
+        }
+        pendingCountCache.claimed(tasks.size());
+        return tasks;
+    }
+
+    private Map<String, Integer> countProcessingByUser(List<VideoProcessingQueue> shortCandidates,
+                                                       List<VideoProcessingQueue> longCandidates) {
+        Set<String> usernames = new HashSet<>();
+        shortCandidates.forEach(task -> usernames.add(task.getUsername()));
+        longCandidates.forEach(task -> usernames.add(task.getUsername()));
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : queueRepository.countProcessingByUsername(usernames)) {
+            counts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+
+    @Transactional
+    public int renew(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        return queueRepository.renewLeases(taskIds, getWorkerId(), nextLeaseExpiry());
+    }
+
+    /**
+     * 임대가 만료된 작업을 회수해 작업 실패와 같은 규칙으로 재시도 예약 또는 DEAD_LETTER 처리
+     * 재시도 시각은 행마다 시도 횟수 기준 지수 백오프와 jitter로 정해 한꺼번에 회수된 작업이 같은 시각에 몰리지 않음
+     * 반환값은 대기열로 돌려보낸 작업 수
+     */
+    @Transactional
+    public int requeueExpired() {
+        FailureClass failureClass = FailureClass.LEASE_EXPIRED;
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = 0;
+        int deadLettered = 0;
+        for (VideoProcessingQueue task : queueRepository.lockExpiredLeases(now, REAP_BATCH_SIZE)) {
+            int attempts = task.getRetryCount() + 1;
+            String error = "임대 만료: workerId=" + task.getWorkerId();
+            if (retryPolicy.shouldRetry(failureClass, attempts)) {
+                long delayMs = retryPolicy.nextDelayMs(failureClass, attempts);
+                task.scheduleRetry(failureClass, error, now.plus(Duration.ofMillis(delayMs)));
+                requeued++;
+            } else {
+                // 임대 만료가 반복되는 작업(인스턴스를 죽이는 작업 등)은 더 돌리지 않음
+                task.markDeadLetter(failureClass, error);
+                deadLettered++;
+            }
+        }
+        if (deadLettered > 0) {
+            log.error("임대 만료가 반복된 작업 {}개를 DEAD_LETTER로 이동", deadLettered);
+            countFailure("dead_letter", failureClass, deadLettered);
+        }
+        countFailure("retry", failureClass, requeued);
+        return requeued;
+    }
+
+    // 임대를 잃은 뒤 다른 인스턴스가 다시 가져간 작업이면 false
+    @Transactional
+    public boolean complete(Long taskId) {
+        return queueRepository.completeOwned(taskId, getWorkerId(), LocalDateTime.now()) > 0;
+    }
+
+    @Transactional
+    public boolean fail(Long taskId, Throwable throwable) {
+        VideoProcessingQueue task = queueRepository.findById(taskId).orElse(null);
+        if (task == null || !task.isOwnedBy(getWorkerId())) {
+            return false;
+        }
+
+        FailureClass failureClass = FailureClass.classify(throwable);
+        int attempts = task.getRetryCount() + 1;
+        String error = rootMessage(throwable);
+        if (retryPolicy.shouldRetry(failureClass, attempts)) {
+            long delayMs = retryPolicy.nextDelayMs(failureClass, attempts);
+            task.scheduleRetry(failureClass, error, LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+            log.warn("작업 재시도 예약: queueId={}, 유형={}, 시도 {}/{}, {}ms 후",
+                    taskId, failureClass, attempts, retryPolicy.getMaxAttempts(failureClass), delayMs);
+            countFailure("retry", failureClass, 1);
+        } else {
+            task.markDeadLetter(failureClass, error);
+            log.error("작업 DEAD_LETTER 이동: queueId={}, 유형={}, 시도 {}회", taskId, failureClass, attempts);
+            countFailure("dead_letter", failureClass, 1);
+        }
+        return true;
+    }
+
+    // 관리자 재투입 (DEAD_LETTER 또는 이전 정책의 FAILED만 가능)
+    @Transactional
+    public boolean requeue(Long taskId) {
+        VideoProcessingQueue task = queueRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return false;
+        }
+        VideoProcessingQueue.QueueStatus status = task.getStatus();
+        if (status != VideoProcessingQueue.QueueStatus.DEAD_LETTER && status != VideoProcessingQueue.QueueStatus.FAILED) {
+            return false;
+        }
+        task.requeue();
+        log.info("작업 재투입: queueId={} ({} → PENDING)", taskId, status);
+        return true;
+    }
+
+    // 관리자 우선순위 조정 (아직 가져가지 않은 PENDING 작업만 가능)
+    @Transactional
+    public boolean changePriority(Long taskId, int priority) {
+        VideoProcessingQueue task = queueRepository.findById(taskId).orElse(null);
+        if (task == null || task.getStatus() != VideoProcessingQueue.QueueStatus.PENDING) {
+            return false;
+        }
+        log.info("작업 우선순위 변경: queueId={} ({} → {})", taskId, task.getPriority(), priority);
+        task.changePriority(priority);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public List<VideoProcessingQueue> findDeadLetters(int limit) {
+        return queueRepository.findByStatusOrderByIdDesc(VideoProcessingQueue.QueueStatus.DEAD_LETTER, PageRequest.of(0, limit));
+    }
+
+    private void countFailure(String outcome, FailureClass failureClass, int count) {
+        if (count > 0) {
+            Counter.builder("video.queue.failure")
+                    .tag("outcome", outcome)
+                    .tag("class", failureClass.getKey())
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
+    private static String rootMessage(Throwable throwable) {
+        Throwable root = throwable;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+
+    private LocalDateTime nextLeaseExpiry() {
+        return LocalDateTime.now().plusSeconds(leaseSeconds);
+    }
+
+    private static String defaultWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        String pid = String.valueOf(ManagementFactory.getRuntimeMXBean().getPid());
+        String id = host + "-" + pid + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return id.length() > 64 ? id.substring(id.length() - 64) : id;
+    }
+}
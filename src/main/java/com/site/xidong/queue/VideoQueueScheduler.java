@@ -1,67 +1,185 @@
 package com.site.xidong.queue;
 
+import com.site.xidong.pipeline.VideoPipeline;
 import com.site.xidong.video.VideoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 큐 소비자
+ * 여러 인스턴스가 동시에 돌아도 VideoQueueClaimer가 작업을 나눠 선점하며,
+ * 처리 중인 작업은 주기적으로 임대를 연장하고 임대가 끝난 작업은 다시 PENDING으로 돌림
+ * enqueue 커밋/작업 완료 시 즉시 깨어나며, 폴링은 다른 인스턴스에 들어온 작업을 위한 안전망으로
+ * 큐가 비어 있으면 간격을 늘리고 밀려 있으면 쉬지 않고 가져감
+ * 짧은 영상(SHORT) 차선을 먼저 채우고 사용자별로 번갈아 가져가 한 사용자의 대량 업로드가 다른 사용자를 막지 않게 함
+ * 임대 연장/회수는 공용 @Scheduled 스레드가 아닌 전용 스레드에서 실행 (보관·캐시 정리 등이 늦어져도 임대가 만료되지 않도록)
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class VideoQueueScheduler {
-    @Autowired
-    @Qualifier("threadPoolTaskExecutor")
-    private ThreadPoolTaskExecutor videoProcessingExecutor;
 
-    private final VideoProcessingQueueRepository queueRepository;
+    private final VideoQueueClaimer queueClaimer;
     private final VideoService videoService;
+    private final VideoPipeline videoPipeline;
+    private final MeterRegistry meterRegistry;
+
+    // 이 인스턴스가 처리 중인 작업과 차선 (임대 연장 대상)
+    private final Map<Long, QueueLane> inFlightTasks = new ConcurrentHashMap<>();
+
+    @Value("${video.queue.poll-min-ms:200}")
+    private long pollMinMs;
+
+    @Value("${video.queue.poll-max-ms:10000}")
+    private long pollMaxMs;
+
+    // 이 인스턴스에서 LONG 차선 작업이 동시에 차지할 수 있는 최대 자리
+    @Value("${video.queue.lane.long.max-in-flight:20}")
+    private int maxLongInFlight;
+
+    @Value("${video.queue.heartbeat-ms:30000}")
+    private long heartbeatMs;
+
+    @Value("${video.queue.reaper-ms:30000}")
+    private long reaperMs;
+
+    // 깨우기 신호 (enqueue 커밋, 작업 완료, 만료 작업 회수)
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile boolean running;
+    private Thread dispatcherThread;
+    // 임대 연장과 만료 회수가 서로를 기다리지 않도록 2개
+    private ScheduledExecutorService leaseScheduler;
+    private final Map<QueueLane, Timer> queueWaitTimers = new EnumMap<>(QueueLane.class);
+    private Counter emptyPollCounter;
+
+    // 컨텍스트가 모두 뜬 뒤 DB 조회를 시작
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (QueueLane lane : QueueLane.values()) {
+            queueWaitTimers.put(lane, Timer.builder("video.queue.wait")
+                    .description("enqueue부터 작업 선점까지 대기 시간")
+                    .tag("lane", lane.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        emptyPollCounter = Counter.builder("video.queue.poll.empty").register(meterRegistry);
+
+        running = true;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QueueDispatcher-");
+        threadFactory.setDaemon(true);
+        dispatcherThread = threadFactory.newThread(this::dispatchLoop);
+        dispatcherThread.start();
+
+        CustomizableThreadFactory leaseThreadFactory = new CustomizableThreadFactory("QueueLease-");
+        leaseThreadFactory.setDaemon(true);
+        leaseScheduler = Executors.newScheduledThreadPool(2, leaseThreadFactory);
+        leaseScheduler.scheduleWithFixedDelay(this::renewLeases, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        leaseScheduler.scheduleWithFixedDelay(this::requeueExpiredLeases, reaperMs, reaperMs, TimeUnit.MILLISECONDS);
+        log.info("DB 큐 디스패처 시작: 폴링 {}~{}ms, 임대 연장 {}ms", pollMinMs, pollMaxMs, heartbeatMs);
+    }
 
-    @Scheduled(fixedDelay = 1000)
-    public void processQueuedTasks() {
-        try {
-            // 사용 가능한 스레드 수 계산
-            int availableThreads = videoProcessingExecutor.getMaxPoolSize()
-                    - videoProcessingExecutor.getActiveCount();
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+        }
+        if (leaseScheduler != null) {
+            leaseScheduler.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onQueued(VideoQueuedEvent event) {
+        wakeUp();
+    }
 
-            if (availableThreads <= 0) {
-                log.info("스레드풀 포화 상태, 다음 주기 대기");
+    public void wakeUp() {
+        wakeups.release();
+    }
+
+    private void dispatchLoop() {
+        PollBackoff backoff = new PollBackoff(pollMinMs, pollMaxMs);
+        long delayMs = 0;
+        while (running) {
+            try {
+                if (delayMs > 0) {
+                    wakeups.tryAcquire(delayMs, TimeUnit.MILLISECONDS);
+                }
+                wakeups.drainPermits();
+                delayMs = processQueuedTasks(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 return;
             }
+        }
+    }
 
-            // 사용 가능한 스레드 수만큼만 조
-            List<VideoProcessingQueue> pendingTasks = queueRepository.findPendingTasks(
-                    PageRequest.of(0, availableThreads)
-            );
+    // 다음 조회까지 대기 시간(ms) 반환
+    long processQueuedTasks(PollBackoff backoff) {
+        try {
+            // 파이프라인에 더 투입할 수 있는 작업 수 계산
+            int availableSlots = videoPipeline.getAvailableSlots();
+
+            if (availableSlots <= 0) {
+                log.debug("파이프라인 포화 상태, 작업 완료 대기");
+                return backoff.saturated();
+            }
 
-            if (pendingTasks.isEmpty()) return;
+            // 투입 가능한 수만큼만 선점 (LONG 차선은 남은 자리까지만)
+            long longInFlight = inFlightTasks.values().stream().filter(lane -> lane == QueueLane.LONG).count();
+            int longSlots = (int) Math.max(0, maxLongInFlight - longInFlight);
+            List<VideoProcessingQueue> claimedTasks = queueClaimer.claim(availableSlots, longSlots);
 
-            log.info("DB 큐 처리 시작: {}개 작업 발견", pendingTasks.size());
+            if (claimedTasks.isEmpty()) {
+                emptyPollCounter.increment();
+                return backoff.next(0, availableSlots);
+            }
+
+            log.info("DB 큐 처리 시작: {}개 작업 선점 (worker={})", claimedTasks.size(), queueClaimer.getWorkerId());
 
-            for (VideoProcessingQueue task : pendingTasks) {
+            LocalDateTime now = LocalDateTime.now();
+            for (VideoProcessingQueue task : claimedTasks) {
+                queueWaitTimers.get(task.getLane()).record(Duration.between(task.getCreatedAt(), now));
                 processTask(task);
             }
+            return backoff.next(claimedTasks.size(), availableSlots);
         } catch (Exception e) {
             log.error("스케줄러 실행 오류", e);
+            return backoff.next(0, 1);
         }
     }
 
-    @Transactional
+    // 선점 트랜잭션이 커밋된 뒤 호출되므로 작업 제출은 트랜잭션 밖에서 진행
     public void processTask(VideoProcessingQueue task) {
+        Long taskId = task.getId();
+        inFlightTasks.put(taskId, task.getLane());
         try {
-            // 상태 변경
-            task.markProcessing();
-            queueRepository.save(task);
-            log.info("[DB Queue] 작업 시작: ", task.getId());
+            log.info("[DB Queue] 작업 시작: {}", taskId);
 
             // 비동기 작업 제출
             CompletableFuture<Void> future = videoService.createInitial(
@@ -70,36 +188,66 @@ public class VideoQueueScheduler {
                     task.getRequestNo(),
                     task.getVideoKey(),
                     task.getIsOpen(),
-                    task.getStartTime()
+                    task.getStartTime(),
+                    task.getUploadMetadata(),
+                    true
             );
 
-            // 완료 핸들러는 별도 트랜잭션
             future.whenComplete((result, throwable) ->
-                    updateTaskStatus(task.getId(), throwable)
+                    updateTaskStatus(taskId, throwable)
             );
 
-            log.info("작업 제출 완료: queueId={}", task.getId());
+            log.info("작업 제출 완료: queueId={}", taskId);
 
         } catch (Exception e) {
-            log.error("작업 제출 실패: queueId = {}", task.getId(), e);
-            task.markFailed();
-            queueRepository.save(task);
+            log.error("작업 제출 실패: queueId = {}", taskId, e);
+            updateTaskStatus(taskId, e);
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW) // 새 트랜잭션
     public void updateTaskStatus(Long taskId, Throwable throwable) {
-        VideoProcessingQueue task = queueRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalStateException("작업을 찾을 수 없습니다: " + taskId));
-
-        if (throwable != null) {
-            log.error("작업 실패: queueId={}", taskId, throwable);
-            task.markFailed();
-            queueRepository.save(task);
-        } else {
-            log.info("작업 완료: queueId={}", taskId);
-            queueRepository.delete(task);
+        inFlightTasks.remove(taskId);
+        // 파이프라인 자리가 생겼으므로 대기 중인 작업 바로 조회
+        wakeUp();
+        try {
+            boolean owned;
+            if (throwable != null) {
+                log.error("작업 실패: queueId={}", taskId, throwable);
+                owned = queueClaimer.fail(taskId, throwable);
+            } else {
+                log.info("작업 완료: queueId={}", taskId);
+                owned = queueClaimer.complete(taskId);
+            }
+            if (!owned) {
+                log.warn("임대가 만료되어 결과를 반영하지 않음: queueId={}", taskId);
+            }
+        } catch (Exception e) {
+            log.error("작업 상태 갱신 실패: queueId={}", taskId, e);
         }
     }
 
-}
\ No newline at end of file
+    public void renewLeases() {
+        if (inFlightTasks.isEmpty()) return;
+        try {
+            Set<Long> taskIds = Set.copyOf(inFlightTasks.keySet());
+            int renewed = queueClaimer.renew(taskIds);
+            if (renewed < taskIds.size()) {
+                log.warn("임대 연장 일부 실패: {}/{}개 (만료 후 회수된 작업 존재)", renewed, taskIds.size());
+            }
+        } catch (Exception e) {
+            log.error("임대 연장 실패", e);
+        }
+    }
+
+    public void requeueExpiredLeases() {
+        try {
+            int requeued = queueClaimer.requeueExpired();
+            if (requeued > 0) {
+                log.warn("임대 만료 작업 {}개를 대기열로 복귀", requeued);
+                wakeUp();
+            }
+        } catch (Exception e) {
+            log.error("임대 만료 작업 회수 실패", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.site.xidong.queue;
+
+/**
+ * DB 큐에 작업이 저장됨 (트랜잭션 커밋 후 디스패처를 깨우는 용도)
+ */
+public record VideoQueuedEvent(Long queueId) {
+}
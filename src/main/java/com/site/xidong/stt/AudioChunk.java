@@ -0,0 +1,8 @@
+package com.site.xidong.stt;
+
+/**
+ * 긴 영상 STT 청크
+ * durationSeconds가 0이면 끝까지, overlapSeconds는 앞 청크와 겹쳐 읽은 구간 길이
+ */
+public record AudioChunk(int index, double offsetSeconds, double durationSeconds, double overlapSeconds) {
+}
@@ -0,0 +1,53 @@
+package com.site.xidong.stt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STT 요청 구간의 오디오만 ffmpeg로 추출해 파일로 저장
+ * -ss/-t를 입력 앞에 두어 원격 입력도 필요한 구간만 읽음
+ */
+public final class AudioExtractor {
+
+    private AudioExtractor() {
+    }
+
+    public static void extract(SttRequest request, Path target, List<String> codecArgs, long timeoutSeconds)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("ffmpeg", "-hide_banner", "-loglevel", "error", "-y"));
+        if (request.getOffsetSeconds() > 0) {
+            command.addAll(List.of("-ss", String.format("%.2f", request.getOffsetSeconds())));
+        }
+        if (request.getDurationSeconds() > 0) {
+            command.addAll(List.of("-t", String.format("%.2f", request.getDurationSeconds())));
+        }
+        command.addAll(List.of("-i", request.getSource(), "-vn"));
+        command.addAll(codecArgs);
+        command.add(target.toString());
+
+        // 출력을 파이프로 읽으면 ffmpeg가 끝날 때까지 읽기가 막혀 시간 제한이 걸리지 않으므로 파일로 받음
+        Path output = Files.createTempFile("ffmpeg-", ".log");
+        try {
+            ProcessBuilder pb = new ProcessBuilder(command);
+            pb.redirectErrorStream(true);
+            pb.redirectOutput(output.toFile());
+            Process process = pb.start();
+
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new SttTimeoutException("ffmpeg 오디오 추출 시간 초과: " + timeoutSeconds + "초");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg 오디오 추출 실패: exit code " + process.exitValue() + ", "
+                        + Files.readString(output, StandardCharsets.UTF_8).trim());
+            }
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+}
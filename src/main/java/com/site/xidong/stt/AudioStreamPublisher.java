@@ -0,0 +1,121 @@
+package com.site.xidong.stt;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.transcribestreaming.model.AudioEvent;
+import software.amazon.awssdk.services.transcribestreaming.model.AudioStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PCM 입력 스트림을 AudioEvent 청크로 잘라 Transcribe Streaming에 공급
+ * 구독자 요청량(demand)만큼만 읽고, bytesPerSecond로 전송 속도를 제한
+ */
+public class AudioStreamPublisher implements Publisher<AudioStream> {
+
+    private final InputStream inputStream;
+    private final int chunkBytes;
+    private final long bytesPerSecond;
+
+    public AudioStreamPublisher(InputStream inputStream, int chunkBytes, long bytesPerSecond) {
+        this.inputStream = inputStream;
+        this.chunkBytes = chunkBytes;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super AudioStream> subscriber) {
+        subscriber.onSubscribe(new AudioSubscription(subscriber));
+    }
+
+    private class AudioSubscription implements Subscription {
+
+        private final Subscriber<? super AudioStream> subscriber;
+        private final ExecutorService reader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "TranscribeStreaming-audio");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean done = new AtomicBoolean(false);
+        private final long startedAt = System.nanoTime();
+        private long sentBytes;
+
+        AudioSubscription(Subscriber<? super AudioStream> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done.get()) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("demand must be positive"));
+                return;
+            }
+            demand.getAndAdd(n);
+            try {
+                reader.execute(this::pump);
+            } catch (RejectedExecutionException ignored) {
+                // 이미 종료된 구독
+            }
+        }
+
+        private void pump() {
+            try {
+                while (demand.get() > 0 && !done.get()) {
+                    byte[] chunk = inputStream.readNBytes(chunkBytes);
+                    if (chunk.length == 0) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    throttle(chunk.length);
+                    demand.decrementAndGet();
+                    subscriber.onNext(AudioEvent.builder()
+                            .audioChunk(SdkBytes.fromByteArray(chunk.length == chunkBytes ? chunk : Arrays.copyOf(chunk, chunk.length)))
+                            .build());
+                }
+            } catch (IOException e) {
+                finish();
+                subscriber.onError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        // 실시간 대비 지정 배속을 넘지 않도록 전송 간격 조절
+        private void throttle(int length) throws InterruptedException {
+            sentBytes += length;
+            long expectedNanos = sentBytes * 1_000_000_000L / bytesPerSecond;
+            long aheadNanos = expectedNanos - (System.nanoTime() - startedAt);
+            if (aheadNanos > 0) {
+                Thread.sleep(aheadNanos / 1_000_000, (int) (aheadNanos % 1_000_000));
+            }
+        }
+
+        private void finish() {
+            if (done.compareAndSet(false, true)) {
+                reader.shutdown();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            finish();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.site.xidong.stt;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 영상에서 한 번만 추출한 로컬 오디오 트랙 (16kHz mono FLAC)
+ * 청크 STT는 원격 영상 대신 이 파일을 구간별로 읽음
+ */
+@Slf4j
+@Getter
+public class AudioTrack implements AutoCloseable {
+
+    private final Path file;
+    private final double durationSeconds;
+    private final List<Double> silenceMidpoints;
+
+    public AudioTrack(Path file, double durationSeconds, List<Double> silenceMidpoints) {
+        this.file = file;
+        this.durationSeconds = durationSeconds;
+        this.silenceMidpoints = List.copyOf(silenceMidpoints);
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("오디오 트랙 삭제 실패: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.site.xidong.stt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 원격 영상을 한 번만 읽어 STT용 오디오 트랙을 만듦
+ * 같은 ffmpeg 실행에서 silencedetect 필터로 무음 구간도 함께 수집하므로
+ * 청크 수와 상관없이 S3 읽기와 영상 디코딩은 1회
+ */
+@Slf4j
+@Component
+public class AudioTrackExtractor {
+
+    private static final Pattern SILENCE_START = Pattern.compile("silence_start: (-?\\d+(?:\\.\\d+)?)");
+    private static final Pattern SILENCE_END = Pattern.compile("silence_end: (\\d+(?:\\.\\d+)?)");
+    private static final Pattern OUT_TIME = Pattern.compile("^out_time_us=(\\d+)$");
+
+    @Value("${stt.chunk.silence-noise-db:-30}")
+    private int silenceNoiseDb;
+
+    @Value("${stt.chunk.silence-min-seconds:0.4}")
+    private double silenceMinSeconds;
+
+    @Value("${stt.chunk.extract-timeout-seconds:300}")
+    private long extractTimeoutSeconds;
+
+    public AudioTrack extract(String source) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        Path file = Files.createTempFile("track-", ".flac");
+        Path output = Files.createTempFile("track-", ".log");
+        boolean succeeded = false;
+        try {
+            ProcessBuilder pb = new ProcessBuilder(
+                    "ffmpeg", "-hide_banner", "-nostats", "-y",
+                    "-progress", "pipe:1",
+                    "-i", source,
+                    "-vn",
+                    "-ac", "1",
+                    "-ar", "16000",
+                    "-af", "silencedetect=noise=" + silenceNoiseDb + "dB:d=" + silenceMinSeconds,
+                    "-c:a", "flac",
+                    file.toString()
+            );
+            // 출력을 파이프로 읽으면 ffmpeg가 끝날 때까지 막혀 시간 제한이 걸리지 않으므로 파일로 받아 종료 후 파싱
+            pb.redirectErrorStream(true);
+            pb.redirectOutput(output.toFile());
+            Process process = pb.start();
+
+            boolean exited;
+            try {
+                exited = process.waitFor(extractTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // 작업 취소/종료 시 ffmpeg가 계속 S3 객체를 받아 지워진 파일에 쓰지 않도록 함께 종료
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            if (!exited) {
+                process.destroyForcibly();
+                throw new SttTimeoutException("ffmpeg 오디오 트랙 추출 시간 초과: " + extractTimeoutSeconds + "초");
+            }
+            int exitCode = process.exitValue();
+            if (exitCode != 0 || Files.size(file) == 0) {
+                throw new IOException("ffmpeg 오디오 트랙 추출 실패: exit code " + exitCode);
+            }
+
+            List<Double> midpoints = new ArrayList<>();
+            Double silenceStart = null;
+            long outTimeMicros = 0;
+            try (BufferedReader reader = Files.newBufferedReader(output, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher outTime = OUT_TIME.matcher(line);
+                    if (outTime.matches()) {
+                        outTimeMicros = Long.parseLong(outTime.group(1));
+                        continue;
+                    }
+                    Matcher startMatcher = SILENCE_START.matcher(line);
+                    if (startMatcher.find()) {
+                        silenceStart = Math.max(0, Double.parseDouble(startMatcher.group(1)));
+                        continue;
+                    }
+                    Matcher endMatcher = SILENCE_END.matcher(line);
+                    if (endMatcher.find() && silenceStart != null) {
+                        midpoints.add((silenceStart + Double.parseDouble(endMatcher.group(1))) / 2);
+                        silenceStart = null;
+                    }
+                }
+            }
+
+            double durationSeconds = outTimeMicros / 1_000_000.0;
+            log.info("오디오 트랙 추출 완료: 길이 {}초, 무음 {}개, 크기 {}KB, 소요 {}ms",
+                    durationSeconds, midpoints.size(), Files.size(file) / 1024, System.currentTimeMillis() - start);
+            succeeded = true;
+            return new AudioTrack(file, durationSeconds, midpoints);
+        } finally {
+            Files.deleteIfExists(output);
+            // 실패(시간 초과, 인터럽트 포함) 시 만들다 만 트랙 파일 정리
+            if (!succeeded) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
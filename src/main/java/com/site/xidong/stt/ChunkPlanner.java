@@ -0,0 +1,72 @@
+package com.site.xidong.stt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 긴 영상의 STT 청크 경계 계획
+ * 무음 구간 중 목표 길이에 가장 가까운 곳에서 자르고,
+ * 허용 범위 안에 무음이 없으면 목표 지점에서 강제로 자른 뒤 다음 청크를 조금 겹쳐 읽음
+ */
+@Slf4j
+@Component
+public class ChunkPlanner {
+
+    @Value("${stt.chunk.target-seconds:120}")
+    private double targetSeconds;
+
+    @Value("${stt.chunk.min-seconds:60}")
+    private double minSeconds;
+
+    @Value("${stt.chunk.max-seconds:180}")
+    private double maxSeconds;
+
+    @Value("${stt.chunk.overlap-seconds:1.5}")
+    private double overlapSeconds;
+
+    /**
+     * @param silenceMidpoints 무음 구간 중앙 시각 (AudioTrackExtractor가 수집)
+     */
+    public List<AudioChunk> plan(double durationSeconds, List<Double> silenceMidpoints) {
+        List<AudioChunk> chunks = plan(durationSeconds, silenceMidpoints, targetSeconds, minSeconds, maxSeconds, overlapSeconds);
+        log.info("청크 계획: 길이 {}초, 무음 후보 {}개, 청크 {}개", durationSeconds, silenceMidpoints.size(), chunks.size());
+        return chunks;
+    }
+
+    /**
+     * @param cutCandidates 무음 구간 중앙 시각 (오름차순)
+     */
+    static List<AudioChunk> plan(double duration, List<Double> cutCandidates,
+                                 double target, double min, double max, double overlap) {
+        List<AudioChunk> chunks = new ArrayList<>();
+        double start = 0;
+        boolean previousHardCut = false;
+
+        while (duration - start > max) {
+            double ideal = start + target;
+            Double best = null;
+            for (double candidate : cutCandidates) {
+                if (candidate <= start + min || candidate >= start + max) {
+                    continue;
+                }
+                if (best == null || Math.abs(candidate - ideal) < Math.abs(best - ideal)) {
+                    best = candidate;
+                }
+            }
+            double cut = best != null ? best : ideal;
+            double chunkStart = previousHardCut ? Math.max(0, start - overlap) : start;
+            chunks.add(new AudioChunk(chunks.size(), chunkStart, cut - chunkStart, start - chunkStart));
+            start = cut;
+            previousHardCut = best == null;
+        }
+
+        // 길이는 추정값일 수 있으므로 마지막 청크는 끝까지 읽음
+        double chunkStart = previousHardCut ? Math.max(0, start - overlap) : start;
+        chunks.add(new AudioChunk(chunks.size(), chunkStart, 0, start - chunkStart));
+        return chunks;
+    }
+}
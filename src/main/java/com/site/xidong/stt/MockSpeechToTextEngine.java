@@ -0,0 +1,44 @@
+package com.site.xidong.stt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 부하 테스트/로컬 개발용 가짜 STT
+ * 실제 엔진 대신 고정 지연 후 고정 답변을 반환
+ */
+@Slf4j
+@Component
+public class MockSpeechToTextEngine implements SpeechToTextEngine {
+
+    private static final String MOCK_TRANSCRIPT =
+            "도커는 컨테이너 기반의 오픈소스 가상화 플랫폼입니다. 애플리케이션과 그 실행에 필요한 라이브러리, 설정, 의존성 등을 컨테이너라는 단위로 패키징해서, 어떤 환경에서든 동일하게 실행될 수 있도록 해주는 도구입니다.\n" +
+                    "\n" +
+                    "기존 가상머신과 비교하면 차이가 명확한데요, 가상머신은 하이퍼바이저 위에 Guest OS 전체를 올리기 때문에 무겁고 부팅도 느립니다. 반면 도커 컨테이너는 Host OS의 커널을 공유하기 때문에 훨씬 가볍고 빠르게 실행된다는 장점이 있습니다.\n" +
+                    "\n" +
+                    "도커의 핵심 구성요소로는 이미지, 컨테이너, Dockerfile, 그리고 Docker Hub가 있습니다. 이미지는 컨테이너를 만들기 위한 읽기 전용 템플릿이고, 컨테이너는 그 이미지를 실제로 실행한 인스턴스입니다. Dockerfile은 이미지를 어떻게 빌드할지 정의한 명세서이고, Docker Hub는 이미지를 저장하고 공유하는 레지스트리입니다.\n" +
+                    "\n" +
+                    "도커를 사용하는 가장 큰 이유는 \"내 컴퓨터에서는 되는데요?\" 라는 환경 불일치 문제를 해결할 수 있기 때문입니다. 개발, 테스트, 운영 환경을 동일하게 유지할 수 있고, 마이크로서비스 아키텍처에서 각 서비스를 독립적으로 배포하고 확장하는 데도 매우 유리합니다. 한 마디로 요약하면, 환경에 종속되지 않는 일관된 애플리케이션 실행 환경을 제공하는 플랫폼이라고 할 수 있습니다.";
+
+    @Value("${stt.mock.delay-ms:20000}")
+    private long delayMs;
+
+    @Override
+    public String getName() {
+        return "mock";
+    }
+
+    @Override
+    public int getDefaultConcurrency() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String transcribe(SttRequest request) throws Exception {
+        log.info("[MOCK-STT] 시작");
+        Thread.sleep(delayMs);
+        log.info("[MOCK-STT] 완료");
+        return MOCK_TRANSCRIPT;
+    }
+}
@@ -0,0 +1,93 @@
+package com.site.xidong.stt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ffmpeg로 입력에서 16bit mono PCM을 추출해 stdout으로 흘려주는 소스
+ * 중간 파일이나 S3 업로드 없이 바로 스트리밍 STT에 넣기 위해 사용
+ * ffmpeg가 실패하면 빈 PCM이 정상 종료처럼 보이므로, close()에서 종료 코드를 확인해 IOException으로 알림
+ */
+public class PcmAudioSource implements AutoCloseable {
+
+    private static final int STDERR_TAIL_BYTES = 2048;
+
+    private final Process process;
+    private final Path stderr;
+
+    private PcmAudioSource(Process process, Path stderr) {
+        this.process = process;
+        this.stderr = stderr;
+    }
+
+    public static PcmAudioSource open(SttRequest request, int sampleRate) throws IOException {
+        List<String> command = new ArrayList<>(List.of("ffmpeg", "-hide_banner", "-loglevel", "error"));
+        if (request.getOffsetSeconds() > 0) {
+            command.addAll(List.of("-ss", String.format("%.2f", request.getOffsetSeconds())));
+        }
+        if (request.getDurationSeconds() > 0) {
+            command.addAll(List.of("-t", String.format("%.2f", request.getDurationSeconds())));
+        }
+        command.addAll(List.of(
+                "-i", request.getSource(),
+                "-vn",
+                "-ac", "1",
+                "-ar", String.valueOf(sampleRate),
+                "-acodec", "pcm_s16le",
+                "-f", "s16le",
+                "pipe:1"
+        ));
+        Path stderr = Files.createTempFile("ffmpeg-pcm-", ".log");
+        try {
+            ProcessBuilder pb = new ProcessBuilder(command);
+            pb.redirectError(stderr.toFile());
+            return new PcmAudioSource(pb.start(), stderr);
+        } catch (IOException e) {
+            Files.deleteIfExists(stderr);
+            throw e;
+        }
+    }
+
+    public InputStream getInputStream() {
+        return process.getInputStream();
+    }
+
+    /**
+     * 시간 안에 끝나지 않거나 비정상 종료하면 ffmpeg 오류 출력 끝부분과 함께 IOException
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("ffmpeg PCM 추출이 종료되지 않음: " + stderrTail());
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg PCM 추출 실패: exit code " + process.exitValue() + ", " + stderrTail());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            throw new InterruptedIOException("ffmpeg PCM 추출 대기 중 인터럽트");
+        } finally {
+            Files.deleteIfExists(stderr);
+        }
+    }
+
+    private String stderrTail() {
+        try {
+            byte[] bytes = Files.readAllBytes(stderr);
+            int from = Math.max(0, bytes.length - STDERR_TAIL_BYTES);
+            return new String(bytes, from, bytes.length - from, StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            return "(오류 출력 읽기 실패)";
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.site.xidong.stt;
+
+/**
+ * 음성 인식 엔진 공통 인터페이스
+ * 구현체를 바꿔 끼우거나 테스트에서 가짜 엔진으로 대체할 수 있도록 분리
+ * 어떤 엔진을 쓸지는 SpeechToTextRouter가 작업마다 결정
+ */
+public interface SpeechToTextEngine {
+
+    String getName();
+
+    String transcribe(SttRequest request) throws Exception;
+
+    // stt.engine.<name>.max-concurrency 미설정 시 사용할 동시 처리 수
+    default int getDefaultConcurrency() {
+        return 4;
+    }
+
+    default boolean isAvailable() {
+        return true;
+    }
+}
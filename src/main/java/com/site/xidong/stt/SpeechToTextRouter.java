@@ -0,0 +1,207 @@
+package com.site.xidong.stt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업마다 STT 엔진을 고르는 라우터
+ * 예상 소요 시간(관측 처리 배속 × 오디오 길이 × 대기열 보정)이 가장 짧은 엔진부터 시도하고,
+ * 실패하면 다음 후보로 넘어감. 연속 실패한 엔진은 잠시 후보에서 제외
+ */
+@Slf4j
+@Component
+public class SpeechToTextRouter {
+
+    private final List<EngineState> engines = new ArrayList<>();
+    private final long cooldownMillis;
+    private final int failureThreshold;
+    private final MeterRegistry meterRegistry;
+
+    public SpeechToTextRouter(List<SpeechToTextEngine> available, Environment environment, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.cooldownMillis = environment.getProperty("stt.router.cooldown-seconds", Long.class, 30L) * 1000;
+        this.failureThreshold = environment.getProperty("stt.router.failure-threshold", Integer.class, 3);
+        double ewmaWeight = environment.getProperty("stt.router.ewma-weight", Double.class, 0.2);
+
+        Map<String, SpeechToTextEngine> byName = new HashMap<>();
+        available.forEach(engine -> byName.put(engine.getName(), engine));
+
+        String[] names = environment.getProperty("stt.router.engines", String[].class,
+                new String[]{"whisper", "transcribe-streaming", "transcribe-batch"});
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim();
+            SpeechToTextEngine engine = byName.get(name);
+            if (engine == null) {
+                log.warn("알 수 없는 STT 엔진 설정 무시: {}", name);
+                continue;
+            }
+            String prefix = "stt.engine." + name;
+            EngineState state = new EngineState(engine, i,
+                    environment.getProperty(prefix + ".max-concurrency", Integer.class, engine.getDefaultConcurrency()),
+                    environment.getProperty(prefix + ".max-duration-seconds", Double.class, 0.0),
+                    environment.getProperty(prefix + ".initial-rtf", Double.class, 0.5),
+                    ewmaWeight, meterRegistry);
+            engines.add(state);
+            log.info("STT 엔진 등록: {} (동시성 {}, 최대 길이 {}초)", name, state.getCapacity(), state.getMaxDurationSeconds());
+        }
+        if (engines.isEmpty()) {
+            throw new IllegalStateException("stt.router.engines에 사용 가능한 STT 엔진이 없습니다");
+        }
+    }
+
+    public String transcribe(SttRequest request) throws Exception {
+        List<EngineState> ranked = rank(request);
+        if (ranked.isEmpty()) {
+            throw new IllegalStateException("요청을 처리할 수 있는 STT 엔진이 없습니다: 길이 " + request.getAudioSeconds() + "초");
+        }
+
+        Exception lastError = null;
+        for (EngineState state : ranked) {
+            if (lastError != null) {
+                log.warn("STT 대체 엔진 사용: 비디오 ID {}, {}", request.getVideoId(), state.getName());
+                Counter.builder("stt.router.fallback")
+                        .tag("engine", state.getName())
+                        .register(meterRegistry)
+                        .increment();
+            }
+            try {
+                return state.transcribe(request);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("STT 엔진 실패: {}, 비디오 ID {}: {}", state.getName(), request.getVideoId(), e.getMessage());
+                state.recordFailure(failureThreshold, cooldownMillis);
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+
+    List<EngineState> rank(SttRequest request) {
+        double audioSeconds = Math.max(request.getAudioSeconds(), 1.0);
+        long now = System.currentTimeMillis();
+        return engines.stream()
+                .filter(state -> state.accepts(audioSeconds, now))
+                .sorted(Comparator.comparingDouble((EngineState state) -> state.estimateSeconds(audioSeconds))
+                        .thenComparingInt(EngineState::getPriority))
+                .toList();
+    }
+
+    /**
+     * 엔진별 부하/지연 상태
+     * rtf는 오디오 1초당 처리 시간(초)의 지수 이동 평균
+     */
+    static class EngineState {
+
+        private final SpeechToTextEngine engine;
+        private final int priority;
+        private final int capacity;
+        private final double maxDurationSeconds;
+        private final double ewmaWeight;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer successTimer;
+        private final Timer failureTimer;
+
+        private volatile double rtf;
+        private volatile int consecutiveFailures;
+        private volatile long unavailableUntil;
+
+        EngineState(SpeechToTextEngine engine, int priority, int capacity, double maxDurationSeconds,
+                    double initialRtf, double ewmaWeight, MeterRegistry meterRegistry) {
+            this.engine = engine;
+            this.priority = priority;
+            this.capacity = Math.max(1, capacity);
+            this.maxDurationSeconds = maxDurationSeconds;
+            this.rtf = initialRtf;
+            this.ewmaWeight = ewmaWeight;
+
+            Gauge.builder("stt.engine.inflight", inFlight, AtomicInteger::get)
+                    .tag("engine", engine.getName())
+                    .register(meterRegistry);
+            Gauge.builder("stt.engine.rtf", this, state -> state.rtf)
+                    .tag("engine", engine.getName())
+                    .register(meterRegistry);
+            this.successTimer = Timer.builder("stt.engine.latency")
+                    .tag("engine", engine.getName())
+                    .tag("outcome", "success")
+                    .register(meterRegistry);
+            this.failureTimer = Timer.builder("stt.engine.latency")
+                    .tag("engine", engine.getName())
+                    .tag("outcome", "failure")
+                    .register(meterRegistry);
+        }
+
+        boolean accepts(double audioSeconds, long now) {
+            return now >= unavailableUntil
+                    && (maxDurationSeconds <= 0 || audioSeconds <= maxDurationSeconds)
+                    && engine.isAvailable();
+        }
+
+        // 동시성 한도를 넘은 만큼은 앞선 작업이 끝나길 기다려야 하므로 대기 배수로 보정
+        double estimateSeconds(double audioSeconds) {
+            int waiting = Math.max(0, inFlight.get() + 1 - capacity);
+            return rtf * audioSeconds * (1.0 + (double) waiting / capacity);
+        }
+
+        String transcribe(SttRequest request) throws Exception {
+            inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                String transcript = engine.transcribe(request);
+                long elapsed = System.nanoTime() - start;
+                successTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                if (request.getAudioSeconds() > 0) {
+                    recordLatency(elapsed / 1e9 / request.getAudioSeconds());
+                }
+                return transcript;
+            } catch (Exception e) {
+                failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private synchronized void recordLatency(double observedRtf) {
+            rtf = rtf + ewmaWeight * (observedRtf - rtf);
+            consecutiveFailures = 0;
+        }
+
+        synchronized void recordFailure(int threshold, long cooldownMillis) {
+            if (++consecutiveFailures >= threshold) {
+                unavailableUntil = System.currentTimeMillis() + cooldownMillis;
+                consecutiveFailures = 0;
+                log.warn("STT 엔진 {} 연속 실패로 {}초간 제외", getName(), cooldownMillis / 1000);
+            }
+        }
+
+        String getName() {
+            return engine.getName();
+        }
+
+        int getPriority() {
+            return priority;
+        }
+
+        int getCapacity() {
+            return capacity;
+        }
+
+        double getMaxDurationSeconds() {
+            return maxDurationSeconds;
+        }
+
+        int getInFlight() {
+            return inFlight.get();
+        }
+    }
+}
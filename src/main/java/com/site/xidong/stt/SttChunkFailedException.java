@@ -0,0 +1,8 @@
+package com.site.xidong.stt;
+
+// 긴 영상 청크 중 실패한 비율이 허용치를 넘어 일부만 변환된 답변을 쓸 수 없을 때
+public class SttChunkFailedException extends RuntimeException {
+    public SttChunkFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,26 @@
+package com.site.xidong.stt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * STT 요청 단위
+ * source는 ffmpeg가 읽을 수 있는 입력(presigned URL 또는 로컬 파일 경로)
+ */
+@Getter
+@Builder
+public class SttRequest {
+    private final Long videoId;
+    private final String source;
+    private final double offsetSeconds;
+    private final double durationSeconds; // 0이면 끝까지
+    private final double estimatedSeconds; // 끝까지 읽을 때 라우팅/타임아웃 추정용 길이
+
+    public double getAudioSeconds() {
+        return durationSeconds > 0 ? durationSeconds : estimatedSeconds;
+    }
+
+    public boolean isClipped() {
+        return offsetSeconds > 0 || durationSeconds > 0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.site.xidong.stt;
+
+public class SttTimeoutException extends RuntimeException {
+    public SttTimeoutException(String message) {
+        super(message);
+    }
+}
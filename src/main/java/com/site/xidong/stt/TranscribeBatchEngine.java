@@ -0,0 +1,74 @@
+package com.site.xidong.stt;
+
+import com.site.xidong.config.AwsClientRegistry;
+import com.site.xidong.feedback.AwsTranscribe;
+import com.site.xidong.pipeline.BoundedResource;
+import com.site.xidong.pipeline.ResourceLimits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * AWS Transcribe 배치 작업 기반 STT
+ * 구간 오디오를 mp3로 추출해 S3에 올린 뒤 작업 완료를 폴링하므로 가장 느리지만 처리량 제한이 가장 느슨함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscribeBatchEngine implements SpeechToTextEngine {
+
+    private final AwsClientRegistry awsClientRegistry;
+    private final AwsTranscribe awsTranscribe;
+    private final ResourceLimits resourceLimits;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Override
+    public String getName() {
+        return "transcribe-batch";
+    }
+
+    @Override
+    public String transcribe(SttRequest request) throws Exception {
+        long start = System.currentTimeMillis();
+        Path audio = Files.createTempFile("transcribe-" + request.getVideoId() + "-", ".mp3");
+        String audioKey = "audio/" + request.getVideoId() + "-" + UUID.randomUUID() + ".mp3";
+        try {
+            try (ResourceLimits.Permit ignored = resourceLimits.acquire(BoundedResource.FFMPEG)) {
+                AudioExtractor.extract(request, audio, List.of("-ac", "1", "-ar", "16000", "-acodec", "libmp3lame", "-f", "mp3"), 120);
+            }
+
+            awsClientRegistry.s3().putObject(PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(audioKey)
+                    .contentType("audio/mpeg")
+                    .build(), RequestBody.fromFile(audio));
+
+            String jobName = awsTranscribe.startTranscriptionJob("s3://" + bucket + "/" + audioKey);
+            String transcript = awsTranscribe.parseTranscriptionJson(awsTranscribe.getTranscriptionResult(jobName));
+            log.info("Transcribe 배치 완료: 비디오 ID {}, 길이 {}, 소요 {}ms",
+                    request.getVideoId(), transcript.length(), System.currentTimeMillis() - start);
+            return transcript;
+        } finally {
+            Files.deleteIfExists(audio);
+            deleteQuietly(audioKey);
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            awsClientRegistry.s3().deleteObject(r -> r.bucket(bucket).key(key));
+        } catch (Exception e) {
+            log.warn("임시 오디오 삭제 실패: {}", key, e);
+        }
+    }
+}
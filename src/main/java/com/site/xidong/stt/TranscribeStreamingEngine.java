@@ -0,0 +1,116 @@
+package com.site.xidong.stt;
+
+import com.site.xidong.config.AwsClientRegistry;
+import com.site.xidong.pipeline.BoundedResource;
+import com.site.xidong.pipeline.ResourceLimits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.transcribestreaming.model.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * AWS Transcribe Streaming 기반 STT
+ * ffmpeg로 뽑은 PCM을 그대로 스트리밍하므로 S3 오디오 업로드와 작업 상태 폴링이 필요 없음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TranscribeStreamingEngine implements SpeechToTextEngine {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int BYTES_PER_SECOND = SAMPLE_RATE * 2; // 16bit mono
+
+    private final AwsClientRegistry awsClientRegistry;
+    private final ResourceLimits resourceLimits;
+
+    @Value("${stt.transcribe-streaming.language-code:ko-KR}")
+    private String languageCode;
+
+    // 실시간 대비 전송 배속 (1.0이면 실제 재생 속도)
+    @Value("${stt.transcribe-streaming.speed-factor:2.0}")
+    private double speedFactor;
+
+    @Value("${stt.transcribe-streaming.chunk-millis:100}")
+    private int chunkMillis;
+
+    @Value("${stt.transcribe-streaming.timeout-margin-seconds:60}")
+    private long timeoutMarginSeconds;
+
+    @Override
+    public String getName() {
+        return "transcribe-streaming";
+    }
+
+    @Override
+    public String transcribe(SttRequest request) throws Exception {
+        long start = System.currentTimeMillis();
+        TranscriptAssembler assembler = new TranscriptAssembler();
+
+        // PCM 디코딩 ffmpeg는 오디오 길이만큼 떠 있으므로 스트리밍이 끝날 때까지 ffmpeg 자원을 점유
+        try (ResourceLimits.Permit ignored = resourceLimits.acquire(BoundedResource.FFMPEG);
+             PcmAudioSource source = PcmAudioSource.open(request, SAMPLE_RATE)) {
+            AudioStreamPublisher publisher = new AudioStreamPublisher(
+                    source.getInputStream(),
+                    BYTES_PER_SECOND * chunkMillis / 1000,
+                    (long) (BYTES_PER_SECOND * speedFactor));
+
+            CompletableFuture<Void> result = awsClientRegistry.transcribeStreaming()
+                    .startStreamTranscription(buildRequest(), publisher, buildResponseHandler(assembler));
+
+            try {
+                result.get(timeoutSeconds(request), TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                result.cancel(true);
+                throw new SttTimeoutException("Transcribe Streaming 응답 시간 초과: 비디오 ID " + request.getVideoId());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        String transcript = assembler.getTranscript();
+        log.info("Transcribe Streaming 완료: 비디오 ID {}, 구간 {}초+{}초, 확정 {}건, 소요 {}ms",
+                request.getVideoId(), request.getOffsetSeconds(), request.getDurationSeconds(),
+                assembler.getFinalCount(), System.currentTimeMillis() - start);
+        return transcript;
+    }
+
+    private StartStreamTranscriptionRequest buildRequest() {
+        return StartStreamTranscriptionRequest.builder()
+                .languageCode(LanguageCode.fromValue(languageCode))
+                .mediaEncoding(MediaEncoding.PCM)
+                .mediaSampleRateHertz(SAMPLE_RATE)
+                .build();
+    }
+
+    private StartStreamTranscriptionResponseHandler buildResponseHandler(TranscriptAssembler assembler) {
+        return StartStreamTranscriptionResponseHandler.builder()
+                .onError(e -> log.warn("Transcribe Streaming 오류: {}", e.getMessage()))
+                .subscriber(event -> {
+                    if (event instanceof TranscriptEvent transcriptEvent) {
+                        accept(assembler, transcriptEvent);
+                    }
+                })
+                .build();
+    }
+
+    static void accept(TranscriptAssembler assembler, TranscriptEvent event) {
+        for (Result result : event.transcript().results()) {
+            if (result.alternatives().isEmpty()) {
+                continue;
+            }
+            assembler.accept(result.resultId(), result.alternatives().get(0).transcript(), result.isPartial());
+        }
+    }
+
+    // 구간 길이를 모르면(끝까지) 1시간 분량으로 가정
+    private long timeoutSeconds(SttRequest request) {
+        double audioSeconds = request.getAudioSeconds() > 0 ? request.getAudioSeconds() : 3600;
+        return (long) Math.ceil(audioSeconds / speedFactor) + timeoutMarginSeconds;
+    }
+}
@@ -0,0 +1,41 @@
+package com.site.xidong.stt;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 스트리밍 인식 결과 조립기
+ * 같은 resultId의 부분 결과는 최신 값으로 덮어쓰고, 최종 결과가 오면 확정
+ * 결과는 처음 등장한 순서대로 이어붙임
+ */
+public class TranscriptAssembler {
+
+    private final Map<String, Segment> segments = new LinkedHashMap<>();
+
+    public synchronized void accept(String resultId, String text, boolean partial) {
+        Segment segment = segments.get(resultId);
+        if (segment != null && !segment.partial) {
+            return; // 이미 확정된 결과는 변경하지 않음
+        }
+        segments.put(resultId, new Segment(text == null ? "" : text.trim(), partial));
+    }
+
+    public synchronized String getTranscript() {
+        return segments.values().stream()
+                .map(segment -> segment.text)
+                .filter(text -> !text.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+
+    public synchronized int getFinalCount() {
+        return (int) segments.values().stream().filter(segment -> !segment.partial).count();
+    }
+
+    public synchronized int getPartialCount() {
+        return (int) segments.values().stream().filter(segment -> segment.partial).count();
+    }
+
+    private record Segment(String text, boolean partial) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.site.xidong.stt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 청크별 STT 결과를 순서대로 이어붙임
+ * 겹쳐 읽은 청크는 앞 청크 끝과 같은 단어열이 앞부분에 다시 나오므로 가장 긴 일치 구간을 제거
+ */
+public final class TranscriptMerger {
+
+    private static final int MAX_OVERLAP_WORDS = 12;
+
+    private TranscriptMerger() {
+    }
+
+    public static String merge(List<AudioChunk> chunks, List<String> transcripts) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < transcripts.size(); i++) {
+            String transcript = transcripts.get(i);
+            if (transcript == null || transcript.isBlank()) {
+                continue;
+            }
+            List<String> next = Arrays.asList(transcript.trim().split("\\s+"));
+            if (chunks.get(i).overlapSeconds() > 0) {
+                next = next.subList(overlapLength(words, next), next.size());
+            }
+            words.addAll(next);
+        }
+        return String.join(" ", words);
+    }
+
+    private static int overlapLength(List<String> previous, List<String> next) {
+        int limit = Math.min(MAX_OVERLAP_WORDS, Math.min(previous.size(), next.size()));
+        for (int length = limit; length > 0; length--) {
+            boolean matches = true;
+            for (int k = 0; k < length; k++) {
+                if (!normalize(previous.get(previous.size() - length + k)).equals(normalize(next.get(k)))) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    // 청크 경계에서는 문장부호가 달라지기 쉬우므로 비교 시 제외
+    private static String normalize(String word) {
+        return word.replaceAll("[\\p{Punct}…·]", "").toLowerCase();
+    }
+}
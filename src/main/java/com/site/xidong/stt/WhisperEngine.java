@@ -0,0 +1,70 @@
+package com.site.xidong.stt;
+
+import com.site.xidong.feedback.LocalWhisperService;
+import com.site.xidong.pipeline.BoundedResource;
+import com.site.xidong.pipeline.ResourceLimits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 로컬 Whisper STT
+ * 상주 워커 풀이 있으면 풀을, 없으면 호출마다 Python 프로세스를 띄우는 방식을 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WhisperEngine implements SpeechToTextEngine {
+
+    private final ObjectProvider<WhisperWorkerPool> whisperWorkerPool;
+    private final LocalWhisperService localWhisperService;
+    private final ResourceLimits resourceLimits;
+
+    @Override
+    public String getName() {
+        return "whisper";
+    }
+
+    @Override
+    public int getDefaultConcurrency() {
+        WhisperWorkerPool pool = whisperWorkerPool.getIfAvailable();
+        return pool != null ? pool.getSize() : 1;
+    }
+
+    @Override
+    public String transcribe(SttRequest request) throws Exception {
+        if (!request.isClipped()) {
+            return run(request.getSource());
+        }
+
+        // 구간 요청은 16kHz mono wav로 잘라서 전달 (Whisper 입력 형식과 동일해 재샘플링 없음)
+        Path clip = Files.createTempFile("whisper-" + request.getVideoId() + "-", ".wav");
+        try {
+            try (ResourceLimits.Permit ignored = resourceLimits.acquire(BoundedResource.FFMPEG)) {
+                AudioExtractor.extract(request, clip, List.of("-ac", "1", "-ar", "16000", "-acodec", "pcm_s16le"), 120);
+            }
+            return run(clip.toString());
+        } finally {
+            Files.deleteIfExists(clip);
+        }
+    }
+
+    private String run(String source) throws Exception {
+        long start = System.currentTimeMillis();
+        WhisperWorkerPool pool = whisperWorkerPool.getIfAvailable();
+        if (pool == null) {
+            // 워커 풀은 풀 크기로 제한되지만 호출마다 띄우는 프로세스는 별도 한도가 필요
+            try (ResourceLimits.Permit ignored = resourceLimits.acquire(BoundedResource.WHISPER)) {
+                return localWhisperService.transcribeFromUrl(source);
+            }
+        }
+        String transcript = pool.transcribe(source).trim();
+        log.info("Whisper STT 완료(워커 풀): 길이 {}, 소요시간 {}ms", transcript.length(), System.currentTimeMillis() - start);
+        return transcript;
+    }
+}
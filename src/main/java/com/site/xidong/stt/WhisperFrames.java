@@ -0,0 +1,38 @@
+package com.site.xidong.stt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Whisper 워커와 주고받는 프레임 형식
+ * [4바이트 big-endian 길이][UTF-8 JSON 본문]
+ */
+public final class WhisperFrames {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    private WhisperFrames() {
+    }
+
+    public static void write(DataOutputStream output, Object payload) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(payload);
+        output.writeInt(body.length);
+        output.write(body);
+        output.flush();
+    }
+
+    public static JsonNode read(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("잘못된 프레임 길이: " + length);
+        }
+        byte[] body = new byte[length];
+        input.readFully(body);
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,138 @@
+package com.site.xidong.stt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 모델을 메모리에 올린 채 대기하는 Whisper 프로세스 하나
+ * 한 번에 하나의 요청만 처리하며, 동시 사용은 WhisperWorkerPool이 막음
+ */
+@Slf4j
+public class WhisperWorker {
+
+    @Getter
+    private final int workerId;
+    private final List<String> command;
+    private final ScheduledExecutorService watchdog;
+
+    private Process process;
+    private DataInputStream input;
+    private DataOutputStream output;
+
+    @Getter
+    private int completedJobs;
+    @Getter
+    private volatile boolean healthy;
+
+    public WhisperWorker(int workerId, List<String> command, ScheduledExecutorService watchdog) {
+        this.workerId = workerId;
+        this.command = command;
+        this.watchdog = watchdog;
+    }
+
+    public void start(Duration startupTimeout) throws IOException {
+        process = new ProcessBuilder(command).start();
+        input = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        output = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+
+        // stderr는 모델 로딩 진행상황 등이므로 로그로만 흘려보냄
+        Thread errorThread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    log.debug("Whisper 워커 {}: {}", workerId, line);
+                }
+            } catch (IOException e) {
+                log.debug("Whisper 워커 {} stderr 종료", workerId);
+            }
+        }, "WhisperWorker-" + workerId + "-stderr");
+        errorThread.setDaemon(true);
+        errorThread.start();
+
+        JsonNode ready = readFrame(startupTimeout);
+        if (!"ready".equals(ready.path("type").asText())) {
+            destroy();
+            throw new IOException("Whisper 워커 초기화 응답이 올바르지 않음: " + ready);
+        }
+        healthy = true;
+        log.info("Whisper 워커 {} 준비 완료 (pid={})", workerId, process.pid());
+    }
+
+    public String transcribe(String source, Duration timeout) throws IOException {
+        String requestId = UUID.randomUUID().toString();
+        WhisperFrames.write(output, Map.of("type", "transcribe", "id", requestId, "source", source));
+        JsonNode response = readFrame(timeout);
+        completedJobs++;
+
+        if (!response.path("ok").asBoolean(false)) {
+            // 작업 단위 실패이므로 워커는 계속 사용 가능
+            throw new IOException("Whisper 변환 실패: " + response.path("error").asText());
+        }
+        return response.path("text").asText("");
+    }
+
+    public boolean ping(Duration timeout) {
+        try {
+            WhisperFrames.write(output, Map.of("type", "ping"));
+            return "pong".equals(readFrame(timeout).path("type").asText());
+        } catch (Exception e) {
+            log.warn("Whisper 워커 {} 헬스체크 실패: {}", workerId, e.getMessage());
+            healthy = false;
+            return false;
+        }
+    }
+
+    // 응답이 제한 시간 안에 오지 않으면 프로세스를 종료해 블로킹된 read를 풀어냄
+    private JsonNode readFrame(Duration timeout) throws IOException {
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        ScheduledFuture<?> killer = watchdog.schedule(() -> {
+            timedOut.set(true);
+            process.destroyForcibly();
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            return WhisperFrames.read(input);
+        } catch (IOException e) {
+            healthy = false;
+            if (timedOut.get()) {
+                throw new SttTimeoutException("Whisper 워커 " + workerId + " 응답 시간 초과 (" + timeout.toSeconds() + "초)");
+            }
+            throw e;
+        } finally {
+            killer.cancel(false);
+        }
+    }
+
+    public void destroy() {
+        healthy = false;
+        if (process == null) {
+            return;
+        }
+        try {
+            WhisperFrames.write(output, Map.of("type", "shutdown"));
+        } catch (Exception ignored) {
+            // 이미 종료된 프로세스
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+}
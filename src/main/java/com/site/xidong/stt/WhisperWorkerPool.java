@@ -0,0 +1,204 @@
+package com.site.xidong.stt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상주 Whisper 워커 프로세스 풀
+ * 모델을 한 번만 로드하고 프레임 프로토콜로 작업을 주고받음
+ * 응답 없음/비정상 종료/최대 처리 건수 도달 시 워커를 교체하며, 재시작 실패는 지수 백오프로 재시도
+ */
+@Slf4j
+public class WhisperWorkerPool {
+
+    private static final long RESTART_BACKOFF_BASE_MS = 1000;
+    private static final long RESTART_BACKOFF_MAX_MS = 60000;
+
+    private final List<String> command;
+    private final int size;
+    private final Duration jobTimeout;
+    private final Duration startupTimeout;
+    private final Duration acquireTimeout;
+    private final Duration healthCheckInterval;
+    private final int maxJobsPerWorker;
+
+    private final BlockingQueue<WhisperWorker> idleWorkers = new LinkedBlockingQueue<>();
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final AtomicInteger nextWorkerId = new AtomicInteger();
+    private final ScheduledExecutorService maintenance;
+    private final ScheduledExecutorService watchdog;
+
+    private final Counter restartCounter;
+    private final Timer jobTimer;
+
+    private volatile boolean running;
+
+    public WhisperWorkerPool(List<String> command, int size, Duration jobTimeout, Duration startupTimeout,
+                             Duration acquireTimeout, Duration healthCheckInterval, int maxJobsPerWorker,
+                             MeterRegistry meterRegistry) {
+        this.command = List.copyOf(command);
+        this.size = size;
+        this.jobTimeout = jobTimeout;
+        this.startupTimeout = startupTimeout;
+        this.acquireTimeout = acquireTimeout;
+        this.healthCheckInterval = healthCheckInterval;
+        this.maxJobsPerWorker = maxJobsPerWorker;
+
+        // 워커 기동/헬스체크는 블로킹되므로 응답 시간 감시용 스레드와 분리
+        CustomizableThreadFactory maintenanceThreads = new CustomizableThreadFactory("WhisperPool-");
+        maintenanceThreads.setDaemon(true);
+        this.maintenance = Executors.newScheduledThreadPool(Math.max(2, size), maintenanceThreads);
+        CustomizableThreadFactory watchdogThreads = new CustomizableThreadFactory("WhisperWatchdog-");
+        watchdogThreads.setDaemon(true);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(watchdogThreads);
+
+        Gauge.builder("stt.whisper.pool.idle", idleWorkers, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("stt.whisper.pool.busy", busyWorkers, AtomicInteger::get).register(meterRegistry);
+        this.restartCounter = Counter.builder("stt.whisper.pool.restarts").register(meterRegistry);
+        this.jobTimer = Timer.builder("stt.whisper.pool.job")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        running = true;
+        log.info("Whisper 워커 풀 시작: {}개, 명령: {}", size, command);
+        for (int i = 0; i < size; i++) {
+            scheduleSpawn(0);
+        }
+        maintenance.scheduleWithFixedDelay(this::healthCheck,
+                healthCheckInterval.toMillis(), healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public String transcribe(String source) throws IOException, InterruptedException {
+        WhisperWorker worker = idleWorkers.poll(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (worker == null) {
+            throw new SttTimeoutException("사용 가능한 Whisper 워커 없음 (" + acquireTimeout.toSeconds() + "초 대기)");
+        }
+
+        busyWorkers.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return worker.transcribe(source, jobTimeout);
+        } finally {
+            jobTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            busyWorkers.decrementAndGet();
+            release(worker);
+        }
+    }
+
+    public int getIdleCount() {
+        return idleWorkers.size();
+    }
+
+    public int getBusyCount() {
+        return busyWorkers.get();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private void release(WhisperWorker worker) {
+        if (!worker.isHealthy()) {
+            log.warn("Whisper 워커 {} 비정상, 교체", worker.getWorkerId());
+            replace(worker);
+        } else if (worker.getCompletedJobs() >= maxJobsPerWorker) {
+            log.info("Whisper 워커 {} 최대 처리 건수({}) 도달, 교체", worker.getWorkerId(), maxJobsPerWorker);
+            replace(worker);
+        } else {
+            returnIdle(worker);
+        }
+    }
+
+    // 종료 후 돌아온 워커는 풀에 넣지 않고 바로 종료 (종료 시점에 처리 중이던 워커 포함)
+    private void returnIdle(WhisperWorker worker) {
+        if (!running) {
+            worker.destroy();
+            return;
+        }
+        idleWorkers.offer(worker);
+        // shutdown()이 대기 워커를 비운 뒤 넣었을 수 있으므로 다시 확인
+        if (!running && idleWorkers.remove(worker)) {
+            worker.destroy();
+        }
+    }
+
+    private void replace(WhisperWorker worker) {
+        if (!running) {
+            worker.destroy();
+            return;
+        }
+        try {
+            maintenance.execute(worker::destroy);
+        } catch (RejectedExecutionException e) {
+            // 종료와 겹친 경우: 호출한 작업의 결과/예외를 덮어쓰지 않도록 여기서 정리
+            worker.destroy();
+            return;
+        }
+        restartCounter.increment();
+        scheduleSpawn(0);
+    }
+
+    private void scheduleSpawn(int attempt) {
+        if (!running) {
+            return;
+        }
+        long delay = attempt == 0 ? 0 : Math.min(RESTART_BACKOFF_BASE_MS << Math.min(attempt - 1, 16), RESTART_BACKOFF_MAX_MS);
+        maintenance.schedule(() -> spawn(attempt), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void spawn(int attempt) {
+        if (!running) {
+            return;
+        }
+        WhisperWorker worker = new WhisperWorker(nextWorkerId.incrementAndGet(), command, watchdog);
+        try {
+            worker.start(startupTimeout);
+            returnIdle(worker);
+        } catch (Exception e) {
+            log.error("Whisper 워커 시작 실패 (시도 {}회): {}", attempt + 1, e.getMessage());
+            worker.destroy();
+            scheduleSpawn(attempt + 1);
+        }
+    }
+
+    // 대기 중인 워커만 점검하므로 처리 중인 작업에는 영향 없음
+    // 한 번에 하나씩 꺼내 점검 후 바로 돌려놓아, 점검 중에도 나머지 워커는 작업을 받을 수 있음
+    private void healthCheck() {
+        int count = idleWorkers.size();
+        for (int i = 0; i < count && running; i++) {
+            WhisperWorker worker = idleWorkers.poll();
+            if (worker == null) {
+                return;
+            }
+            if (worker.ping(Duration.ofSeconds(10))) {
+                returnIdle(worker);
+            } else {
+                replace(worker);
+            }
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        List<WhisperWorker> workers = new ArrayList<>();
+        idleWorkers.drainTo(workers);
+        workers.forEach(WhisperWorker::destroy);
+        maintenance.shutdownNow();
+        // 이미 예약된 응답 시간 감시는 그대로 실행해 처리 중인 작업이 멈춰 있지 않게 함
+        watchdog.shutdown();
+        log.info("Whisper 워커 풀 종료");
+    }
+}
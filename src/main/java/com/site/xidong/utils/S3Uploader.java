@@ -4,6 +4,7 @@ import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.site.xidong.video.UploadMetadata;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,7 +33,11 @@ public class S3Uploader {
     @Value("${cloud.aws.region.static}")
     private String region;
 
-    public Map<String, String> generatePresignedUrl(String fileName) {
+    /**
+     * 영상 정보를 x-amz-meta-* 헤더로 함께 서명
+     * 클라이언트는 응답에 포함된 x-amz-meta-* 값을 같은 헤더로 PUT 요청에 실어야 함
+     */
+    public Map<String, String> generatePresignedUrl(String fileName, UploadMetadata uploadMetadata) {
         // 5분 후 만료되도록 설정
         Date expiration = new Date();
         expiration.setTime(expiration.getTime() + (5 * 60 * 1000));
@@ -46,13 +51,17 @@ public class S3Uploader {
                 .withExpiration(expiration);
 
         // Content-Type을 WebM으로 설정
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType("video/webm");
         request.setContentType("video/webm");
 
+        Map<String, String> signedHeaders = new HashMap<>();
+        uploadMetadata.toS3Metadata().forEach((key, value) -> {
+            request.putCustomRequestHeader("x-amz-meta-" + key, value);
+            signedHeaders.put("x-amz-meta-" + key, value);
+        });
+
         URL url = amazonS3Client.generatePresignedUrl(request);
 
-        Map<String, String> response = new HashMap<>();
+        Map<String, String> response = new HashMap<>(signedHeaders);
         response.put("presignedUrl", url.toString());
         response.put("videoUrl", getS3UrlPrefix() + "/" + webmFileName);
         response.put("videoKey", webmFileName);
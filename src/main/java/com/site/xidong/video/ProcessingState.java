@@ -0,0 +1,35 @@
+package com.site.xidong.video;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 영상 처리 상태
+ * 상태 변경은 VideoStateMachine을 통해서만 하며, 여기 정의된 이전 상태에서만 전환 가능
+ */
+public enum ProcessingState {
+
+    PROCESSING,    // 초기 저장 또는 DB 큐 재시도로 다시 처리 시작
+    TRANSCRIBING,  // STT 진행 중
+    NO_RESPONSE,   // 인식된 답변 없음
+    COMPLETED,     // 피드백 생성 완료
+    ERROR;         // 처리 실패 (DB 큐 재시도 대상이면 다시 PROCESSING으로)
+
+    public Set<ProcessingState> sources() {
+        return switch (this) {
+            // 완료된 영상은 다시 처리하지 않음
+            case PROCESSING -> EnumSet.of(PROCESSING, TRANSCRIBING, NO_RESPONSE, ERROR);
+            case TRANSCRIBING -> EnumSet.of(PROCESSING);
+            case NO_RESPONSE, COMPLETED -> EnumSet.of(TRANSCRIBING);
+            case ERROR -> EnumSet.of(PROCESSING, TRANSCRIBING);
+        };
+    }
+
+    public boolean canTransitionTo(ProcessingState next) {
+        return next.sources().contains(this);
+    }
+
+    public boolean isTerminal() {
+        return this == NO_RESPONSE || this == COMPLETED || this == ERROR;
+    }
+}
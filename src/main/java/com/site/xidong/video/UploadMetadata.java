@@ -0,0 +1,50 @@
+package com.site.xidong.video;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 녹화 클라이언트가 업로드 시 알려주는 영상 정보
+ * presigned PUT에 x-amz-meta-* 헤더로 서명되어 S3 객체 메타데이터로 남고, 업로드 완료 요청에도 함께 전달됨
+ */
+@Getter
+@Builder
+public class UploadMetadata {
+
+    public static final UploadMetadata EMPTY = UploadMetadata.builder().build();
+
+    private static final double MAX_DURATION_SECONDS = 3 * 60 * 60;
+    private static final Pattern RESOLUTION = Pattern.compile("^\\d{2,5}x\\d{2,5}$");
+    private static final Pattern CODEC = Pattern.compile("^[A-Za-z0-9._-]{1,32}$");
+
+    private final Double duration;
+    private final String resolution;
+    private final String codec;
+
+    // 형식이 맞지 않는 값은 버림 (서명 헤더/DB에 그대로 들어가므로)
+    public UploadMetadata sanitized() {
+        return UploadMetadata.builder()
+                .duration(duration != null && duration > 0 && duration <= MAX_DURATION_SECONDS ? duration : null)
+                .resolution(resolution != null && RESOLUTION.matcher(resolution).matches() ? resolution : null)
+                .codec(codec != null && CODEC.matcher(codec).matches() ? codec : null)
+                .build();
+    }
+
+    public Map<String, String> toS3Metadata() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        if (duration != null) {
+            metadata.put("duration", String.valueOf(duration));
+        }
+        if (resolution != null) {
+            metadata.put("resolution", resolution);
+        }
+        if (codec != null) {
+            metadata.put("codec", codec);
+        }
+        return metadata;
+    }
+}
@@ -6,6 +6,8 @@ import com.site.xidong.question.Question;
 import com.site.xidong.siteUser.SiteUser;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -51,6 +53,9 @@ public class Video {
 
     private boolean isOpen;
 
+    // Hibernate 기본값인 MySQL ENUM 대신 기존 VARCHAR 컬럼 그대로 사용 (ddl-auto=validate)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false)
-    private String processingStatus;
+    private ProcessingState processingStatus;
 }
@@ -1,15 +1,16 @@
 package com.site.xidong.video;
 
+import com.site.xidong.pipeline.VideoPipeline;
 import com.site.xidong.security.SiteUserSecurityDTO;
 import com.site.xidong.utils.S3Uploader;
 import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.joda.time.DateTime;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @Log4j2
@@ -25,23 +27,45 @@ public class VideoController {
 
     private final S3Uploader s3Uploader;
     private final VideoService videoService;
-    private final ThreadPoolTaskExecutor executor;
+    private final VideoPipeline videoPipeline;
+    private final MeterRegistry meterRegistry;
     @Value("${db.queue.enabled}")
     private boolean useDbQueue;
 
+    // 일반 모드에서 파이프라인이 가득 찼을 때: spill(DB 큐로 넘김) 또는 reject(429)
+    @Value("${video.overflow.action:spill}")
+    private String overflowAction;
 
-    public VideoController(S3Uploader s3Uploader, VideoService videoService, @Qualifier("threadPoolTaskExecutor") ThreadPoolTaskExecutor executor) {
+    @Value("${video.overflow.retry-after-seconds:30}")
+    private int retryAfterSeconds;
+
+    // 일반 모드에서 넘친 요청은 바로 처리될 것을 기대하던 요청이므로 큐 모드로 들어온 요청보다 먼저 가져감
+    @Value("${video.overflow.queue-priority:10}")
+    private int spillPriority;
+
+
+    public VideoController(S3Uploader s3Uploader, VideoService videoService, VideoPipeline videoPipeline, MeterRegistry meterRegistry) {
         this.s3Uploader = s3Uploader;
         this.videoService = videoService;
-        this.executor = executor;
+        this.videoPipeline = videoPipeline;
+        this.meterRegistry = meterRegistry;
     }
 
     @GetMapping("/presigned")
     public ResponseEntity<Map<String, String>> getPresignedUrl(
-            @RequestParam Long questionId) {
+            @RequestParam Long questionId,
+            @RequestParam(required = false) Double duration,
+            @RequestParam(required = false) String resolution,
+            @RequestParam(required = false) String codec) {
         try {
             String fileName = DateTime.now() + "_video.webm";
-            Map<String, String> response = s3Uploader.generatePresignedUrl(fileName);
+            UploadMetadata uploadMetadata = UploadMetadata.builder()
+                    .duration(duration)
+                    .resolution(resolution)
+                    .codec(codec)
+                    .build()
+                    .sanitized();
+            Map<String, String> response = s3Uploader.generatePresignedUrl(fileName, uploadMetadata);
             response.put("videoKey", fileName);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -62,9 +86,14 @@ public class VideoController {
             if (!useDbQueue) {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
                 SiteUserSecurityDTO userDetails = (SiteUserSecurityDTO) auth.getPrincipal();
-                CompletableFuture<Void> result = videoService.createInitial(userDetails.getUsername(), request.getQuestionId(), request.getRequestNo(), request.getVideoKey(), false, startTime);
-                return ResponseEntity.accepted()
-                        .body(Map.of("mode", "일반 모드"));
+                if (videoPipeline.hasCapacity()) {
+                    CompletableFuture<Void> result = videoService.createInitial(userDetails.getUsername(), request.getQuestionId(), request.getRequestNo(), request.getVideoKey(), false, startTime, request.toUploadMetadata());
+                    if (!rejectedOnSubmit(result)) {
+                        return ResponseEntity.accepted()
+                                .body(Map.of("mode", "일반 모드"));
+                    }
+                }
+                return overflow(request, startTime);
             } else {
                 log.warn("DB 큐에 요청 저장");
 
@@ -73,7 +102,9 @@ public class VideoController {
                         request.getRequestNo(),
                         request.getVideoKey(),
                         request.isOpen(),
-                        startTime
+                        startTime,
+                        request.toUploadMetadata(),
+                        0
                 );
 
                 return ResponseEntity.accepted()
@@ -94,6 +125,50 @@ public class VideoController {
         }
     }
 
+    // 요청 스레드는 파이프라인 작업을 대신 실행하지 않음: DB 큐로 넘기거나 나중에 다시 오도록 안내
+    private ResponseEntity<Map<String, String>> overflow(VideoUploadCompleteRequest request, long startTime) {
+        if ("reject".equalsIgnoreCase(overflowAction)) {
+            meterRegistry.counter("video.overflow", "source", "complete-upload", "action", "rejected").increment();
+            log.warn("파이프라인 포화로 요청 거부: videoKey={}", request.getVideoKey());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Map.of("error", "처리 중인 영상이 많습니다. 잠시 후 다시 시도해주세요"));
+        }
+
+        meterRegistry.counter("video.overflow", "source", "complete-upload", "action", "spilled").increment();
+        log.warn("파이프라인 포화로 DB 큐에 저장: videoKey={}", request.getVideoKey());
+        Long queueId = videoService.enqueue(
+                request.getQuestionId(),
+                request.getRequestNo(),
+                request.getVideoKey(),
+                request.isOpen(),
+                startTime,
+                request.toUploadMetadata(),
+                spillPriority
+        );
+        return ResponseEntity.accepted()
+                .body(Map.of(
+                        "status", "queued",
+                        "queueId", queueId.toString(),
+                        "message", "요청이 메시지 큐에 추가되었습니다"
+                ));
+    }
+
+    // 단계 실행기가 가득 차면 제출 시점에 바로 거부되므로 아직 아무 작업도 시작되지 않은 상태
+    private static boolean rejectedOnSubmit(CompletableFuture<Void> result) {
+        if (!result.isCompletedExceptionally()) {
+            return false;
+        }
+        Throwable cause = result.handle((ignored, throwable) -> throwable).join();
+        while (cause != null) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
     @GetMapping("/{videoId}")
     public ResponseEntity<VideoWithFeedbackDTO> getVideo(@PathVariable Long videoId) {
         VideoWithFeedbackDTO videoWithFeedbackDTO;
@@ -1,17 +1,31 @@
 package com.site.xidong.video;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface VideoRepository extends JpaRepository<Video, Long> {
     Optional<Video> findById(Long id);
 
+    Optional<Video> findFirstByVideoNameOrderByIdDesc(String videoName);
+
     @Query("SELECT v FROM Video v WHERE v.isOpen = true")
     List<Video> findAllOpenVideos();
 
     @Query("SELECT v FROM Video v WHERE v.siteUser.username = :username")
     List<Video> findMyVideos(String username);
+
+    @Modifying
+    @Query("UPDATE Video v SET v.thumbnail = :thumbnail WHERE v.id = :videoId")
+    int updateThumbnail(Long videoId, String thumbnail);
+
+    // 현재 상태가 from 중 하나일 때만 변경 (엔티티를 다시 읽지 않고 전환 규칙을 한 번의 UPDATE로 확인)
+    @Modifying
+    @Query("UPDATE Video v SET v.processingStatus = :to, v.updatedAt = :now WHERE v.id = :videoId AND v.processingStatus IN :from")
+    int transitionState(Long videoId, Collection<ProcessingState> from, ProcessingState to, LocalDateTime now);
 }
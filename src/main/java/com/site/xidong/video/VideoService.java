@@ -1,16 +1,34 @@
 package com.site.xidong.video;
 
+import com.site.xidong.config.AwsClientRegistry;
 import com.site.xidong.feedback.*;
+import com.site.xidong.media.MediaProbe;
 import com.site.xidong.notification.NotificationService;
 import com.site.xidong.notification.VideoNotificationDTO;
+import com.site.xidong.pipeline.BoundedResource;
+import com.site.xidong.pipeline.PipelineStage;
+import com.site.xidong.pipeline.ResourceLimits;
+import com.site.xidong.pipeline.VideoJobContext;
+import com.site.xidong.pipeline.VideoPipeline;
 import com.site.xidong.question.Question;
 import com.site.xidong.question.QuestionNotFoundException;
 import com.site.xidong.question.QuestionRepository;
+import com.site.xidong.queue.PendingCountCache;
 import com.site.xidong.queue.VideoProcessingQueue;
 import com.site.xidong.queue.VideoProcessingQueueRepository;
+import com.site.xidong.queue.VideoQueuedEvent;
 import com.site.xidong.security.SiteUserSecurityDTO;
 import com.site.xidong.siteUser.SiteUser;
 import com.site.xidong.siteUser.SiteUserRepository;
+import com.site.xidong.stt.AudioChunk;
+import com.site.xidong.stt.AudioTrack;
+import com.site.xidong.stt.AudioTrackExtractor;
+import com.site.xidong.stt.ChunkPlanner;
+import com.site.xidong.stt.SttChunkFailedException;
+import com.site.xidong.stt.SttRequest;
+import com.site.xidong.stt.SttTimeoutException;
+import com.site.xidong.stt.SpeechToTextRouter;
+import com.site.xidong.stt.TranscriptMerger;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -19,25 +37,17 @@ import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.Frame;
 import org.bytedeco.javacv.Java2DFrameConverter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
-import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
-import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 import javax.imageio.IIOImage;
@@ -58,24 +68,33 @@ import java.util.*;
 import java.util.List;
 import java.util.concurrent.*;
 
+/**
+ * 영상 처리 파이프라인과 영상 조회/수정
+ * 파이프라인(S3, ffmpeg, STT, Claude 호출)은 트랜잭션 밖에서 실행하고,
+ * DB 변경은 상태 전환마다 짧은 트랜잭션으로 나눠 외부 호출 동안 커넥션을 잡지 않음
+ */
 @Slf4j
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class VideoService {
 
     private static final String DEFAULT_THUMBNAIL_URL = "https://dive-s3-ver2.s3.ap-northeast-2.amazonaws.com/Gk9C7kwWkAATlwl.jpeg";
-    private static final int CORE_POOL_SIZE = 10;
-    private static final int QUEUE_CAPACITY = 50;
-    private static final double CAPACITY_THRESHOLD = 0.8;
     private final VideoRepository videoRepository;
+    private final VideoStateMachine videoStateMachine;
     private final SiteUserRepository siteUserRepository;
     private final QuestionRepository questionRepository;
-    private final AwsTranscribe awsTranscribe;
     private final FeedbackService feedbackService;
     private final NotificationService notificationService;
     private final VideoProcessingQueueRepository queueRepository;
-    private final LocalWhisperService localWhisperService;
+    private final AwsClientRegistry awsClientRegistry;
+    private final MediaProbe mediaProbe;
+    private final VideoPipeline videoPipeline;
+    private final SpeechToTextRouter speechToTextRouter;
+    private final ChunkPlanner chunkPlanner;
+    private final AudioTrackExtractor audioTrackExtractor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResourceLimits resourceLimits;
+    private final PendingCountCache pendingCountCache;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -83,12 +102,8 @@ public class VideoService {
     @Value("${cloud.aws.region.static}")
     private String region;
 
-    @Autowired
-    @Qualifier("threadPoolTaskExecutor")
-    private ThreadPoolTaskExecutor videoProcessingExecutor;
-
-    @Autowired
-    private ServletWebServerApplicationContext context;
+    @Value("${stt.chunk.max-failed-ratio:0.1}")
+    private double maxFailedChunkRatio;
 
     @Autowired @Lazy
     private VideoService self;
@@ -97,202 +112,303 @@ public class VideoService {
         return "https://" + bucket + ".s3." + region + ".amazonaws.com";
     }
 
-    @Async("videoProcessingExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public CompletableFuture<Void> createInitial(String username, Long questionId, int requestNo, String videoKey, Boolean isOpen, long startTime) {
-        try {
-            SiteUser user = siteUserRepository.findSiteUserByUsername(username)
-                    .orElseThrow(() -> new IllegalStateException("사용자를 찾을 수 없습니다."));
-
-            Question question = questionRepository.findById(questionId)
-                    .orElseThrow(() -> new QuestionNotFoundException());
-
-            // 비디오 URL 생성
-            String videoUrl = String.format("%s/%s", getS3UrlPrefix(), videoKey);
-
-            // Step 5: Video 객체 생성 및 저장
-            Video video = Video.builder()
-                    .videoPath(videoUrl)
-                    .videoName(videoKey)
-                    .siteUser(user)
-                    .question(question)
-                    .createdAt(LocalDateTime.now())
-                    .isOpen(isOpen)
-                    .processingStatus("PROCESSING")
-                    .build();
+    private String presignGetUrl(String videoKey, Duration signatureDuration) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(videoKey)
+                .build();
+        PresignedGetObjectRequest presignedRequest = awsClientRegistry.presigner().presignGetObject(r -> r
+                .signatureDuration(signatureDuration)
+                .getObjectRequest(getObjectRequest));
+        return presignedRequest.url().toString();
+    }
 
-            Video savedVideo = videoRepository.save(video);
-            log.info("비디오 초기 저장 완료: ID={}", savedVideo.getId());
+    /**
+     * 영상 처리 작업을 파이프라인에 투입
+     * 길이 확인 → 썸네일 → STT → 피드백 단계가 각자의 실행기에서 순서대로 실행됨
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Void> createInitial(String username, Long questionId, int requestNo, String videoKey, Boolean isOpen, long startTime,
+                                                 UploadMetadata uploadMetadata) {
+        return createInitial(username, questionId, requestNo, videoKey, isOpen, startTime, uploadMetadata, false);
+    }
 
-            self.processVideo(savedVideo.getId(), requestNo, videoKey, user.getUsername(), startTime);
+    /**
+     * queued: DB 큐에서 꺼낸 작업 여부 (큐가 많이 밀렸을 때 피드백을 배치로 보낼 수 있음)
+     * 호출 측 트랜잭션이 있더라도 잠시 멈추고 실행 (제출 직후 완료되는 콜백이 그 커넥션을 쓰지 않도록)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Void> createInitial(String username, Long questionId, int requestNo, String videoKey, Boolean isOpen, long startTime,
+                                                 UploadMetadata uploadMetadata, boolean queued) {
+        VideoJobContext jobContext = VideoJobContext.builder()
+                .username(username)
+                .questionId(questionId)
+                .requestNo(requestNo)
+                .videoKey(videoKey)
+                .isOpen(isOpen)
+                .startTime(startTime)
+                .uploadMetadata(uploadMetadata)
+                .queued(queued)
+                .build();
 
-            return CompletableFuture.completedFuture(null);
+        long jobStartedAt = videoPipeline.jobStarted();
+        CompletableFuture<VideoJobContext> stages = runStages(jobContext);
+        CompletableFuture<VideoJobContext> processed = stages.thenCompose(this::generateFeedback);
+        // 배치 피드백은 결과가 올 때까지 오래 걸리므로 파이프라인 자리는 단계가 끝나면 바로 반납
+        stages.thenCompose(ctx -> ctx.isBatchFeedback() ? stages : processed)
+                .whenComplete((result, throwable) ->
+                        videoPipeline.jobFinished(jobStartedAt, jobContext.getTotalWaitMillis(), throwable != null));
+        return processed
+                .<Void>handle((result, throwable) -> {
+                    if (throwable == null) {
+                        return null;
+                    }
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    if (jobContext.getVideoId() == null) {
+                        log.error("비디오 초기 처리 실패", cause);
+                        throw new CompletionException(new RuntimeException("비디오 초기 처리에 실패했습니다", cause));
+                    }
+                    log.error("비디오 ID: {} 비동기 처리 중 오류 발생", jobContext.getVideoId(), cause);
+                    self.handleError(jobContext);
+                    // DB 큐가 실패 유형별로 재시도 여부를 판단하도록 원인을 그대로 전달
+                    throw cause instanceof CompletionException ? (CompletionException) cause : new CompletionException(cause);
+                });
+    }
 
-        } catch (Exception e) {
-            log.error("비디오 초기 처리 실패", e);
-            throw new RuntimeException("비디오 초기 처리에 실패했습니다", e);
+    @Transactional
+    public Long saveInitialVideo(VideoJobContext ctx) throws Exception {
+        SiteUser user = siteUserRepository.findSiteUserByUsername(ctx.getUsername())
+                .orElseThrow(() -> new IllegalStateException("사용자를 찾을 수 없습니다."));
+
+        Question question = questionRepository.findById(ctx.getQuestionId())
+                .orElseThrow(() -> new QuestionNotFoundException());
+
+        // DB 큐 재시도로 다시 들어온 작업이면 이전에 만든 Video를 재사용
+        String videoKey = ctx.getVideoKey();
+        Optional<Video> existing = videoRepository.findFirstByVideoNameOrderByIdDesc(videoKey);
+        if (existing.isPresent()) {
+            Video video = existing.get();
+            ctx.setVideoId(video.getId());
+            ctx.setState(video.getProcessingStatus());
+            if (!videoStateMachine.transition(ctx, ProcessingState.PROCESSING)) {
+                throw new IllegalStateException("다시 처리할 수 없는 상태의 비디오입니다: " + video.getProcessingStatus());
+            }
+            log.info("기존 비디오 재처리: ID={}", video.getId());
+            return video.getId();
         }
+
+        // 비디오 URL 생성
+        String videoUrl = String.format("%s/%s", getS3UrlPrefix(), videoKey);
+
+        // Video 객체 생성 및 저장
+        Video video = Video.builder()
+                .videoPath(videoUrl)
+                .videoName(videoKey)
+                .siteUser(user)
+                .question(question)
+                .createdAt(LocalDateTime.now())
+                .isOpen(ctx.getIsOpen())
+                .processingStatus(ProcessingState.PROCESSING)
+                .build();
+
+        Video savedVideo = videoRepository.save(video);
+        ctx.setVideoId(savedVideo.getId());
+        videoStateMachine.created(ctx);
+        log.info("비디오 초기 저장 완료: ID={}", savedVideo.getId());
+        return savedVideo.getId();
     }
 
-    @Transactional(propagation = Propagation.REQUIRED) // 트랜잭션 전파 기법: 기존 트랜잭션 사용
-    public void processVideo(Long videoId, int requestNo, String videoKey, String username, long startTime) {
+    public CompletableFuture<VideoJobContext> processVideo(VideoJobContext jobContext) {
+        return runStages(jobContext).thenCompose(this::generateFeedback);
+    }
 
-        long procStart = System.currentTimeMillis();
+    private CompletableFuture<VideoJobContext> runStages(VideoJobContext jobContext) {
+        return videoPipeline.run(PipelineStage.PROBE, jobContext, this::probeStage)
+                .thenCompose(this::forkThumbnailAndStt)
+                .thenCompose(ctx -> videoPipeline.run(PipelineStage.FEEDBACK, ctx, this::feedbackStage));
+    }
 
-        try {
-            // S3 클라이언트 초기화
-            AwsCredentialsProvider credentialsProvider = DefaultCredentialsProvider.create();
-            S3Client s3Client = S3Client.builder()
-                    .region(Region.AP_NORTHEAST_2)
-                    .credentialsProvider(credentialsProvider)
-                    .build();
+    /**
+     * 썸네일과 STT는 서로 의존하지 않으므로 길이 확인 직후 동시에 시작하고 둘 다 끝나면 합류
+     * 썸네일 실패는 기본 썸네일로 대체하여 영상 처리 자체를 실패시키지 않음
+     */
+    private CompletableFuture<VideoJobContext> forkThumbnailAndStt(VideoJobContext ctx) {
+        CompletableFuture<VideoJobContext> thumbnail = videoPipeline.run(PipelineStage.THUMBNAIL, ctx, this::thumbnailStage)
+                .exceptionally(throwable -> {
+                    log.warn("비디오 ID: {} 썸네일 단계 실패, 영상 처리는 계속 진행", ctx.getVideoId(), throwable);
+                    if (ctx.getThumbnailUrl() == null) {
+                        ctx.setThumbnailUrl(DEFAULT_THUMBNAIL_URL);
+                    }
+                    return ctx;
+                });
+        CompletableFuture<VideoJobContext> stt = videoPipeline.run(PipelineStage.STT, ctx, this::sttStage);
 
-            // 비디오 길이 확인
-            long start = System.currentTimeMillis();
-            double durationInSeconds = getVideoDurationFromS3(s3Client, bucket, videoKey); // FFmpeg로 길이 확인
-            boolean isLongVideo = durationInSeconds > 300; // 5분 이상
-            long end = System.currentTimeMillis();
-            long duration = end - start;
-            long afterDuration = System.currentTimeMillis() - procStart;
-            // 썸네일 생성 (Presigned URL 사용)
-            start = System.currentTimeMillis();
-            String thumbnailKey = videoKey.replace(".webm", "-thumb.jpg");
-            String thumbnailUrl = "";
-            thumbnailUrl = createThumbnailWithPresignedUrl(s3Client, videoKey, thumbnailKey);
-            end = System.currentTimeMillis();
-            duration = end - start;
-            long afterThumbnail = System.currentTimeMillis() - procStart;
-
-            // 비디오 상태 업데이트
-            updateVideoThumbnailAndStatus(videoId, thumbnailUrl);
-
-            // 오디오 처리
-            String answer = "";
-            if (isLongVideo) {
-                log.info("긴 영상 처리: {} 초", durationInSeconds);
-                answer = processLongVideoWithPresignedUrl(s3Client, videoId, videoKey, durationInSeconds);
-            } else {
-                log.info("짧은 영상 처리: {} 초", durationInSeconds);
-                answer = processShortVideoWithPresignedUrl(s3Client, videoId, videoKey);
-            }
+        // allOf는 두 분기가 모두 끝난 뒤에 완료되므로, STT 실패 시에도 썸네일 쓰기가 끝난 후 에러 처리가 진행됨
+        return CompletableFuture.allOf(thumbnail, stt).thenApply(ignored -> ctx);
+    }
 
-            long afterSTT = System.currentTimeMillis() - procStart;
+    private void probeStage(VideoJobContext ctx) throws Exception {
+        Long videoId = self.saveInitialVideo(ctx);
 
-            // 답변 유효성 검사
-            boolean isValidAnswer = isValidAnswer(answer);
+        // 비디오 길이 확인 (메타데이터/클라이언트 신고값 → 컨테이너 헤더 → 크기 기반 추정)
+        UploadMetadata uploadMetadata = ctx.getUploadMetadata();
+        double durationInSeconds = mediaProbe.probe(bucket, ctx.getVideoKey(), uploadMetadata.getDuration()).durationSeconds();
+        if (uploadMetadata.getResolution() != null || uploadMetadata.getCodec() != null) {
+            log.info("업로드 영상 정보: videoId={}, resolution={}, codec={}",
+                    videoId, uploadMetadata.getResolution(), uploadMetadata.getCodec());
+        }
+        ctx.setDurationSeconds(durationInSeconds);
+        ctx.setLongVideo(durationInSeconds > 300); // 5분 이상
+    }
 
-            log.info("답변 유효성 검사 결과: {}, 정제된 텍스트 길이: {}",
-                    isValidAnswer,
-                    answer != null ? answer.trim().length() : 0);
+    private void thumbnailStage(VideoJobContext ctx) throws Exception {
+        // 썸네일 생성 (Presigned URL 사용)
+        String thumbnailKey = ctx.getVideoKey().replace(".webm", "-thumb.jpg");
+        String thumbnailUrl;
+        try (ResourceLimits.Permit ignored = resourceLimits.acquire(BoundedResource.FFMPEG)) {
+            thumbnailUrl = createThumbnailWithPresignedUrl(awsClientRegistry.s3(), ctx.getVideoKey(), thumbnailKey);
+        }
+        ctx.setThumbnailUrl(thumbnailUrl);
+
+        // STT 완료를 기다리지 않고 썸네일을 바로 반영 및 알림
+        self.updateVideoThumbnail(ctx.getVideoId(), thumbnailUrl);
+        VideoNotificationDTO thumbnailData = VideoNotificationDTO.builder()
+                .videoId(ctx.getVideoId())
+                .status("THUMBNAIL_READY")
+                .message("썸네일이 생성되었습니다.")
+                .thumbnailUrl(thumbnailUrl)
+                .build();
+        notificationService.send(ctx.getUsername(), "video-thumbnail", thumbnailData);
+    }
 
-            if (!isValidAnswer) {
-                log.warn("비디오 ID: {} 유효한 답변이 없습니다. 원본 답변: '{}'", videoId, answer);
+    private void sttStage(VideoJobContext ctx) {
+        if (!videoStateMachine.transition(ctx, ProcessingState.TRANSCRIBING)) {
+            throw new IllegalStateException("STT를 시작할 수 없는 상태의 비디오입니다: videoId=" + ctx.getVideoId());
+        }
 
-                handleInvalidAnswer(videoId, username, answer);
-                return; // 함수 종료
-            }
+        // 오디오 처리
+        String answer;
+        if (ctx.isLongVideo()) {
+            log.info("긴 영상 처리: {} 초", ctx.getDurationSeconds());
+            answer = processLongVideoWithPresignedUrl(ctx.getVideoId(), ctx.getVideoKey(), ctx.getDurationSeconds());
+        } else {
+            log.info("짧은 영상 처리: {} 초", ctx.getDurationSeconds());
+            answer = processShortVideoWithPresignedUrl(ctx.getVideoId(), ctx.getVideoKey(), ctx.getDurationSeconds());
+        }
+        ctx.setAnswer(answer);
+    }
 
-            // 피드백 처리 및 최종 업데이트
-            handleValidAnswer(videoId, username, answer);
+    private void feedbackStage(VideoJobContext ctx) throws Exception {
+        Long videoId = ctx.getVideoId();
+        String answer = ctx.getAnswer();
 
-            long afterFeedback = System.currentTimeMillis() - procStart;
+        // 답변 유효성 검사
+        boolean isValidAnswer = isValidAnswer(answer);
+        ctx.setAnswerValid(isValidAnswer);
+        // 사용자가 기다리는 직접 처리 요청은 항상 실시간, 큐 작업은 큐가 많이 밀렸을 때만 배치
+        ctx.setBatchFeedback(isValidAnswer && ctx.isQueued() && feedbackService.acceptsBatch(pendingCountCache.get()));
 
-            long completedAt = System.currentTimeMillis();
-            String threadName = Thread.currentThread().getName();
-            String threadType = threadName.contains("http-nio") ? "Tomcat" : "Java";
+        log.info("답변 유효성 검사 결과: {}, 정제된 텍스트 길이: {}",
+                isValidAnswer,
+                answer != null ? answer.trim().length() : 0);
 
-            int poolSize = 0; int activeCount = 0;
-            if (threadType.equals("Tomcat")) {
-                TomcatWebServer tomcatWebServer = (TomcatWebServer) context.getWebServer();
-                ThreadPoolExecutor tomcatExecutor = (ThreadPoolExecutor) tomcatWebServer
-                        .getTomcat()
-                        .getConnector()
-                        .getProtocolHandler()
-                        .getExecutor();
+        if (!isValidAnswer) {
+            log.warn("비디오 ID: {} 유효한 답변이 없습니다. 원본 답변: '{}'", videoId, answer);
 
-                poolSize = tomcatExecutor.getPoolSize();
-                activeCount = tomcatExecutor.getActiveCount();
-            } else {
-                poolSize = videoProcessingExecutor.getPoolSize();
-                activeCount = videoProcessingExecutor.getActiveCount();
-            }
-            log.info("videoId={}, requestNo={}, thread={}, threadType={}," +
-                            " poolSize={}, activeCount={}," +
-                            " acceptedAt={}, completedAt={}, duration={}ms, heap={}MB",
-                    videoId, requestNo, threadName, threadType,
-                    poolSize,
-                    activeCount,
-                    startTime, completedAt, (completedAt - startTime),
-                    (Runtime.getRuntime().totalMemory()
-                            - Runtime.getRuntime().freeMemory()) / 1024 / 1024); //근사값
-        } catch (Exception e) {
-            log.error("비디오 ID: {} 비동기 처리 중 오류 발생", videoId, e);
-            handleError(videoId, username);
+            self.handleInvalidAnswer(ctx);
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRED)
-    public void updateVideoThumbnailAndStatus(Long videoId, String thumbnailUrl) {
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new RuntimeException("Video not found with id: " + videoId));
-        video.setThumbnail(thumbnailUrl);
-        video.setProcessingStatus("TRANSCRIBING");
-        videoRepository.save(video);
-    }
-
-    @Transactional(propagation = Propagation.REQUIRED)
-    public void handleInvalidAnswer(Long videoId, String username, String answer) {
-        log.warn("비디오 ID: {} 유효한 답변이 없습니다. 원본 답변: '{}'", videoId, answer);
-        Video video = videoRepository.findById(videoId).orElse(null);
-        if (video != null) {
-            video.setProcessingStatus("NO_RESPONSE");
-            videoRepository.save(video);
+    /**
+     * Claude 응답은 스트리밍으로 받으므로 생성되는 동안 파이프라인 워커를 점유하지 않음
+     * 생성 중인 텍스트는 SSE로 먼저 보내고, 완료되면 상태 갱신과 완료 알림
+     */
+    private CompletableFuture<VideoJobContext> generateFeedback(VideoJobContext ctx) {
+        if (!ctx.isAnswerValid()) {
+            return CompletableFuture.completedFuture(ctx);
+        }
+        Long videoId = ctx.getVideoId();
+        long start = System.currentTimeMillis();
+        FeedbackStreamNotifier streamNotifier = new FeedbackStreamNotifier(notificationService, ctx.getUsername(), videoId);
+        AnswerDTO answerDTO = AnswerDTO.builder()
+                .videoId(videoId)
+                .answer(ctx.getAnswer())
+                .build();
+
+        CompletableFuture<FeedbackReturnDTO> feedback = ctx.isBatchFeedback()
+                ? feedbackService.getBatchedFeedbackAsync(answerDTO)
+                : feedbackService.getFeedbackAsync(answerDTO, streamNotifier::append);
+        return feedback
+                .thenApply(feedbackReturnDTO -> {
+                    streamNotifier.flush();
+                    // 스트리밍 생성은 단계 실행기 밖에서 진행되므로 피드백 단계 시간은 Claude 응답까지로 기록
+                    ctx.recordStage(PipelineStage.FEEDBACK, System.currentTimeMillis() - start);
+                    self.handleValidAnswer(ctx, feedbackReturnDTO.getFeedbackId());
+                    log.info("피드백 생성 소요 시간: {}ms", System.currentTimeMillis() - start);
+
+                    long completedAt = System.currentTimeMillis();
+                    log.info("videoId={}, requestNo={}, thread={}," +
+                                    " inFlight={}, activeCount={}," +
+                                    " acceptedAt={}, completedAt={}, duration={}ms, heap={}MB",
+                            videoId, ctx.getRequestNo(), Thread.currentThread().getName(),
+                            videoPipeline.getInFlight(),
+                            videoPipeline.getExecutor(PipelineStage.FEEDBACK).getActiveCount(),
+                            ctx.getStartTime(), completedAt, (completedAt - ctx.getStartTime()),
+                            (Runtime.getRuntime().totalMemory()
+                                    - Runtime.getRuntime().freeMemory()) / 1024 / 1024); //근사값
+                    log.info("단계별 소요 시간: videoId={}, {}", videoId, ctx.getStageMillis());
+                    return ctx;
+                });
+    }
+
+    // 썸네일/STT 분기가 동시에 쓰므로 엔티티 전체 저장 대신 컬럼 단위로 갱신
+    @Transactional
+    public void updateVideoThumbnail(Long videoId, String thumbnailUrl) {
+        if (videoRepository.updateThumbnail(videoId, thumbnailUrl) == 0) {
+            throw new RuntimeException("Video not found with id: " + videoId);
+        }
+    }
+
+    // 아래 handle* 메서드는 상태 전환을 짧은 트랜잭션으로 커밋한 뒤 트랜잭션 밖에서 SSE 알림을 보냄
+    // 피드백은 Feedback 쪽이 video를 참조하므로 완료 시 Video 엔티티를 다시 읽지 않음
+    public void handleInvalidAnswer(VideoJobContext ctx) {
+        Long videoId = ctx.getVideoId();
+        String username = ctx.getUsername();
+        if (videoStateMachine.transition(ctx, ProcessingState.NO_RESPONSE)) {
             VideoNotificationDTO noResponseData = VideoNotificationDTO.builder()
                     .videoId(videoId)
-                    .status("NO_RESPONSE")
+                    .status(ProcessingState.NO_RESPONSE.name())
                     .message("녹화된 답변이 감지되지 않았습니다. 다시 시도해주세요.")
                     .build();
             notificationService.send(username, "video-processed", noResponseData);
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRED)
-    public void handleValidAnswer(Long videoId, String username, String answer) throws Exception {
-        long start = System.currentTimeMillis();
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new RuntimeException("Video not found with id: " + videoId));
-        AnswerDTO answerDTO = AnswerDTO.builder()
-                .videoId(videoId)
-                .answer(answer)
-                .build();
-        FeedbackReturnDTO feedbackReturnDTO = feedbackService.getFeedback(answerDTO);
-        Feedback feedback = feedbackService.findFeedback(feedbackReturnDTO.getFeedbackId());
-        video.setProcessingStatus("COMPLETED");
-        video.setFeedback(feedback);
-        videoRepository.save(video);
+    public void handleValidAnswer(VideoJobContext ctx, Long feedbackId) {
+        Long videoId = ctx.getVideoId();
+        String username = ctx.getUsername();
+        if (!videoStateMachine.transition(ctx, ProcessingState.COMPLETED)) {
+            throw new IllegalStateException("비디오를 완료 상태로 바꿀 수 없습니다: videoId=" + videoId);
+        }
 
         VideoNotificationDTO notification = VideoNotificationDTO.builder()
                 .videoId(videoId)
-                .status("COMPLETED")
+                .status(ProcessingState.COMPLETED.name())
                 .message("비디오 처리가 완료되었습니다.")
-                .feedbackId(feedbackReturnDTO.getFeedbackId())
+                .feedbackId(feedbackId)
                 .build();
         notificationService.send(username, "video-processed", notification);
         log.info("비디오 ID: {} 처리 완료 알림 전송됨", videoId);
-        long end = System.currentTimeMillis();
-        long duration = end - start;
-        log.info("피드백 생성 소요 시간: {}ms", duration);
     }
 
-    @Transactional(propagation = Propagation.REQUIRED)
-    public void handleError(Long videoId, String username) {
-        Video video = videoRepository.findById(videoId).orElse(null);
-        if (video != null) {
-            video.setProcessingStatus("ERROR");
-            videoRepository.save(video);
+    public void handleError(VideoJobContext ctx) {
+        Long videoId = ctx.getVideoId();
+        String username = ctx.getUsername();
+        if (videoStateMachine.transition(ctx, ProcessingState.ERROR)) {
             VideoNotificationDTO errorData = VideoNotificationDTO.builder()
                     .videoId(videoId)
-                    .status("ERROR")
+                    .status(ProcessingState.ERROR.name())
                     .message("비디오 처리 중 오류가 발생했습니다.")
                     .build();
             notificationService.send(username, "video-processed", errorData);
@@ -306,261 +422,101 @@ public class VideoService {
                 !answer.trim().matches("(?i).*\\\\b(background noise|unintelligible|inaudible)\\\\b.*");
     }
 
-    private double getVideoDurationFromS3(S3Client s3Client, String bucket, String videoKey) {
-        log.info("비디오 길이 확인 시작: {}", videoKey);
-
-        try {
-            // 1. HTTP HEAD 요청으로 파일 크기와 메타데이터만 확인 (0.2-1초)
-            HeadObjectRequest headRequest = HeadObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(videoKey)
-                    .build();
-
-            HeadObjectResponse headResponse = s3Client.headObject(headRequest);
-
-            // 2. 메타데이터에 실제 duration이 있으면 우선 사용 (가장 정확)
-            log.info("메타데이터로 비디오 길이 확인");
-            Map<String, String> metadata = headResponse.metadata();
-            if (metadata.containsKey("duration")) {
-                try {
-                    double duration = Double.parseDouble(metadata.get("duration"));
-                    log.info("메타데이터에서 duration 확인: {}초 ({})", duration, videoKey);
-                    return duration;
-                } catch (NumberFormatException e) {
-                    log.warn("메타데이터 duration 파싱 실패, 추정 방식 사용: {}", videoKey);
-                }
-            }
-
-            // 3. 파일 크기 기반 duration 추정
-            log.info("파일 크기 기반으로 비디오 길이 확인");
-            long fileSizeBytes = headResponse.contentLength();
-            String contentType = headResponse.contentType();
-
-            if (fileSizeBytes <= 0) {
-                log.error("파일 크기를 확인할 수 없음: {}", videoKey);
-                return 0;
-            }
-
-            // 4. 파일 확장자와 Content-Type으로 예상 비트레이트 결정
-            double estimatedBitrateMbps = getEstimatedBitrate(videoKey, contentType);
-
-            // 5. Duration 계산: 파일크기(MB) ÷ 비트레이트(Mbps) = 초
-            double fileSizeMB = fileSizeBytes / (1024.0 * 1024.0);
-            double estimatedDuration = (fileSizeMB * 8) / estimatedBitrateMbps; // 8 bits per byte
-
-            log.info("초고속 비디오 길이 추정 완료: {}초 (파일: {}MB, 예상비트레이트: {}Mbps) - {}",
-                    Math.round(estimatedDuration), Math.round(fileSizeMB * 100) / 100.0, estimatedBitrateMbps, videoKey);
-
-            return estimatedDuration;
-
-        } catch (Exception e) {
-            log.error("초고속 비디오 길이 확인 실패: {}", videoKey, e);
-            return 0;
-        }
-    }
-
-    /**
-     * 파일 형식별 예상 비트레이트 반환 (Mbps)
-     * 실제 사용 데이터를 기반으로 지속적으로 조정 필요
-     */
-    private double getEstimatedBitrate(String videoKey, String contentType) {
-        String fileName = videoKey.toLowerCase();
-
-        // Content-Type 우선 확인
-        if (contentType != null) {
-            contentType = contentType.toLowerCase();
-            if (contentType.contains("webm")) return 2.0;
-            if (contentType.contains("mp4")) return 3.0;
-            if (contentType.contains("avi")) return 4.0;
-            if (contentType.contains("mov")) return 3.5;
-            if (contentType.contains("mkv")) return 2.5;
-        }
-
-        // 파일 확장자로 추정
-        if (fileName.endsWith(".webm")) return 2.0;      // WebM: 효율적 압축
-        if (fileName.endsWith(".mp4")) return 3.0;       // MP4: 일반적
-        if (fileName.endsWith(".avi")) return 4.0;       // AVI: 큰 용량
-        if (fileName.endsWith(".mov")) return 3.5;       // MOV: 고품질
-        if (fileName.endsWith(".mkv")) return 2.5;       // MKV: 가변적
-        if (fileName.endsWith(".flv")) return 1.5;       // FLV: 낮은 품질
-        if (fileName.endsWith(".wmv")) return 2.0;       // WMV: 압축률 좋음
-        if (fileName.endsWith(".m4v")) return 3.0;       // M4V: MP4와 유사
-
-        // 기본값: 중간 비트레이트
-        return 2.5;
-    }
-
-
-    // 짧은 비디오 처리
-    private String processShortVideoWithPresignedUrl(S3Client s3Client, Long videoId, String videoKey) {
+    // 짧은 비디오 처리: 라우터가 엔진 선택 및 실패 시 대체 엔진 시도
+    private String processShortVideoWithPresignedUrl(Long videoId, String videoKey, double duration) {
         try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(videoKey)
-                    .build();
-            try (S3Presigner presigner = S3Presigner.builder()
-                    .region(Region.AP_NORTHEAST_2)
-                    .credentialsProvider(DefaultCredentialsProvider.create())
-                    .build()) {
-                PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(r -> r
-                        .signatureDuration(Duration.ofMinutes(10))
-                        .getObjectRequest(getObjectRequest));
-                String presignedUrl = presignedRequest.url().toString();
-
-                return localWhisperService.transcribeFromUrl(presignedUrl);
-            }
+            String presignedUrl = presignGetUrl(videoKey, Duration.ofMinutes(10));
+            return speechToTextRouter.transcribe(SttRequest.builder()
+                    .videoId(videoId)
+                    .source(presignedUrl)
+                    .estimatedSeconds(duration)
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("짧은 영상 처리 중단: 비디오 ID {}", videoId);
+            return "";
+        } catch (SttTimeoutException e) {
+            // 빈 답변으로 처리하지 않고 작업 실패로 넘겨 재시도 대상이 되도록 함
+            throw e;
         } catch (Exception e) {
             log.error("짧은 영상 처리 실패: 비디오 ID {}", videoId, e);
             return "";
         }
     }
 
-    private String processShortVideo(byte[] videoBytes) {
-        long start = System.currentTimeMillis();
-        AwsCredentialsProvider credentialsProvider = DefaultCredentialsProvider.create();
-
-        // S3에 오디오 파일 업로드
-        String audioUri = awsTranscribe.uploadToS3(credentialsProvider, videoBytes);
-        log.info("오디오 S3 업로드 완료: {}", audioUri);
-
-        long end = System.currentTimeMillis();
-        long duration = end - start;
-        log.info("음성 변환 소요 시간: {}ms", duration);
-
-        start = System.currentTimeMillis();
-        // AWS Transcribe 작업 시작
-        String jobName = awsTranscribe.startTranscriptionJob(credentialsProvider, audioUri);
-        log.info("AWS Transcribe 작업 시작: {}", jobName);
-
-        // 변환된 텍스트 가져오기
-        String transcriptUri = awsTranscribe.getTranscriptionResult(credentialsProvider, jobName);
-
-        end = System.currentTimeMillis();
-        duration = end - start;
-        log.info("STT 소요 시간: {}ms", duration);
-
-        return awsTranscribe.parseTranscriptionJson(transcriptUri);
-    }
-
-    // 긴 비디오 처리 (4개로 분할 및 병렬 처리)
-    private String processLongVideoWithPresignedUrl(S3Client s3Client, Long videoId, String videoKey, double duration) {
+    // 긴 비디오 처리: 오디오 트랙을 한 번만 추출하고, 무음 구간 기준으로 나눈 청크를 공유 청크 실행기에서 병렬 변환 후 순서대로 병합
+    private String processLongVideoWithPresignedUrl(Long videoId, String videoKey, double duration) {
+        AudioTrack track = null;
         try {
             log.info("긴 영상 처리 시작: 비디오 ID {}, 길이 {} 초", videoId, duration);
 
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(videoKey)
-                    .build();
-            try (S3Presigner presigner = S3Presigner.builder()
-                    .region(Region.AP_NORTHEAST_2)
-                    .credentialsProvider(DefaultCredentialsProvider.create())
-                    .build()) {
-                PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(r -> r
-                        .signatureDuration(Duration.ofMinutes(60))
-                        .getObjectRequest(getObjectRequest));
-                String presignedUrl = presignedRequest.url().toString();
-
-                List<String> transcripts = new ArrayList<>();
-                ExecutorService executor = Executors.newFixedThreadPool(4);
-                List<Future<String>> futures = new ArrayList<>();
-                double chunkDuration = duration / 4;
-
-                for (int i = 0; i < 4; i++) {
-                    final int chunkIndex = i;
-                    final double startTime = i * chunkDuration;
-                    final double chunkLength = chunkDuration;
-
-                    Future<String> future = executor.submit(() -> {
-                        Path tempChunk = Files.createTempFile("chunk-" + chunkIndex, ".webm");
-                        Path tempAudio = Files.createTempFile("audio-" + chunkIndex, ".mp3");
-
-                        try {
-                            ProcessBuilder pb = new ProcessBuilder(
-                                    "ffmpeg",
-                                    "-i", presignedUrl,
-                                    "-ss", String.format("%.2f", startTime),
-                                    "-t", String.format("%.2f", chunkLength),
-                                    "-c:v", "copy",
-                                    "-c:a", "copy",
-                                    tempChunk.toString()
-                            );
-                            pb.redirectErrorStream(true);
-                            Process process = pb.start();
-                            StringBuilder errorOutput = new StringBuilder();
-                            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-                                String line;
-                                while ((line = reader.readLine()) != null) {
-                                    errorOutput.append(line).append("\n");
-                                }
-                            }
-                            process.waitFor(60, TimeUnit.SECONDS);
-
-                            ProcessBuilder audioPb = new ProcessBuilder(
-                                    "ffmpeg",
-                                    "-i", tempChunk.toString(),
-                                    "-vn",
-                                    "-acodec", "libmp3lame",
-                                    "-ar", "44100",
-                                    "-ac", "2",
-                                    "-f", "mp3",
-                                    tempAudio.toString()
-                            );
-                            audioPb.redirectErrorStream(true);
-                            Process audioProcess = audioPb.start();
-                            try (BufferedReader reader = new BufferedReader(new InputStreamReader(audioProcess.getErrorStream()))) {
-                                String line;
-                                while ((line = reader.readLine()) != null) {
-                                    errorOutput.append(line).append("\n");
-                                }
-                            }
-                            audioProcess.waitFor(60, TimeUnit.SECONDS);
-
-                            String audioFileName = "audio/chunk-" + chunkIndex + "-" + UUID.randomUUID() + ".mp3";
-                            PutObjectRequest putRequest = PutObjectRequest.builder()
-                                    .bucket(bucket)
-                                    .key(audioFileName)
-                                    .contentType("audio/mpeg")
-                                    .build();
-                            s3Client.putObject(putRequest, RequestBody.fromFile(tempAudio));
-                            String audioUri = "s3://" + bucket + "/" + audioFileName;
-
-                            String jobName = awsTranscribe.startTranscriptionJob(DefaultCredentialsProvider.create(), audioUri);
-                            String transcriptUri = awsTranscribe.getTranscriptionResult(DefaultCredentialsProvider.create(), jobName);
-                            String transcript = awsTranscribe.parseTranscriptionJson(transcriptUri);
-                            log.info("청크 {} 음성 변환 완료: {}", chunkIndex, transcript.length());
-
-                            return transcript;
-                        } finally {
-                            Files.deleteIfExists(tempChunk);
-                            Files.deleteIfExists(tempAudio);
-                        }
-                    });
-                    futures.add(future);
-                }
+            String presignedUrl = presignGetUrl(videoKey, Duration.ofMinutes(60));
+            try (ResourceLimits.Permit ignored = resourceLimits.acquire(BoundedResource.FFMPEG)) {
+                track = audioTrackExtractor.extract(presignedUrl);
+            } catch (IOException e) {
+                log.warn("오디오 트랙 추출 실패, 청크마다 원격 영상을 직접 읽음: 비디오 ID {}", videoId, e);
+            }
 
-                for (Future<String> future : futures) {
-                    try {
-                        String transcript = future.get();
-                        if (transcript != null && !transcript.trim().isEmpty()) {
-                            transcripts.add(transcript);
-                        }
-                    } catch (Exception e) {
-                        log.error("청크 처리 중 오류: {}", e.getMessage());
-                    }
-                }
+            String source = track != null ? track.getFile().toString() : presignedUrl;
+            double totalSeconds = track != null && track.getDurationSeconds() > 0 ? track.getDurationSeconds() : duration;
+            List<AudioChunk> chunks = chunkPlanner.plan(totalSeconds, track != null ? track.getSilenceMidpoints() : List.of());
+
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+            for (AudioChunk chunk : chunks) {
+                futures.add(videoPipeline.call(PipelineStage.STT_CHUNK, () -> {
+                    String transcript = speechToTextRouter.transcribe(SttRequest.builder()
+                            .videoId(videoId)
+                            .source(source)
+                            .offsetSeconds(chunk.offsetSeconds())
+                            .durationSeconds(chunk.durationSeconds())
+                            .estimatedSeconds(totalSeconds - chunk.offsetSeconds())
+                            .build());
+                    log.info("청크 {} 음성 변환 완료: {}", chunk.index(), transcript.length());
+                    return transcript;
+                }).exceptionally(throwable -> {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    log.error("청크 {} 처리 중 오류: {}", chunk.index(), cause.getMessage());
+                    failures.add(cause);
+                    return "";
+                }));
+            }
 
-                executor.shutdown();
-                if (!executor.awaitTermination(60, TimeUnit.MINUTES)) {
-                    executor.shutdownNow();
-                }
+            // 모든 청크가 트랙 파일을 다 읽은 뒤에 삭제되도록 여기서 합류
+            List<String> transcripts = new ArrayList<>();
+            for (CompletableFuture<String> future : futures) {
+                transcripts.add(future.join());
+            }
 
-                String combinedAnswer = String.join(" ", transcripts);
-                log.info("긴 영상 텍스트 병합 완료: 길이 {}", combinedAnswer.length());
-                return combinedAnswer;
+            // 일부만 변환된 답변으로 피드백을 만들지 않도록 작업 실패로 넘겨 큐 재시도 정책을 따르게 함
+            for (Throwable failure : failures) {
+                if (failure instanceof SttTimeoutException timeout) {
+                    throw timeout;
+                }
+            }
+            if (failures.size() > chunks.size() * maxFailedChunkRatio) {
+                throw new SttChunkFailedException("청크 변환 실패 " + failures.size() + "/" + chunks.size()
+                        + ": 비디오 ID " + videoId, failures.peek());
             }
+
+            String combinedAnswer = TranscriptMerger.merge(chunks, transcripts);
+            log.info("긴 영상 텍스트 병합 완료: 청크 {}개, 길이 {}", chunks.size(), combinedAnswer.length());
+            return combinedAnswer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("긴 영상 처리 중단: 비디오 ID {}", videoId);
+            return "";
+        } catch (SttTimeoutException | SttChunkFailedException e) {
+            // 트랙 추출/청크 시간 초과와 청크 실패도 짧은 영상과 같이 작업 실패로 넘겨 재시도 대상이 되도록 함
+            throw e;
         } catch (Exception e) {
             log.error("긴 영상 처리 실패: 비디오 ID {}", videoId, e);
             return "";
+        } finally {
+            if (track != null) {
+                track.close();
+            }
         }
     }
 
@@ -569,111 +525,97 @@ public class VideoService {
             log.info("썸네일 생성 시작: {}", thumbnailKey);
 
             // presigned URL 생성
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(videoKey)
-                    .build();
-
-            try (S3Presigner presigner = S3Presigner.builder()
-                    .region(Region.AP_NORTHEAST_2)
-                    .credentialsProvider(DefaultCredentialsProvider.create())
-                    .build()) {
-
-                PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(r -> r
-                        .signatureDuration(Duration.ofMinutes(10))
-                        .getObjectRequest(getObjectRequest));
-                String presignedUrl = presignedRequest.url().toString();
-
-                // 임시 썸네일 파일 생성
-                Path tempThumbnail = Files.createTempFile("thumb_", ".jpg");
-
-                // JavaCV를 사용해서 첫 프레임 추출
-                FFmpegFrameGrabber grabber = null;
-                try {
-                    grabber = new FFmpegFrameGrabber(presignedUrl);
-
-                    // 성능 최적화 옵션들
-                    grabber.setOption("threads", "auto");
-                    grabber.setOption("analyzeduration", "1000000"); // 1초
-                    grabber.setOption("probesize", "1000000"); // 1MB
-
-                    grabber.start();
-
-                    // 비디오 정보 로깅
-                    log.debug("비디오 정보 - 길이: {}초, 해상도: {}x{}, FPS: {}",
-                            grabber.getLengthInTime() / 1000000.0,
-                            grabber.getImageWidth(),
-                            grabber.getImageHeight(),
-                            grabber.getVideoFrameRate());
-
-                    // 첫 프레임으로 이동 (시간 기준: 마이크로초)
-                    grabber.setTimestamp(1000); // 0.001초 위치
-
-                    // 프레임 추출
-                    Frame frame = grabber.grabImage();
-                    if (frame == null) {
-                        // 첫 프레임이 null일 경우 다음 프레임 시도
-                        log.debug("첫 프레임이 null, 다음 프레임 시도");
-                        frame = grabber.grabImage();
-                    }
+            String presignedUrl = presignGetUrl(videoKey, Duration.ofMinutes(10));
+
+            // 임시 썸네일 파일 생성
+            Path tempThumbnail = Files.createTempFile("thumb_", ".jpg");
+
+            // JavaCV를 사용해서 첫 프레임 추출
+            FFmpegFrameGrabber grabber = null;
+            try {
+                grabber = new FFmpegFrameGrabber(presignedUrl);
+
+                // 성능 최적화 옵션들
+                grabber.setOption("threads", "auto");
+                grabber.setOption("analyzeduration", "1000000"); // 1초
+                grabber.setOption("probesize", "1000000"); // 1MB
+
+                grabber.start();
+
+                // 비디오 정보 로깅
+                log.debug("비디오 정보 - 길이: {}초, 해상도: {}x{}, FPS: {}",
+                        grabber.getLengthInTime() / 1000000.0,
+                        grabber.getImageWidth(),
+                        grabber.getImageHeight(),
+                        grabber.getVideoFrameRate());
+
+                // 첫 프레임으로 이동 (시간 기준: 마이크로초)
+                grabber.setTimestamp(1000); // 0.001초 위치
+
+                // 프레임 추출
+                Frame frame = grabber.grabImage();
+                if (frame == null) {
+                    // 첫 프레임이 null일 경우 다음 프레임 시도
+                    log.debug("첫 프레임이 null, 다음 프레임 시도");
+                    frame = grabber.grabImage();
+                }
 
-                    if (frame == null) {
-                        log.error("비디오에서 프레임을 추출할 수 없습니다: {}", videoKey);
-                        return DEFAULT_THUMBNAIL_URL;
-                    }
+                if (frame == null) {
+                    log.error("비디오에서 프레임을 추출할 수 없습니다: {}", videoKey);
+                    return DEFAULT_THUMBNAIL_URL;
+                }
 
-                    // Frame을 BufferedImage로 변환
-                    Java2DFrameConverter converter = new Java2DFrameConverter();
-                    BufferedImage image = converter.convert(frame);
+                // Frame을 BufferedImage로 변환
+                Java2DFrameConverter converter = new Java2DFrameConverter();
+                BufferedImage image = converter.convert(frame);
 
-                    if (image == null) {
-                        log.error("프레임을 이미지로 변환할 수 없습니다");
-                        return DEFAULT_THUMBNAIL_URL;
-                    }
+                if (image == null) {
+                    log.error("프레임을 이미지로 변환할 수 없습니다");
+                    return DEFAULT_THUMBNAIL_URL;
+                }
 
-                    // 썸네일 크기 조정 (옵션)
-                    BufferedImage thumbnail = resizeImage(image, 800, 600);
+                // 썸네일 크기 조정 (옵션)
+                BufferedImage thumbnail = resizeImage(image, 800, 600);
 
-                    // JPEG로 저장 (품질 설정)
-                    saveAsJpeg(thumbnail, tempThumbnail.toFile(), 0.85f);
+                // JPEG로 저장 (품질 설정)
+                saveAsJpeg(thumbnail, tempThumbnail.toFile(), 0.85f);
 
-                    log.info("썸네일 생성 완료: {} bytes", Files.size(tempThumbnail));
+                log.info("썸네일 생성 완료: {} bytes", Files.size(tempThumbnail));
 
-                } finally {
-                    // 리소스 해제
-                    if (grabber != null) {
-                        try {
-                            grabber.stop();
-                            grabber.release();
-                        } catch (Exception e) {
-                            log.warn("FFmpegFrameGrabber 해제 실패: {}", e.getMessage());
-                        }
+            } finally {
+                // 리소스 해제
+                if (grabber != null) {
+                    try {
+                        grabber.stop();
+                        grabber.release();
+                    } catch (Exception e) {
+                        log.warn("FFmpegFrameGrabber 해제 실패: {}", e.getMessage());
                     }
                 }
+            }
 
-                // 생성된 썸네일 파일 검증
-                if (!Files.exists(tempThumbnail) || Files.size(tempThumbnail) == 0) {
-                    log.error("썸네일 파일이 생성되지 않았습니다.");
-                    return DEFAULT_THUMBNAIL_URL;
-                }
+            // 생성된 썸네일 파일 검증
+            if (!Files.exists(tempThumbnail) || Files.size(tempThumbnail) == 0) {
+                log.error("썸네일 파일이 생성되지 않았습니다.");
+                return DEFAULT_THUMBNAIL_URL;
+            }
 
-                // S3에 썸네일 업로드
-                PutObjectRequest putRequest = PutObjectRequest.builder()
-                        .bucket(bucket)
-                        .key(thumbnailKey)
-                        .contentType("image/jpeg")
-                        .acl(ObjectCannedACL.PUBLIC_READ)
-                        .build();
+            // S3에 썸네일 업로드
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(thumbnailKey)
+                    .contentType("image/jpeg")
+                    .acl(ObjectCannedACL.PUBLIC_READ)
+                    .build();
 
-                s3Client.putObject(putRequest, RequestBody.fromFile(tempThumbnail));
+            s3Client.putObject(putRequest, RequestBody.fromFile(tempThumbnail));
 
-                // 임시 파일 삭제
-                Files.delete(tempThumbnail);
+            // 임시 파일 삭제
+            Files.delete(tempThumbnail);
 
-                String url = String.format("%s/%s", getS3UrlPrefix(), thumbnailKey);
-                log.info("썸네일 업로드 완료");
-                return url;
-            }
+            String url = String.format("%s/%s", getS3UrlPrefix(), thumbnailKey);
+            log.info("썸네일 업로드 완료");
+            return url;
 
         } catch (Exception e) {
             log.warn("썸네일 생성 실패: {}", e.getMessage(), e);
@@ -834,6 +776,7 @@ public class VideoService {
         }
     }
 
+    @Transactional(readOnly = true)
     public VideoWithFeedbackDTO getVideoWithFeedback(Long videoId) throws Exception {
         Video video = videoRepository.findById(videoId)
                 .orElseThrow(QuestionNotFoundException::new);
@@ -841,6 +784,7 @@ public class VideoService {
     }
 
     @SneakyThrows
+    @Transactional(readOnly = true)
     public List<VideoReturnDTO> getOpenVideos() {
         List<Video> videos = videoRepository.findAllOpenVideos();
         return videos.stream()
@@ -849,6 +793,7 @@ public class VideoService {
     }
 
     @SneakyThrows
+    @Transactional(readOnly = true)
     public List<VideoReturnDTO> getMyVideos() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         SiteUserSecurityDTO siteUserSecurityDTO = (SiteUserSecurityDTO) auth.getPrincipal();
@@ -860,6 +805,7 @@ public class VideoService {
                 .toList();
     }
 
+    @Transactional
     public VideoReturnDTO changeVisibility(Long videoId, Boolean isOpen) throws Exception {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         SiteUserSecurityDTO siteUserSecurityDTO = (SiteUserSecurityDTO) auth.getPrincipal();
@@ -879,6 +825,7 @@ public class VideoService {
         return convertToDTO(updatedVideo);
     }
 
+    @Transactional
     public void deleteVideo(Long videoId) throws Exception {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         SiteUserSecurityDTO siteUserSecurityDTO = (SiteUserSecurityDTO) auth.getPrincipal();
@@ -964,32 +911,10 @@ public class VideoService {
         }
     }
 
-    public boolean checkThreadPoolCapacity() {
-        ThreadPoolExecutor executor = videoProcessingExecutor.getThreadPoolExecutor();
-
-        int activeCount = executor.getActiveCount();
-        int queueSize = executor.getQueue().size();
-        int totalLoad = activeCount + queueSize;
-        int maxCapacity = CORE_POOL_SIZE + QUEUE_CAPACITY;
-
-        double loadRatio = (double) totalLoad / maxCapacity;
-
-        log.info("스레드풀 상태 - Active: {}, Queue: {}, Total: {}/{} ({:.1f}%)",
-                activeCount, queueSize, totalLoad, maxCapacity, loadRatio * 100);
-
-        // 실험: 48/60 (80%) 미만일 때만 즉시 처리
-        boolean hasCapacity = loadRatio < CAPACITY_THRESHOLD;
-
-        if (!hasCapacity) {
-            log.warn("스레드풀 용량 부족: {}/{} (임계값: {}%)",
-                    totalLoad, maxCapacity, (int)(CAPACITY_THRESHOLD * 100));
-        }
-
-        return hasCapacity;
-    }
-
     @Transactional
-    public Long enqueue(Long questionId, int requestNo, String videoKey, Boolean isOpen, long startTime) {
+    // priority: 같은 차선 안에서 값이 클수록 먼저 처리
+    public Long enqueue(Long questionId, int requestNo, String videoKey, Boolean isOpen, long startTime,
+                        UploadMetadata uploadMetadata, int priority) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         SiteUserSecurityDTO userDetails = (SiteUserSecurityDTO) auth.getPrincipal();
 
@@ -1001,12 +926,17 @@ public class VideoService {
                 .username(userDetails.getUsername())
                 .startTime(startTime)
                 .usePresignedUrl(true)
+                .declaredDuration(uploadMetadata.getDuration())
+                .resolution(uploadMetadata.getResolution())
+                .codec(uploadMetadata.getCodec())
+                .priority(priority)
                 .build();
 
         VideoProcessingQueue savedRequest = queueRepository.save(request);
+        // 커밋 후 디스패처를 바로 깨움 (폴링 주기를 기다리지 않음)
+        eventPublisher.publishEvent(new VideoQueuedEvent(savedRequest.getId()));
 
-        log.info("DB 큐 저장 완료: queueId={}, videoKey={}, 현재 대기: {}개",
-                savedRequest.getId(), videoKey, queueRepository.countPendingTasks());
+        log.info("DB 큐 저장 완료: queueId={}, videoKey={}, priority={}", savedRequest.getId(), videoKey, priority);
 
         return savedRequest.getId();
     }
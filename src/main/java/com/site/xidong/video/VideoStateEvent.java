@@ -0,0 +1,86 @@
+package com.site.xidong.video;
+
+import com.site.xidong.pipeline.PipelineStage;
+import com.site.xidong.pipeline.VideoJobContext;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 영상 처리 상태 전환 기록 (추가만 하고 수정하지 않음)
+ * 전환 시점까지 측정된 단계별 소요 시간을 함께 남겨 DB에서 단계별 지연 분포를 바로 계산할 수 있음
+ * 쓰기는 VideoStateEventLog가 모아서 JDBC 배치로 하므로 엔티티는 스키마 정의용
+ */
+@Entity
+@Table(name = "video_state_event", indexes = {
+        @Index(name = "idx_video_state_event_video", columnList = "videoId"),
+        @Index(name = "idx_video_state_event_to_occurred", columnList = "toState, occurredAt")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoStateEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long videoId;
+
+    // 최초 저장 이벤트는 null
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 16)
+    private ProcessingState fromState;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private ProcessingState toState;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // 요청 접수부터 전환까지
+    @Column(nullable = false)
+    private Long elapsedMs;
+
+    // 단계별 실행 시간 (아직 끝나지 않은 단계는 null)
+    private Long probeMs;
+    private Long thumbnailMs;
+    private Long sttMs;
+    private Long feedbackMs;
+
+    // 단계 실행기 대기열 + 자원 한도 대기 시간 합
+    private Long waitMs;
+
+    private boolean queued;
+
+    public static VideoStateEvent of(VideoJobContext ctx, ProcessingState from, ProcessingState to, long nowMillis) {
+        Map<PipelineStage, Long> stageMillis;
+        synchronized (ctx.getStageMillis()) {
+            stageMillis = new EnumMap<>(PipelineStage.class);
+            stageMillis.putAll(ctx.getStageMillis());
+        }
+        return VideoStateEvent.builder()
+                .videoId(ctx.getVideoId())
+                .fromState(from)
+                .toState(to)
+                .occurredAt(LocalDateTime.now())
+                .elapsedMs(Math.max(0, nowMillis - ctx.getStartTime()))
+                .probeMs(stageMillis.get(PipelineStage.PROBE))
+                .thumbnailMs(stageMillis.get(PipelineStage.THUMBNAIL))
+                .sttMs(stageMillis.get(PipelineStage.STT))
+                .feedbackMs(stageMillis.get(PipelineStage.FEEDBACK))
+                .waitMs(ctx.getTotalWaitMillis())
+                .queued(ctx.isQueued())
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.site.xidong.video;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 상태 전환 이벤트를 메모리에 모았다가 주기적으로 JDBC 배치 INSERT로 기록
+ * 전환하는 쪽은 큐에 넣기만 하므로 처리 경로에 DB 쓰기가 추가되지 않음
+ * (IDENTITY 키라 JPA saveAll은 배치가 안 되므로 JdbcTemplate 사용, URL의 rewriteBatchedStatements로 다중 행 INSERT)
+ * 버퍼가 가득 차거나 쓰기에 실패한 이벤트는 버리고 카운터로만 남김 (지표용 기록이 영상 처리를 막지 않도록)
+ */
+@Slf4j
+@Component
+public class VideoStateEventLog {
+
+    private static final String INSERT_SQL = "INSERT INTO video_state_event (video_id, from_state, to_state, occurred_at, " +
+            "elapsed_ms, probe_ms, thumbnail_ms, stt_ms, feedback_ms, wait_ms, queued) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<VideoStateEvent> buffer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    @Value("${video.state-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${video.state-log.batch-size:500}")
+    private int batchSize;
+
+    public VideoStateEventLog(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                              @Value("${video.state-log.buffer-capacity:10000}") int bufferCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        Gauge.builder("video.state.events.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("video.state.events", "result", "written");
+        this.droppedCounter = meterRegistry.counter("video.state.events", "result", "dropped");
+        this.failedCounter = meterRegistry.counter("video.state.events", "result", "failed");
+    }
+
+    public void append(VideoStateEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${video.state-log.flush-interval-ms:1000}")
+    public void flush() {
+        List<VideoStateEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                    ps.setLong(1, event.getVideoId());
+                    ps.setString(2, event.getFromState() != null ? event.getFromState().name() : null);
+                    ps.setString(3, event.getToState().name());
+                    ps.setTimestamp(4, Timestamp.valueOf(event.getOccurredAt()));
+                    ps.setLong(5, event.getElapsedMs());
+                    setNullableLong(ps, 6, event.getProbeMs());
+                    setNullableLong(ps, 7, event.getThumbnailMs());
+                    setNullableLong(ps, 8, event.getSttMs());
+                    setNullableLong(ps, 9, event.getFeedbackMs());
+                    setNullableLong(ps, 10, event.getWaitMs());
+                    ps.setBoolean(11, event.isQueued());
+                });
+                writtenCounter.increment(batch.size());
+            } catch (Exception e) {
+                failedCounter.increment(batch.size());
+                log.warn("상태 전환 이벤트 {}건 기록 실패: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
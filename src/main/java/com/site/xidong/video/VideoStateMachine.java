@@ -0,0 +1,67 @@
+package com.site.xidong.video;
+
+import com.site.xidong.pipeline.VideoJobContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영상 처리 상태 전환을 한 곳에서 처리
+ * ProcessingState 규칙에 맞는 이전 상태일 때만 조건부 UPDATE로 바꾸고, 성공한 전환은 이벤트 로그에 추가
+ * 현재 상태는 작업 컨텍스트가 들고 있으므로 전환마다 엔티티를 다시 읽지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VideoStateMachine {
+
+    private final VideoRepository videoRepository;
+    private final VideoStateEventLog eventLog;
+
+    /**
+     * 허용되지 않은 전환(이미 완료된 영상에 ERROR 등)이면 DB를 바꾸지 않고 false
+     */
+    @Transactional
+    public boolean transition(VideoJobContext ctx, ProcessingState to) {
+        ProcessingState from = ctx.getState();
+        if (from != null && !from.canTransitionTo(to)) {
+            log.warn("허용되지 않은 상태 전환 무시: videoId={}, {} -> {}", ctx.getVideoId(), from, to);
+            return false;
+        }
+        if (videoRepository.transitionState(ctx.getVideoId(), to.sources(), to, LocalDateTime.now()) == 0) {
+            log.warn("상태 전환 실패 (영상 없음 또는 다른 곳에서 상태 변경): videoId={}, {} -> {}", ctx.getVideoId(), from, to);
+            return false;
+        }
+        ctx.setState(to);
+        record(ctx, from, to);
+        return true;
+    }
+
+    /**
+     * 새로 저장한 영상(PROCESSING으로 INSERT)의 시작 이벤트
+     */
+    public void created(VideoJobContext ctx) {
+        ctx.setState(ProcessingState.PROCESSING);
+        record(ctx, null, ProcessingState.PROCESSING);
+    }
+
+    // 롤백된 전환이 기록되지 않도록 트랜잭션 안이면 커밋 후에 추가
+    private void record(VideoJobContext ctx, ProcessingState from, ProcessingState to) {
+        VideoStateEvent event = VideoStateEvent.of(ctx, from, to, System.currentTimeMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventLog.append(event);
+                }
+            });
+        } else {
+            eventLog.append(event);
+        }
+    }
+}
@@ -8,4 +8,18 @@ public class VideoUploadCompleteRequest {
     private String videoKey;
     private int requestNo;
     private boolean isOpen;
+
+    // 녹화 클라이언트가 아는 영상 정보 (선택)
+    private Double duration;
+    private String resolution;
+    private String codec;
+
+    public UploadMetadata toUploadMetadata() {
+        return UploadMetadata.builder()
+                .duration(duration)
+                .resolution(resolution)
+                .codec(codec)
+                .build()
+                .sanitized();
+    }
 }
@@ -0,0 +1,180 @@
+package com.site.xidong.feedback;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClaudeClientTest {
+
+    private static final String STREAM = """
+            event: message_start
+            data: {"type":"message_start","message":{"id":"msg_1","usage":{"input_tokens":42,"cache_read_input_tokens":900,"cache_creation_input_tokens":0,"output_tokens":1}}}
+
+            event: content_block_start
+            data: {"type":"content_block_start","index":0,"content_block":{"type":"text","text":""}}
+
+            event: ping
+            data: {"type":"ping"}
+
+            event: content_block_delta
+            data: {"type":"content_block_delta","index":0,"delta":{"type":"text_delta","text":"좋은 "}}
+
+            event: content_block_delta
+            data: {"type":"content_block_delta","index":0,"delta":{"type":"text_delta","text":"답변입니다."}}
+
+            event: content_block_stop
+            data: {"type":"content_block_stop","index":0}
+
+            event: message_delta
+            data: {"type":"message_delta","delta":{"stop_reason":"end_turn"},"usage":{"output_tokens":7}}
+
+            event: message_stop
+            data: {"type":"message_stop"}
+
+            """;
+
+    private HttpServer server;
+    private final AtomicReference<String> handlerMode = new AtomicReference<>("stream");
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedApiKey = new AtomicReference<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private ClaudeClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/messages", this::handle);
+        server.start();
+        client = new ClaudeClient("test-key", "http://127.0.0.1:" + server.getAddress().getPort() + "/", 2000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        receivedApiKey.set(exchange.getRequestHeaders().getFirst("x-api-key"));
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        switch (handlerMode.get()) {
+            case "stream" -> respond(exchange, 200, "text/event-stream", STREAM);
+            case "overloaded-mid-stream" -> respond(exchange, 200, "text/event-stream", """
+                    event: message_start
+                    data: {"type":"message_start","message":{"usage":{"input_tokens":5,"output_tokens":0}}}
+
+                    event: error
+                    data: {"type":"error","error":{"type":"overloaded_error","message":"Overloaded"}}
+
+                    """);
+            case "rate-limited" -> {
+                exchange.getResponseHeaders().set("retry-after", "3");
+                respond(exchange, 429, "application/json",
+                        "{\"type\":\"error\",\"error\":{\"type\":\"rate_limit_error\",\"message\":\"slow down\"}}");
+            }
+            default -> respond(exchange, 400, "application/json",
+                    "{\"type\":\"error\",\"error\":{\"type\":\"invalid_request_error\",\"message\":\"bad\"}}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("content-type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    void collectsStreamedTextAndUsage() throws Exception {
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        ClaudeResponse response = client.stream(new ClaudeRequest("model-x", 100, "질문"), chunks::add)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.text()).isEqualTo("좋은 답변입니다.");
+        assertThat(chunks).containsExactly("좋은 ", "답변입니다.");
+        assertThat(response.inputTokens()).isEqualTo(42);
+        assertThat(response.outputTokens()).isEqualTo(7);
+        assertThat(response.cacheReadInputTokens()).isEqualTo(900);
+        assertThat(response.timeToFirstTokenMillis()).isGreaterThanOrEqualTo(0L);
+        assertThat(response.stopReason()).isEqualTo("end_turn");
+        assertThat(receivedApiKey.get()).isEqualTo("test-key");
+        assertThat(receivedBody.get()).contains("\"stream\":true").contains("\"model\":\"model-x\"");
+    }
+
+    @Test
+    void reusesConnectionAcrossRequests() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.stream(new ClaudeRequest("m", 10, "p" + i), null).get(5, TimeUnit.SECONDS).text())
+                    .isEqualTo("좋은 답변입니다.");
+        }
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void rateLimitStatusBecomesRetryableException() {
+        handlerMode.set("rate-limited");
+
+        assertThatThrownBy(() -> client.stream(new ClaudeRequest("m", 10, "p"), null).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(LlmRateLimitException.class);
+    }
+
+    @Test
+    void rateLimitCarriesRetryAfterHeader() throws Exception {
+        handlerMode.set("rate-limited");
+
+        try {
+            client.stream(new ClaudeRequest("m", 10, "p"), null).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertThat(((LlmRateLimitException) e.getCause()).getRetryAfterMillis()).isEqualTo(3000L);
+            return;
+        }
+        throw new AssertionError("429 응답이 실패로 끝나야 함");
+    }
+
+    @Test
+    void parsesRetryAfterSeconds() {
+        assertThat(ClaudeClient.retryAfterMillis("1.5")).isEqualTo(1500L);
+        assertThat(ClaudeClient.retryAfterMillis("Wed, 21 Oct 2015 07:28:00 GMT")).isNull();
+        assertThat(ClaudeClient.retryAfterMillis(null)).isNull();
+    }
+
+    @Test
+    void overloadedErrorInsideStreamBecomesRetryableException() {
+        handlerMode.set("overloaded-mid-stream");
+
+        assertThatThrownBy(() -> client.stream(new ClaudeRequest("m", 10, "p"), null).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(LlmRateLimitException.class);
+    }
+
+    @Test
+    void otherErrorStatusFailsWithoutRetryHint() {
+        handlerMode.set("bad-request");
+
+        assertThatThrownBy(() -> client.stream(new ClaudeRequest("m", 10, "p"), null).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class)
+                .hasMessageContaining("400");
+    }
+}
@@ -0,0 +1,149 @@
+package com.site.xidong.feedback;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 가짜 Message Batches 엔드포인트로 제출 → 상태 확인 → 결과 분배 흐름 확인
+ */
+class FeedbackBatcherTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer server;
+    private String baseUrl;
+    private final List<JsonNode> submittedBatches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger statusPolls = new AtomicInteger();
+    private FeedbackBatcher batcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/messages/batches", this::handle);
+        server.createContext("/results", this::results);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("claude.batch.enabled", "true")
+                .withProperty("claude.batch.backlog-threshold", "10")
+                .withProperty("claude.batch.max-size", "3")
+                .withProperty("claude.batch.max-wait-ms", "200")
+                .withProperty("claude.batch.poll-interval-ms", "50");
+        batcher = new FeedbackBatcher(new ClaudeClient("test-key", baseUrl, 2000, 5000), environment, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("POST".equals(exchange.getRequestMethod())) {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody().readAllBytes());
+            submittedBatches.add(body);
+            respond(exchange, "{\"id\":\"msgbatch_" + submittedBatches.size() + "\",\"processing_status\":\"in_progress\"}");
+            return;
+        }
+        String batchId = path.substring(path.lastIndexOf('/') + 1);
+        // 처음 한 번은 진행 중으로 응답해 다시 확인하는지 봄
+        String status = statusPolls.incrementAndGet() == 1 ? "in_progress" : "ended";
+        respond(exchange, "{\"id\":\"" + batchId + "\",\"processing_status\":\"" + status + "\","
+                + "\"results_url\":\"" + baseUrl + "/results/" + batchId + "\"}");
+    }
+
+    private void results(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        int batchNo = Integer.parseInt(path.substring(path.lastIndexOf('_') + 1));
+        StringBuilder lines = new StringBuilder();
+        for (JsonNode request : submittedBatches.get(batchNo - 1).path("requests")) {
+            String customId = request.path("custom_id").asText();
+            String prompt = request.path("params").path("messages").get(0).path("content").asText();
+            if (prompt.contains("overloaded")) {
+                lines.append("{\"custom_id\":\"").append(customId).append("\",\"result\":{\"type\":\"errored\",")
+                        .append("\"error\":{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\",\"message\":\"busy\"}}}}\n");
+            } else {
+                lines.append("{\"custom_id\":\"").append(customId).append("\",\"result\":{\"type\":\"succeeded\",\"message\":{")
+                        .append("\"content\":[{\"type\":\"text\",\"text\":\"피드백: ").append(prompt).append("\"}],")
+                        .append("\"stop_reason\":\"end_turn\",\"usage\":{\"input_tokens\":11,\"output_tokens\":22}}}}\n");
+            }
+        }
+        respond(exchange, lines.toString());
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    void submitsFullBatchAndFansOutResults() throws Exception {
+        List<CompletableFuture<ClaudeResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(batcher.submit(new ClaudeRequest("m", 100, "답변" + i)));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            ClaudeResponse response = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertThat(response.text()).isEqualTo("피드백: 답변" + i);
+            assertThat(response.outputTokens()).isEqualTo(22);
+            assertThat(response.stopReason()).isEqualTo("end_turn");
+        }
+        assertThat(submittedBatches).hasSize(1);
+        assertThat(submittedBatches.get(0).path("requests").size()).isEqualTo(3);
+        assertThat(submittedBatches.get(0).path("requests").get(0).path("params").has("stream")).isFalse();
+        assertThat(statusPolls.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void flushesPartialBatchAfterMaxWait() throws Exception {
+        ClaudeResponse response = batcher.submit(new ClaudeRequest("m", 100, "혼자")).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.text()).isEqualTo("피드백: 혼자");
+        assertThat(submittedBatches).hasSize(1);
+    }
+
+    @Test
+    void erroredRequestFailsOnlyItsOwnFuture() throws Exception {
+        CompletableFuture<ClaudeResponse> ok = batcher.submit(new ClaudeRequest("m", 100, "정상"));
+        CompletableFuture<ClaudeResponse> failed = batcher.submit(new ClaudeRequest("m", 100, "overloaded"));
+
+        assertThat(ok.get(5, TimeUnit.SECONDS).text()).isEqualTo("피드백: 정상");
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(LlmRateLimitException.class);
+    }
+
+    @Test
+    void batchesOnlyWhenBacklogReachesThreshold() {
+        assertThat(batcher.accepts(9)).isFalse();
+        assertThat(batcher.accepts(10)).isTrue();
+    }
+}
@@ -0,0 +1,36 @@
+package com.site.xidong.feedback;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedbackCacheKeyTest {
+
+    @Test
+    void ignoresWhitespaceAndCaseDifferencesInTranscript() {
+        String key = FeedbackCacheKey.of(1L, "v1", "model", "프로세스는  실행 중인\n프로그램입니다. OS가 관리");
+
+        assertThat(FeedbackCacheKey.of(1L, "v1", "model", " 프로세스는 실행 중인 프로그램입니다. os가 관리 "))
+                .isEqualTo(key);
+        assertThat(key).hasSize(64);
+    }
+
+    @Test
+    void differsByQuestionPromptVersionAndModel() {
+        String key = FeedbackCacheKey.of(1L, "v1", "model", "답변");
+
+        assertThat(FeedbackCacheKey.of(2L, "v1", "model", "답변")).isNotEqualTo(key);
+        assertThat(FeedbackCacheKey.of(1L, "v2", "model", "답변")).isNotEqualTo(key);
+        assertThat(FeedbackCacheKey.of(1L, "v1", "other", "답변")).isNotEqualTo(key);
+        assertThat(FeedbackCacheKey.of(1L, "v1", "model", "다른 답변")).isNotEqualTo(key);
+    }
+
+    @Test
+    void normalizesDecomposedHangulToComposedForm() {
+        String decomposed = Normalizer.normalize("스레드", Normalizer.Form.NFD);
+
+        assertThat(FeedbackCacheKey.normalize(decomposed)).isEqualTo("스레드");
+    }
+}
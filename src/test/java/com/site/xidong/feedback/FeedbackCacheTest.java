@@ -0,0 +1,143 @@
+package com.site.xidong.feedback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedbackCacheTest {
+
+    private static final String KEY = "k1";
+
+    private CachedFeedbackRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CachedFeedbackRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private FeedbackCache cache(long memoryTtlMinutes) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("claude.feedback-cache.memory-ttl-minutes", String.valueOf(memoryTtlMinutes))
+                .withProperty("claude.feedback-cache.retention-days", "30");
+        return new FeedbackCache(repository, environment, meterRegistry);
+    }
+
+    private static CachedFeedback cached(LocalDateTime createdAt) {
+        return CachedFeedback.builder()
+                .id(1L)
+                .cacheKey(KEY)
+                .questionId(10L)
+                .promptVersion("v1")
+                .model("m")
+                .contents("피드백")
+                .generationMillis(1200)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("llm.feedback.cache", "result", result).count();
+    }
+
+    private static ClaudeResponse response(String stopReason) {
+        return new ClaudeResponse("피드백", 10, 20, 0, 0, stopReason, 100);
+    }
+
+    @Test
+    void servesFromMemoryAfterDbHit() {
+        FeedbackCache cache = cache(60);
+        when(repository.findByCacheKey(KEY)).thenReturn(Optional.of(cached(LocalDateTime.now())));
+
+        assertThat(cache.find(KEY)).map(CachedFeedback::getContents).contains("피드백");
+        assertThat(cache.find(KEY)).map(CachedFeedback::getContents).contains("피드백");
+
+        verify(repository, times(1)).findByCacheKey(KEY);
+        verify(repository, times(2)).recordHit(eq(1L), any(LocalDateTime.class));
+        assertThat(count("hit-db")).isEqualTo(1.0);
+        assertThat(count("hit-memory")).isEqualTo(1.0);
+        assertThat(cache.hitRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    void expiredMemoryEntryFallsBackToDb() {
+        // TTL 0분이면 메모리 항목은 바로 만료됨
+        FeedbackCache cache = cache(0);
+        when(repository.findByCacheKey(KEY)).thenReturn(Optional.of(cached(LocalDateTime.now())));
+
+        assertThat(cache.find(KEY)).isPresent();
+        assertThat(cache.find(KEY)).isPresent();
+
+        verify(repository, times(2)).findByCacheKey(KEY);
+        assertThat(count("hit-db")).isEqualTo(2.0);
+        assertThat(count("hit-memory")).isZero();
+    }
+
+    @Test
+    void rowOlderThanRetentionIsMiss() {
+        FeedbackCache cache = cache(60);
+        when(repository.findByCacheKey(KEY)).thenReturn(Optional.of(cached(LocalDateTime.now().minusDays(31))));
+
+        assertThat(cache.find(KEY)).isEmpty();
+
+        verify(repository, never()).recordHit(any(), any());
+        assertThat(count("miss")).isEqualTo(1.0);
+        assertThat(cache.hitRatio()).isZero();
+    }
+
+    @Test
+    void repositoryFailureIsMiss() {
+        FeedbackCache cache = cache(60);
+        when(repository.findByCacheKey(KEY)).thenThrow(new IllegalStateException("db down"));
+
+        assertThat(cache.find(KEY)).isEmpty();
+        assertThat(count("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void putKeepsEntryInMemory() {
+        FeedbackCache cache = cache(60);
+
+        cache.put(cached(LocalDateTime.now()));
+
+        assertThat(cache.find(KEY)).isPresent();
+        verify(repository, never()).findByCacheKey(any());
+        assertThat(count("hit-memory")).isEqualTo(1.0);
+    }
+
+    @Test
+    void duplicateKeyIsIgnoredAndNotKeptInMemory() {
+        FeedbackCache cache = cache(60);
+        when(repository.save(any(CachedFeedback.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'k1' for key 'uk_feedback_cache_key'"));
+
+        assertThatCode(() -> cache.put(cached(LocalDateTime.now()))).doesNotThrowAnyException();
+
+        // 먼저 저장한 요청의 행을 DB에서 읽어야 함
+        assertThat(cache.find(KEY)).isEmpty();
+        verify(repository).findByCacheKey(KEY);
+    }
+
+    @Test
+    void onlyEndTurnResponsesAreCacheable() {
+        assertThat(FeedbackCache.isCacheable(response("end_turn"))).isTrue();
+        assertThat(FeedbackCache.isCacheable(response("max_tokens"))).isFalse();
+        assertThat(FeedbackCache.isCacheable(response(null))).isFalse();
+    }
+}
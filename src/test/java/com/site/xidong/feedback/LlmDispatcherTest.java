@@ -0,0 +1,216 @@
+package com.site.xidong.feedback;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmDispatcherTest {
+
+    private static final Pattern PROMPT = Pattern.compile("\"content\":\"([^\"]*)\"");
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ClaudeClient client;
+    private LlmDispatcher dispatcher;
+    // 프롬프트별 응답 순서 ("429", "429-no-header", "partial-overloaded", "block", 없으면 정상 스트림)
+    private final Map<String, List<String>> script = new ConcurrentHashMap<>();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/messages", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        client = new ClaudeClient("test-key", "http://127.0.0.1:" + server.getAddress().getPort(), 2000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private LlmDispatcher dispatcher(int maxConcurrency, int queueCapacity) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("claude.dispatch.max-concurrency", String.valueOf(maxConcurrency))
+                .withProperty("claude.dispatch.queue-capacity", String.valueOf(queueCapacity))
+                .withProperty("claude.dispatch.requests-per-minute", "6000")
+                .withProperty("claude.dispatch.tokens-per-minute", "10000000")
+                .withProperty("claude.dispatch.max-retries", "3")
+                .withProperty("claude.dispatch.retry-base-delay-ms", "200")
+                .withProperty("claude.dispatch.retry-max-delay-ms", "400");
+        dispatcher = new LlmDispatcher(client, environment, new SimpleMeterRegistry());
+        return dispatcher;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Matcher matcher = PROMPT.matcher(body);
+        String prompt = matcher.find() ? matcher.group(1) : "";
+        received.add(prompt);
+        List<String> steps = script.get(prompt);
+        String step = steps != null && !steps.isEmpty() ? steps.remove(0) : "ok";
+        switch (step) {
+            case "429" -> {
+                exchange.getResponseHeaders().set("retry-after", "0.3");
+                respond(exchange, 429, "application/json", "{\"type\":\"error\",\"error\":{\"type\":\"rate_limit_error\"}}");
+            }
+            case "429-no-header" ->
+                    respond(exchange, 429, "application/json", "{\"type\":\"error\",\"error\":{\"type\":\"rate_limit_error\"}}");
+            case "partial-overloaded" -> respond(exchange, 200, "text/event-stream", """
+                    event: message_start
+                    data: {"type":"message_start","message":{"usage":{"input_tokens":5,"output_tokens":0}}}
+
+                    event: content_block_delta
+                    data: {"type":"content_block_delta","index":0,"delta":{"type":"text_delta","text":"부분 "}}
+
+                    event: error
+                    data: {"type":"error","error":{"type":"overloaded_error","message":"Overloaded"}}
+
+                    """);
+            case "block" -> {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                respond(exchange, 200, "text/event-stream", stream(prompt));
+            }
+            default -> respond(exchange, 200, "text/event-stream", stream(prompt));
+        }
+    }
+
+    private static String stream(String text) {
+        return """
+                event: message_start
+                data: {"type":"message_start","message":{"usage":{"input_tokens":3,"output_tokens":1}}}
+
+                event: content_block_delta
+                data: {"type":"content_block_delta","index":0,"delta":{"type":"text_delta","text":"%s"}}
+
+                event: message_delta
+                data: {"type":"message_delta","delta":{"stop_reason":"end_turn"},"usage":{"output_tokens":2}}
+
+                event: message_stop
+                data: {"type":"message_stop"}
+
+                """.formatted(text);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("content-type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static ClaudeRequest request(String prompt) {
+        return new ClaudeRequest("m", 10, prompt);
+    }
+
+    @Test
+    void pausesForRetryAfterThenRetries() throws Exception {
+        LlmDispatcher dispatcher = dispatcher(2, 10);
+        script.put("a", new CopyOnWriteArrayList<>(List.of("429")));
+        long start = System.nanoTime();
+
+        ClaudeResponse response = dispatcher.submit(request("a"), null).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.text()).isEqualTo("a");
+        assertThat(received).containsExactly("a", "a");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(300L);
+    }
+
+    @Test
+    void fallsBackToBackoffWithoutRetryAfter() throws Exception {
+        LlmDispatcher dispatcher = dispatcher(2, 10);
+        script.put("a", new CopyOnWriteArrayList<>(List.of("429-no-header", "429-no-header")));
+
+        ClaudeResponse response = dispatcher.submit(request("a"), null).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.text()).isEqualTo("a");
+        assertThat(received).containsExactly("a", "a", "a");
+    }
+
+    @Test
+    void requeuesRateLimitedRequestAtHead() throws Exception {
+        LlmDispatcher dispatcher = dispatcher(1, 10);
+        script.put("a", new CopyOnWriteArrayList<>(List.of("429")));
+
+        CompletableFuture<ClaudeResponse> first = dispatcher.submit(request("a"), null);
+        CompletableFuture<ClaudeResponse> second = dispatcher.submit(request("b"), null);
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // 재시도 요청이 뒤에 들어온 요청보다 먼저 다시 나감
+        assertThat(received).containsExactly("a", "a", "b");
+    }
+
+    @Test
+    void doesNotRetryAfterTextWasStreamed() {
+        LlmDispatcher dispatcher = dispatcher(2, 10);
+        script.put("a", new CopyOnWriteArrayList<>(List.of("partial-overloaded")));
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        assertThatThrownBy(() -> dispatcher.submit(request("a"), chunks::add).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(LlmRateLimitException.class);
+        assertThat(chunks).containsExactly("부분 ");
+        assertThat(received).containsExactly("a");
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        LlmDispatcher dispatcher = dispatcher(1, 1);
+        script.put("a", new CopyOnWriteArrayList<>(List.of("block")));
+
+        CompletableFuture<ClaudeResponse> inFlight = dispatcher.submit(request("a"), null);
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ClaudeResponse> waiting = dispatcher.submit(request("b"), null);
+        CompletableFuture<ClaudeResponse> overflow = dispatcher.submit(request("c"), null);
+
+        assertThatThrownBy(() -> overflow.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(LlmRateLimitException.class);
+        assertThat(waiting.isDone()).isFalse();
+
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).text()).isEqualTo("a");
+        assertThat(waiting.get(5, TimeUnit.SECONDS).text()).isEqualTo("b");
+        assertThat(received).containsExactly("a", "b");
+    }
+}
@@ -0,0 +1,88 @@
+package com.site.xidong.feedback;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptTemplateTest {
+
+    private static final String SOURCE = """
+            # 주석
+            [system]
+            고정 지침
+
+            [context]
+            면접 질문: {question}
+
+            [answer]
+            <answer>{answer}</answer>
+            """;
+
+    @Test
+    void putsCacheableSectionsBeforeAnswer() throws Exception {
+        ClaudeRequest request = PromptTemplate.parse("v9", SOURCE).toRequest("m", 100, "TCP와 UDP", "신뢰성 차이 {question}");
+
+        JsonNode json = new ObjectMapper().readTree(request.toJson(new ObjectMapper(), true));
+        assertThat(json.path("system").get(0).path("text").asText()).isEqualTo("고정 지침");
+        assertThat(json.path("system").get(0).path("cache_control").path("type").asText()).isEqualTo("ephemeral");
+        JsonNode content = json.path("messages").get(0).path("content");
+        assertThat(content.get(0).path("text").asText()).isEqualTo("면접 질문: TCP와 UDP");
+        assertThat(content.get(0).path("cache_control").path("type").asText()).isEqualTo("ephemeral");
+        assertThat(content.get(1).path("text").asText()).isEqualTo("<answer>신뢰성 차이 {question}</answer>");
+        assertThat(content.get(1).has("cache_control")).isFalse();
+    }
+
+    @Test
+    void answerOnlyTemplateSendsPlainUserMessage() throws Exception {
+        ClaudeRequest request = PromptTemplate.parse("v0", "[answer]\n{answer}은 [{question}] 답변")
+                .toRequest("m", 100, "질문", "답");
+
+        JsonNode json = new ObjectMapper().readTree(request.toJson(new ObjectMapper(), true));
+        assertThat(json.has("system")).isFalse();
+        assertThat(json.path("messages").get(0).path("content").asText()).isEqualTo("답은 [질문] 답변");
+    }
+
+    @Test
+    void placeholdersInsideValuesAreNotSubstituted() throws Exception {
+        ClaudeRequest request = PromptTemplate.parse("v0", "[answer]\nQ: {question}\nA: {answer}")
+                .toRequest("m", 100, "{answer}가 뭔가요? $1", "{question} 라고 답함 \\n");
+
+        JsonNode json = new ObjectMapper().readTree(request.toJson(new ObjectMapper(), true));
+        assertThat(json.path("messages").get(0).path("content").asText())
+                .isEqualTo("Q: {answer}가 뭔가요? $1\nA: {question} 라고 답함 \\n");
+    }
+
+    @Test
+    void cacheVersionChangesWithContent() {
+        PromptTemplate original = PromptTemplate.parse("v2", SOURCE);
+        PromptTemplate edited = PromptTemplate.parse("v2", SOURCE.replace("고정 지침", "바뀐 지침"));
+
+        assertThat(original.cacheVersion()).startsWith("v2-");
+        assertThat(edited.cacheVersion()).isNotEqualTo(original.cacheVersion());
+    }
+
+    @Test
+    void rejectsTemplateWithoutAnswerPlaceholder() {
+        assertThatThrownBy(() -> PromptTemplate.parse("v1", "[system]\n지침\n[answer]\n답변 없음"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PromptTemplate.parse("v1", "[unknown]\n{answer}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bundledTemplatesParse() throws IOException {
+        for (String version : new String[]{"v1", "v2"}) {
+            try (InputStream in = getClass().getResourceAsStream("/prompts/feedback." + version + ".prompt")) {
+                PromptTemplate template = PromptTemplate.parse(version, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                assertThat(template.answer()).contains("{answer}");
+            }
+        }
+    }
+}
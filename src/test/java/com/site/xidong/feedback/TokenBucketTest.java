@@ -0,0 +1,49 @@
+package com.site.xidong.feedback;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void startsFullAndRefillsPerMinuteRate() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+
+        assertThat(bucket.nanosUntilAvailable(60, 0)).isZero();
+        bucket.consume(60, 0);
+
+        assertThat(bucket.nanosUntilAvailable(1, 0)).isEqualTo(SECOND);
+        assertThat(bucket.nanosUntilAvailable(1, SECOND)).isZero();
+    }
+
+    @Test
+    void overspendDelaysFollowingRequests() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.consume(70, 0);
+
+        assertThat(bucket.available(0)).isEqualTo(-10.0);
+        assertThat(bucket.nanosUntilAvailable(1, 0)).isEqualTo(11 * SECOND);
+    }
+
+    @Test
+    void requestLargerThanCapacityWaitsForFullBucket() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.consume(30, 0);
+
+        assertThat(bucket.nanosUntilAvailable(500, 0)).isEqualTo(30 * SECOND);
+    }
+
+    @Test
+    void refundNeverExceedsCapacity() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+        bucket.consume(10, 0);
+        bucket.refund(50);
+
+        assertThat(bucket.available(0)).isEqualTo(60.0);
+    }
+}
@@ -0,0 +1,177 @@
+package com.site.xidong.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MediaDurationParserTest {
+
+    @Test
+    void readsWebmSegmentInfoDuration() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes(0x1A, 0x45, 0xDF, 0xA3, 0x80));                                     // EBML header
+        out.write(bytes(0x18, 0x53, 0x80, 0x67, 0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF)); // Segment (unknown size)
+        out.write(bytes(0x15, 0x49, 0xA9, 0x66, 0x92));                                     // Info
+        out.write(bytes(0x2A, 0xD7, 0xB1, 0x83, 0x0F, 0x42, 0x40));                         // TimecodeScale 1ms
+        out.write(bytes(0x44, 0x89, 0x88));                                                 // Duration (float64)
+        out.write(ByteBuffer.allocate(8).putDouble(65_000.0).array());
+        out.write(new byte[300 * 1024]);
+        CountingReader reader = new CountingReader(out.toByteArray());
+
+        Optional<ProbeResult> result = parse(reader);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().durationSeconds()).isCloseTo(65.0, within(0.001));
+        assertThat(result.get().method()).isEqualTo("webm-info");
+        assertThat(reader.bytesRead).isEqualTo(MediaProbe.HEAD_BYTES);
+    }
+
+    @Test
+    void fallsBackToLastClusterWhenDurationMissing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes(0x1A, 0x45, 0xDF, 0xA3, 0x80));
+        out.write(bytes(0x18, 0x53, 0x80, 0x67, 0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF));
+        out.write(bytes(0x15, 0x49, 0xA9, 0x66, 0x87));                                     // Info without Duration
+        out.write(bytes(0x2A, 0xD7, 0xB1, 0x83, 0x0F, 0x42, 0x40));
+        out.write(cluster(0, 0, 20, 40));
+        out.write(bytes(0xEC, 0x10, 0x0E, 0x10, 0x00));                                     // Void 900KB
+        out.write(new byte[900 * 1024]);
+        out.write(cluster(299_000, 0, 500, 980));
+        CountingReader reader = new CountingReader(out.toByteArray());
+
+        Optional<ProbeResult> result = parse(reader);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().durationSeconds()).isCloseTo(299.98, within(0.001));
+        assertThat(result.get().method()).isEqualTo("webm-cluster");
+        assertThat(reader.bytesRead).isLessThan(reader.size());
+    }
+
+    @Test
+    void readsMp4MovieHeaderAfterMdatWithoutReadingMdat() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(box("ftyp", "isom\0\0\0\0isommp42".getBytes()));
+        out.write(box("mdat", new byte[1024 * 1024]));
+        ByteBuffer mvhd = ByteBuffer.allocate(100);
+        mvhd.putInt(0);          // version + flags
+        mvhd.putInt(0).putInt(0); // creation, modification
+        mvhd.putInt(1000);       // timescale
+        mvhd.putInt(312_500);    // duration
+        out.write(box("moov", box("mvhd", mvhd.array())));
+        CountingReader reader = new CountingReader(out.toByteArray());
+
+        Optional<ProbeResult> result = parse(reader);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().durationSeconds()).isCloseTo(312.5, within(0.001));
+        assertThat(result.get().method()).isEqualTo("mp4-mvhd");
+        assertThat(reader.bytesRead).isLessThan(MediaProbe.HEAD_BYTES + 1024);
+    }
+
+    @Test
+    void returnsEmptyForUnknownContainer() throws Exception {
+        assertThat(parse(new CountingReader(new byte[4096]))).isEmpty();
+    }
+
+    @Test
+    void rejectsDeclaredDurationThatDoesNotMatchFileSize() {
+        long thirtyMinutesAt2Mbps = 30 * 60 * 2_000_000L / 8;
+
+        assertThat(MediaProbe.isPlausible(1800.0, thirtyMinutesAt2Mbps)).isTrue();
+        assertThat(MediaProbe.isPlausible(10.0, thirtyMinutesAt2Mbps)).isFalse();
+        assertThat(MediaProbe.isPlausible(1800.0, 0)).isFalse();
+    }
+
+    @Test
+    void rejectsNonFiniteOrNegativeMetadataDuration() {
+        long size = 10_000_000L;
+
+        assertThat(MediaProbe.isPlausible(MediaProbe.parseDuration("NaN"), size)).isFalse();
+        assertThat(MediaProbe.isPlausible(MediaProbe.parseDuration("Infinity"), size)).isFalse();
+        assertThat(MediaProbe.isPlausible(MediaProbe.parseDuration("-30"), size)).isFalse();
+        assertThat(MediaProbe.parseDuration("abc")).isNull();
+        assertThat(MediaProbe.parseDuration(" 40.5 ")).isEqualTo(40.5);
+    }
+
+    @Test
+    void verifiesDeclaredDurationNearThresholdOrWithUnusualBitrate() {
+        long tenMinutesAt2Mbps = 10 * 60 * 2_000_000L / 8;
+        long oneMinuteAt2Mbps = 60 * 2_000_000L / 8;
+
+        // 10분 영상을 200초로 신고하면 크기 범위는 통과하지만 비트레이트가 3배라 확인 대상
+        assertThat(MediaProbe.isPlausible(200.0, tenMinutesAt2Mbps)).isTrue();
+        assertThat(MediaProbe.needsVerification(200.0, tenMinutesAt2Mbps, 2.0)).isTrue();
+        // 경계(300초) ±30% 안이면 비트레이트가 맞아도 확인
+        assertThat(MediaProbe.needsVerification(280.0, 280 * 2_000_000L / 8, 2.0)).isTrue();
+        assertThat(MediaProbe.needsVerification(600.0, tenMinutesAt2Mbps, 2.0)).isFalse();
+        assertThat(MediaProbe.needsVerification(60.0, oneMinuteAt2Mbps, 2.0)).isFalse();
+    }
+
+    private Optional<ProbeResult> parse(CountingReader reader) throws Exception {
+        byte[] head = reader.read(0, (int) Math.min(MediaProbe.HEAD_BYTES, reader.size()));
+        if (WebmDurationParser.matches(head)) {
+            return new WebmDurationParser().parse(reader, head);
+        }
+        if (Mp4DurationParser.matches(head)) {
+            return new Mp4DurationParser().parse(reader, head);
+        }
+        return Optional.empty();
+    }
+
+    // Cluster(unknown size) > Timecode + SimpleBlock들, 마지막 블록에는 Cluster ID와 같은 바이트열을 넣어 오탐을 검증
+    private byte[] cluster(int timecode, int... relativeTimecodes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes(0x1F, 0x43, 0xB6, 0x75, 0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF));
+        out.write(bytes(0xE7, 0x84));
+        out.write(ByteBuffer.allocate(4).putInt(timecode).array());
+        for (int relative : relativeTimecodes) {
+            out.write(bytes(0xA3, 0x8A, 0x81, (relative >> 8) & 0xFF, relative & 0xFF, 0x80));
+            out.write(bytes(0x1F, 0x43, 0xB6, 0x75, 0x81, 0x00));
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] box(String type, byte[] payload) {
+        return ByteBuffer.allocate(8 + payload.length)
+                .putInt(8 + payload.length)
+                .put(type.getBytes())
+                .put(payload)
+                .array();
+    }
+
+    private byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static class CountingReader implements RangeReader {
+
+        private final byte[] data;
+        long bytesRead;
+
+        CountingReader(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public long size() {
+            return data.length;
+        }
+
+        @Override
+        public byte[] read(long offset, int length) {
+            int end = (int) Math.min(data.length, offset + length);
+            bytesRead += end - offset;
+            return Arrays.copyOfRange(data, (int) offset, end);
+        }
+    }
+}
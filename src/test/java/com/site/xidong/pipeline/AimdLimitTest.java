@@ -0,0 +1,57 @@
+package com.site.xidong.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimitTest {
+
+    @Test
+    void growsAdditivelyWhileLimitIsUsedAndWaitsAreShort() {
+        AimdLimit limit = new AimdLimit(10, 2, 20, 0.9, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(i, i + 1, 100, 10, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(i, i + 1, 100, 10, false);
+        }
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(12);
+    }
+
+    @Test
+    void doesNotGrowWhenMostOfTheLimitIsIdle() {
+        AimdLimit limit = new AimdLimit(10, 2, 20, 0.9, 1000);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(i, i + 1, 0, 2, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffOncePerCongestionWindow() {
+        AimdLimit limit = new AimdLimit(20, 2, 40, 0.5, 1000);
+
+        assertThat(limit.onSample(100, 200, 5000, 20, false)).isEqualTo(10);
+        // 첫 감소 이전에 시작된 작업의 지연은 같은 혼잡으로 보고 무시
+        assertThat(limit.onSample(150, 210, 5000, 20, false)).isEqualTo(10);
+        assertThat(limit.onSample(250, 300, 0, 10, true)).isEqualTo(5);
+    }
+
+    @Test
+    void staysWithinBounds() {
+        AimdLimit limit = new AimdLimit(3, 2, 4, 0.1, 1000);
+
+        limit.onSample(1, 2, 5000, 3, false);
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        for (int i = 10; i < 200; i++) {
+            limit.onSample(i, i + 1, 0, 4, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+}
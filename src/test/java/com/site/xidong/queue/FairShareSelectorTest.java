@@ -0,0 +1,57 @@
+package com.site.xidong.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairShareSelectorTest {
+
+    private static String user(String task) {
+        return task.substring(0, 1);
+    }
+
+    @Test
+    void alternatesUsersInsteadOfDrainingOneUsersBatch() {
+        List<String> candidates = List.of("a1", "a2", "a3", "a4", "b1", "c1", "b2");
+
+        List<String> selected = FairShareSelector.select(candidates, List.of(), FairShareSelectorTest::user,
+                5, 0, Map.of(), 10);
+
+        assertThat(selected).containsExactly("a1", "b1", "c1", "a2", "b2");
+    }
+
+    @Test
+    void respectsPerUserInFlightCap() {
+        List<String> candidates = List.of("a1", "a2", "a3", "b1");
+
+        List<String> selected = FairShareSelector.select(candidates, List.of(), FairShareSelectorTest::user,
+                4, 0, Map.of("a", 1), 2);
+
+        assertThat(selected).containsExactly("a1", "b1");
+    }
+
+    @Test
+    void shortLaneGoesFirstAndLongLaneIsCapped() {
+        List<String> shortCandidates = List.of("a1", "b1");
+        List<String> longCandidates = List.of("c1", "d1", "e1");
+
+        List<String> selected = FairShareSelector.select(shortCandidates, longCandidates, FairShareSelectorTest::user,
+                10, 2, Map.of(), 3);
+
+        assertThat(selected).containsExactly("a1", "b1", "c1", "d1");
+    }
+
+    @Test
+    void longLaneOnlyUsesSlotsLeftByShortLane() {
+        List<String> shortCandidates = List.of("a1", "b1", "c1");
+        List<String> longCandidates = List.of("d1", "e1");
+
+        List<String> selected = FairShareSelector.select(shortCandidates, longCandidates, FairShareSelectorTest::user,
+                4, 5, Map.of(), 3);
+
+        assertThat(selected).containsExactly("a1", "b1", "c1", "d1");
+    }
+}
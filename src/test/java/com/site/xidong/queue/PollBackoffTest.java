@@ -0,0 +1,37 @@
+package com.site.xidong.queue;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PollBackoffTest {
+
+    @Test
+    void doublesWhileQueueIsEmptyUpToMax() {
+        PollBackoff backoff = new PollBackoff(200, 1000);
+
+        assertThat(backoff.next(0, 10)).isEqualTo(400);
+        assertThat(backoff.next(0, 10)).isEqualTo(800);
+        assertThat(backoff.next(0, 10)).isEqualTo(1000);
+        assertThat(backoff.next(0, 10)).isEqualTo(1000);
+    }
+
+    @Test
+    void pollsImmediatelyWhileBacklogFillsEverySlot() {
+        PollBackoff backoff = new PollBackoff(200, 1000);
+        backoff.next(0, 10);
+        backoff.next(0, 10);
+
+        assertThat(backoff.next(10, 10)).isZero();
+        assertThat(backoff.next(0, 10)).isEqualTo(400);
+    }
+
+    @Test
+    void resetsToMinimumAfterPartialClaim() {
+        PollBackoff backoff = new PollBackoff(200, 1000);
+        backoff.next(0, 10);
+        backoff.next(0, 10);
+
+        assertThat(backoff.next(3, 10)).isEqualTo(200);
+    }
+}
@@ -0,0 +1,42 @@
+package com.site.xidong.queue;
+
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueueSchemaVerifierTest {
+
+    @Test
+    void expectedIndexesUseSnakeCaseColumnsWithoutSortOrder() {
+        Map<String, List<String>> expected = QueueSchemaVerifier.expectedIndexes(
+                VideoProcessingQueue.class.getAnnotation(Table.class));
+
+        assertThat(expected.get("idx_queue_lane_pickup")).containsExactly("status", "lane", "priority", "next_attempt_at");
+        assertThat(expected.get("idx_queue_status_finished")).containsExactly("status", "finished_at");
+    }
+
+    @Test
+    void reportsMissingAndReorderedIndexes() {
+        Map<String, List<String>> expected = Map.of(
+                "idx_a", List.of("status", "next_attempt_at"),
+                "idx_b", List.of("status", "finished_at"));
+        Map<String, List<String>> actual = Map.of(
+                "idx_a", List.of("next_attempt_at", "status"));
+
+        List<String> problems = QueueSchemaVerifier.findProblems("video_processing_queue", expected, actual);
+
+        assertThat(problems).hasSize(2);
+        assertThat(problems).anyMatch(problem -> problem.contains("CREATE INDEX idx_b ON video_processing_queue (status, finished_at)"));
+    }
+
+    @Test
+    void passesWhenIndexesMatch() {
+        Map<String, List<String>> expected = Map.of("idx_a", List.of("status", "next_attempt_at"));
+
+        assertThat(QueueSchemaVerifier.findProblems("t", expected, expected)).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.site.xidong.queue;
+
+import com.site.xidong.feedback.LlmRateLimitException;
+import com.site.xidong.stt.SttTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    @Test
+    void backoffDoublesAndKeepsHalfAsFloor() {
+        assertThat(RetryPolicy.backoffMillis(1, 1000, 60_000, 0.0)).isEqualTo(500);
+        assertThat(RetryPolicy.backoffMillis(1, 1000, 60_000, 1.0)).isEqualTo(1000);
+        assertThat(RetryPolicy.backoffMillis(3, 1000, 60_000, 0.0)).isEqualTo(2000);
+        assertThat(RetryPolicy.backoffMillis(3, 1000, 60_000, 0.5)).isEqualTo(3000);
+    }
+
+    @Test
+    void backoffIsCappedAtMaxDelay() {
+        assertThat(RetryPolicy.backoffMillis(30, 1000, 60_000, 1.0)).isEqualTo(60_000);
+        assertThat(RetryPolicy.backoffMillis(30, 1000, 60_000, 0.0)).isEqualTo(30_000);
+    }
+
+    @Test
+    void classifiesWrappedCauses() {
+        assertThat(FailureClass.classify(new CompletionException(new SttTimeoutException("timeout"))))
+                .isEqualTo(FailureClass.STT_TIMEOUT);
+        assertThat(FailureClass.classify(new CompletionException(new RuntimeException(new LlmRateLimitException(429, "busy")))))
+                .isEqualTo(FailureClass.LLM_RATE_LIMITED);
+        assertThat(FailureClass.classify(new IllegalStateException("boom"))).isEqualTo(FailureClass.UNKNOWN);
+    }
+
+    @Test
+    void maxAttemptsComeFromPropertiesPerFailureClass() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("video.queue.retry.llm-rate-limited.max-attempts", "2");
+        RetryPolicy policy = new RetryPolicy(environment);
+
+        assertThat(policy.shouldRetry(FailureClass.LLM_RATE_LIMITED, 1)).isTrue();
+        assertThat(policy.shouldRetry(FailureClass.LLM_RATE_LIMITED, 2)).isFalse();
+        assertThat(policy.getMaxAttempts(FailureClass.S3_NOT_FOUND))
+                .isEqualTo(FailureClass.S3_NOT_FOUND.getDefaultMaxAttempts());
+    }
+}
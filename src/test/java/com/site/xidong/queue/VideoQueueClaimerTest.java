@@ -0,0 +1,118 @@
+package com.site.xidong.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VideoQueueClaimerTest {
+
+    private VideoProcessingQueueRepository repository;
+    private RetryPolicy retryPolicy;
+    private VideoQueueClaimer claimer;
+    // 오래된 순으로 쌓인 SHORT 차선 대기 작업
+    private final List<VideoProcessingQueue> backlog = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(VideoProcessingQueueRepository.class);
+        retryPolicy = mock(RetryPolicy.class);
+        claimer = new VideoQueueClaimer(repository, retryPolicy, mock(PendingCountCache.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(claimer, "leaseSeconds", 120L);
+        ReflectionTestUtils.setField(claimer, "maxInFlightPerUser", 3);
+        ReflectionTestUtils.setField(claimer, "candidateMultiplier", 2);
+
+        // lockPendingTasks 쿼리와 같은 규칙: 사용자별 앞선 maxPerUser건만 후보로 올린 뒤 limit건
+        when(repository.lockPendingTasks(eq(QueueLane.SHORT.name()), any(LocalDateTime.class), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    int limit = invocation.getArgument(2);
+                    int maxPerUser = invocation.getArgument(3);
+                    Map<String, Integer> perUser = new HashMap<>();
+                    return backlog.stream()
+                            .filter(task -> perUser.merge(task.getUsername(), 1, Integer::sum) <= maxPerUser)
+                            .limit(limit)
+                            .toList();
+                });
+    }
+
+    private static VideoProcessingQueue task(String username) {
+        return VideoProcessingQueue.builder()
+                .questionId(1L)
+                .requestNo(0)
+                .videoKey("videos/" + username)
+                .isOpen(false)
+                .startTime(0L)
+                .usePresignedUrl(true)
+                .username(username)
+                .lane(QueueLane.SHORT)
+                .build();
+    }
+
+    @Test
+    void userFillingWholeWindowDoesNotStarveOthers() {
+        // a의 작업만으로 후보 범위(slots × 2 = 8)를 넘게 채움
+        for (int i = 0; i < 20; i++) {
+            backlog.add(task("a"));
+        }
+        backlog.add(task("b"));
+
+        List<VideoProcessingQueue> claimed = claimer.claim(4, 0);
+
+        assertThat(claimed).extracting(VideoProcessingQueue::getUsername).containsExactly("a", "b", "a", "a");
+        assertThat(claimed).allMatch(task -> task.getStatus() == VideoProcessingQueue.QueueStatus.PROCESSING);
+        verify(repository).lockPendingTasks(eq(QueueLane.SHORT.name()), any(LocalDateTime.class), eq(8), eq(3));
+    }
+
+    @Test
+    void expiredLeasesBackOffPerRowByAttempt() {
+        VideoProcessingQueue first = task("a");
+        VideoProcessingQueue second = task("b");
+        // b는 이미 한 번 임대가 만료된 작업
+        second.scheduleRetry(FailureClass.LEASE_EXPIRED, "임대 만료", LocalDateTime.now());
+        first.markProcessing("dead-worker", LocalDateTime.now().minusSeconds(1));
+        second.markProcessing("dead-worker", LocalDateTime.now().minusSeconds(1));
+        when(repository.lockExpiredLeases(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, second));
+        when(retryPolicy.shouldRetry(eq(FailureClass.LEASE_EXPIRED), anyInt())).thenReturn(true);
+        when(retryPolicy.nextDelayMs(FailureClass.LEASE_EXPIRED, 1)).thenReturn(5_000L);
+        when(retryPolicy.nextDelayMs(FailureClass.LEASE_EXPIRED, 2)).thenReturn(20_000L);
+
+        assertThat(claimer.requeueExpired()).isEqualTo(2);
+
+        assertThat(first.getStatus()).isEqualTo(VideoProcessingQueue.QueueStatus.PENDING);
+        assertThat(first.getRetryCount()).isEqualTo(1);
+        assertThat(second.getRetryCount()).isEqualTo(2);
+        assertThat(Duration.between(first.getNextAttemptAt(), second.getNextAttemptAt()).toMillis())
+                .isBetween(14_000L, 16_000L);
+    }
+
+    @Test
+    void expiredLeaseOverMaxAttemptsIsDeadLettered() {
+        VideoProcessingQueue repeated = task("a");
+        repeated.scheduleRetry(FailureClass.LEASE_EXPIRED, "임대 만료", LocalDateTime.now());
+        repeated.scheduleRetry(FailureClass.LEASE_EXPIRED, "임대 만료", LocalDateTime.now());
+        repeated.markProcessing("dead-worker", LocalDateTime.now().minusSeconds(1));
+        when(repository.lockExpiredLeases(any(LocalDateTime.class), anyInt())).thenReturn(List.of(repeated));
+        when(retryPolicy.shouldRetry(FailureClass.LEASE_EXPIRED, 3)).thenReturn(false);
+
+        assertThat(claimer.requeueExpired()).isZero();
+
+        assertThat(repeated.getStatus()).isEqualTo(VideoProcessingQueue.QueueStatus.DEAD_LETTER);
+        assertThat(repeated.getRetryCount()).isEqualTo(3);
+    }
+}
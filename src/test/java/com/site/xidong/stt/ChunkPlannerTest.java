@@ -0,0 +1,37 @@
+package com.site.xidong.stt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkPlannerTest {
+
+    @Test
+    void cutsAtSilenceClosestToTarget() {
+        List<AudioChunk> chunks = ChunkPlanner.plan(400, List.of(70.0, 115.0, 150.0, 250.0, 290.0, 330.0),
+                120, 60, 180, 1.5);
+
+        assertThat(chunks).containsExactly(
+                new AudioChunk(0, 0, 115, 0),
+                new AudioChunk(1, 115, 135, 0),
+                new AudioChunk(2, 250, 0, 0));
+    }
+
+    @Test
+    void hardCutsOverlapNextChunkWhenNoSilenceInRange() {
+        List<AudioChunk> chunks = ChunkPlanner.plan(400, List.of(), 120, 60, 180, 1.5);
+
+        assertThat(chunks).containsExactly(
+                new AudioChunk(0, 0, 120, 0),
+                new AudioChunk(1, 118.5, 121.5, 1.5),
+                new AudioChunk(2, 238.5, 0, 1.5));
+    }
+
+    @Test
+    void chunkCountFollowsLength() {
+        assertThat(ChunkPlanner.plan(150, List.of(), 120, 60, 180, 1.5)).hasSize(1);
+        assertThat(ChunkPlanner.plan(1800, List.of(), 120, 60, 180, 1.5)).hasSize(15);
+    }
+}
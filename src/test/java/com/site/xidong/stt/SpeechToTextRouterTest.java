@@ -0,0 +1,137 @@
+package com.site.xidong.stt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpeechToTextRouterTest {
+
+    private static final SttRequest REQUEST = SttRequest.builder()
+            .videoId(1L)
+            .source("test.webm")
+            .estimatedSeconds(60)
+            .build();
+
+    @Test
+    void picksEngineWithLowestEstimatedLatency() throws Exception {
+        FakeEngine slow = new FakeEngine("slow", "느림");
+        FakeEngine fast = new FakeEngine("fast", "빠름");
+        SpeechToTextRouter router = router(List.of(slow, fast), new MockEnvironment()
+                .withProperty("stt.router.engines", "slow,fast")
+                .withProperty("stt.engine.slow.initial-rtf", "1.0")
+                .withProperty("stt.engine.fast.initial-rtf", "0.1"));
+
+        assertThat(router.transcribe(REQUEST)).isEqualTo("빠름");
+        assertThat(slow.calls.get()).isZero();
+    }
+
+    @Test
+    void fallsBackToNextEngineOnFailure() throws Exception {
+        FakeEngine broken = new FakeEngine("broken", null);
+        FakeEngine backup = new FakeEngine("backup", "대체 결과");
+        SpeechToTextRouter router = router(List.of(broken, backup), new MockEnvironment()
+                .withProperty("stt.router.engines", "broken,backup"));
+
+        assertThat(router.transcribe(REQUEST)).isEqualTo("대체 결과");
+        assertThat(broken.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void excludesEngineAfterConsecutiveFailures() throws Exception {
+        FakeEngine broken = new FakeEngine("broken", null);
+        FakeEngine backup = new FakeEngine("backup", "ok");
+        SpeechToTextRouter router = router(List.of(broken, backup), new MockEnvironment()
+                .withProperty("stt.router.engines", "broken,backup")
+                .withProperty("stt.router.failure-threshold", "2"));
+
+        router.transcribe(REQUEST);
+        router.transcribe(REQUEST);
+        router.transcribe(REQUEST);
+
+        assertThat(broken.calls.get()).isEqualTo(2);
+        assertThat(backup.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void routesAroundSaturatedEngine() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FakeEngine busy = new FakeEngine("busy", "busy") {
+            @Override
+            public String transcribe(SttRequest request) throws Exception {
+                calls.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return "busy";
+            }
+        };
+        FakeEngine spare = new FakeEngine("spare", "spare");
+        SpeechToTextRouter router = router(List.of(busy, spare), new MockEnvironment()
+                .withProperty("stt.router.engines", "busy,spare")
+                .withProperty("stt.engine.busy.max-concurrency", "1")
+                .withProperty("stt.engine.busy.initial-rtf", "0.3")
+                .withProperty("stt.engine.spare.initial-rtf", "0.5"));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> router.transcribe(REQUEST));
+            while (busy.calls.get() == 0) {
+                Thread.sleep(10);
+            }
+            // busy 엔진이 가득 차면 예상 시간이 두 배(0.6)가 되어 spare(0.5)가 선택됨
+            assertThat(router.transcribe(REQUEST)).isEqualTo("spare");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rethrowsLastErrorWhenAllEnginesFail() {
+        SpeechToTextRouter router = router(List.of(new FakeEngine("a", null), new FakeEngine("b", null)),
+                new MockEnvironment().withProperty("stt.router.engines", "a,b"));
+
+        assertThatThrownBy(() -> router.transcribe(REQUEST))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("b");
+    }
+
+    private SpeechToTextRouter router(List<SpeechToTextEngine> engines, MockEnvironment environment) {
+        return new SpeechToTextRouter(engines, environment, new SimpleMeterRegistry());
+    }
+
+    private static class FakeEngine implements SpeechToTextEngine {
+
+        private final String name;
+        private final String result;
+        final AtomicInteger calls = new AtomicInteger();
+
+        FakeEngine(String name, String result) {
+            this.name = name;
+            this.result = result;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String transcribe(SttRequest request) throws Exception {
+            calls.incrementAndGet();
+            if (result == null) {
+                throw new IOException(name + " 실패");
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.site.xidong.stt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.*;
+import java.util.Map;
+
+/**
+ * 테스트용 스텁 워커: 모델 없이 whisper_worker.py와 같은 프레임 프로토콜로 응답
+ * source가 "hang"이면 응답하지 않고, "fail"이면 작업 실패를 돌려주며, "slow"면 1초 뒤 응답
+ */
+public class StubWhisperWorker {
+
+    public static void main(String[] args) throws Exception {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(System.in));
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(System.out));
+
+        WhisperFrames.write(output, Map.of("type", "ready", "model", "stub"));
+        while (true) {
+            JsonNode request;
+            try {
+                request = WhisperFrames.read(input);
+            } catch (EOFException e) {
+                return;
+            }
+            String type = request.path("type").asText();
+            if ("ping".equals(type)) {
+                WhisperFrames.write(output, Map.of("type", "pong"));
+            } else if ("shutdown".equals(type)) {
+                return;
+            } else if ("transcribe".equals(type)) {
+                String id = request.path("id").asText();
+                String source = request.path("source").asText();
+                if ("hang".equals(source)) {
+                    Thread.sleep(Long.MAX_VALUE);
+                } else if ("slow".equals(source)) {
+                    Thread.sleep(1000);
+                    WhisperFrames.write(output, Map.of("type", "result", "id", id, "ok", true, "text", "stub:" + source));
+                } else if ("fail".equals(source)) {
+                    WhisperFrames.write(output, Map.of("type", "result", "id", id, "ok", false, "error", "stub failure"));
+                } else {
+                    WhisperFrames.write(output, Map.of("type", "result", "id", id, "ok", true, "text", "stub:" + source));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.site.xidong.stt;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.services.transcribestreaming.model.Alternative;
+import software.amazon.awssdk.services.transcribestreaming.model.AudioEvent;
+import software.amazon.awssdk.services.transcribestreaming.model.AudioStream;
+import software.amazon.awssdk.services.transcribestreaming.model.Result;
+import software.amazon.awssdk.services.transcribestreaming.model.Transcript;
+import software.amazon.awssdk.services.transcribestreaming.model.TranscriptEvent;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptAssemblerTest {
+
+    @Test
+    void finalResultReplacesPartials() {
+        TranscriptAssembler assembler = new TranscriptAssembler();
+
+        assembler.accept("r1", "안녕", true);
+        assembler.accept("r1", "안녕하세요", true);
+        assembler.accept("r2", "저는", true);
+        assembler.accept("r1", "안녕하세요.", false);
+        assembler.accept("r2", "저는 지원자입니다.", false);
+
+        assertThat(assembler.getTranscript()).isEqualTo("안녕하세요. 저는 지원자입니다.");
+        assertThat(assembler.getFinalCount()).isEqualTo(2);
+        assertThat(assembler.getPartialCount()).isZero();
+    }
+
+    @Test
+    void lateOrDuplicateEventsDoNotOverwriteFinal() {
+        TranscriptAssembler assembler = new TranscriptAssembler();
+
+        assembler.accept("r1", "확정", false);
+        assembler.accept("r1", "부분", true);
+
+        assertThat(assembler.getTranscript()).isEqualTo("확정");
+    }
+
+    @Test
+    void acceptsTranscriptEventsFromStream() {
+        TranscriptAssembler assembler = new TranscriptAssembler();
+
+        TranscribeStreamingEngine.accept(assembler, event(result("r1", "첫 번째", true)));
+        TranscribeStreamingEngine.accept(assembler, event(result("r1", "첫 번째 문장", false), result("r2", "두 번째", true)));
+
+        assertThat(assembler.getTranscript()).isEqualTo("첫 번째 문장 두 번째");
+        assertThat(assembler.getPartialCount()).isEqualTo(1);
+    }
+
+    @Test
+    void publisherEmitsChunksOnDemandAndCompletes() throws Exception {
+        byte[] pcm = new byte[3200 * 5 + 100];
+        AudioStreamPublisher publisher = new AudioStreamPublisher(new ByteArrayInputStream(pcm), 3200, Long.MAX_VALUE);
+
+        List<Integer> sizes = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        publisher.subscribe(new Subscriber<AudioStream>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(AudioStream audioStream) {
+                sizes.add(((AudioEvent) audioStream).audioChunk().asByteArray().length);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sizes).containsExactly(3200, 3200, 3200, 3200, 3200, 100);
+    }
+
+    private TranscriptEvent event(Result... results) {
+        return TranscriptEvent.builder()
+                .transcript(Transcript.builder().results(results).build())
+                .build();
+    }
+
+    private Result result(String resultId, String text, boolean partial) {
+        return Result.builder()
+                .resultId(resultId)
+                .isPartial(partial)
+                .alternatives(Alternative.builder().transcript(text).build())
+                .build();
+    }
+}
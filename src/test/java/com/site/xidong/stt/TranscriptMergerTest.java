@@ -0,0 +1,38 @@
+package com.site.xidong.stt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptMergerTest {
+
+    @Test
+    void removesWordsRepeatedInOverlap() {
+        List<AudioChunk> chunks = List.of(new AudioChunk(0, 0, 120, 0), new AudioChunk(1, 118.5, 0, 1.5));
+
+        String merged = TranscriptMerger.merge(chunks, List.of(
+                "저는 백엔드 개발자로 일하고 있습니다.",
+                "일하고 있습니다 그리고 스프링을 주로 사용합니다."));
+
+        assertThat(merged).isEqualTo("저는 백엔드 개발자로 일하고 있습니다. 그리고 스프링을 주로 사용합니다.");
+    }
+
+    @Test
+    void keepsRepeatedWordsAtSilenceCuts() {
+        List<AudioChunk> chunks = List.of(new AudioChunk(0, 0, 115, 0), new AudioChunk(1, 115, 0, 0));
+
+        String merged = TranscriptMerger.merge(chunks, List.of("네 맞습니다", "맞습니다 그래서"));
+
+        assertThat(merged).isEqualTo("네 맞습니다 맞습니다 그래서");
+    }
+
+    @Test
+    void skipsEmptyChunks() {
+        List<AudioChunk> chunks = List.of(new AudioChunk(0, 0, 115, 0), new AudioChunk(1, 115, 120, 0),
+                new AudioChunk(2, 235, 0, 0));
+
+        assertThat(TranscriptMerger.merge(chunks, List.of("첫 번째", "", "세 번째"))).isEqualTo("첫 번째 세 번째");
+    }
+}
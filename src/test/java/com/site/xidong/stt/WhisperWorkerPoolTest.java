@@ -0,0 +1,117 @@
+package com.site.xidong.stt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WhisperWorkerPoolTest {
+
+    private WhisperWorkerPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<String> command = List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                StubWhisperWorker.class.getName());
+        pool = new WhisperWorkerPool(command, 2,
+                Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofMinutes(5),
+                100, new SimpleMeterRegistry());
+        pool.start();
+        awaitIdle(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void transcribesThroughResidentWorkers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = executor.invokeAll(List.of(
+                    () -> pool.transcribe("a"), () -> pool.transcribe("b"),
+                    () -> pool.transcribe("c"), () -> pool.transcribe("d")));
+            for (Future<String> result : results) {
+                assertThat(result.get()).startsWith("stub:");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+    }
+
+    @Test
+    void jobFailureKeepsWorker() throws Exception {
+        assertThatThrownBy(() -> pool.transcribe("fail")).isInstanceOf(IOException.class);
+        assertThat(pool.getIdleCount()).isEqualTo(2);
+        assertThat(pool.transcribe("ok")).isEqualTo("stub:ok");
+    }
+
+    @Test
+    void timedOutWorkerIsReplaced() throws Exception {
+        assertThatThrownBy(() -> pool.transcribe("hang")).isInstanceOf(SttTimeoutException.class);
+        awaitIdle(2);
+        assertThat(pool.transcribe("after")).isEqualTo("stub:after");
+    }
+
+    @Test
+    void busyWorkerIsNotReturnedAfterShutdown() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> result = executor.submit(() -> pool.transcribe("slow"));
+            awaitBusy();
+            pool.shutdown();
+
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("stub:slow");
+            assertThat(pool.getIdleCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void unhealthyWorkerAfterShutdownKeepsJobException() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> result = executor.submit(() -> pool.transcribe("hang"));
+            awaitBusy();
+            pool.shutdown();
+
+            // 교체 예약이 거부되어도 원래 시간 초과 예외가 그대로 전달됨
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(SttTimeoutException.class);
+            assertThat(pool.getIdleCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitBusy() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.getBusyCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(pool.getBusyCount()).isEqualTo(1);
+    }
+
+    private void awaitIdle(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (pool.getIdleCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pool.getIdleCount()).isEqualTo(expected);
+    }
+}
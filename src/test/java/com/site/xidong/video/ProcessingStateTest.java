@@ -0,0 +1,43 @@
+package com.site.xidong.video;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessingStateTest {
+
+    @Test
+    void followsPipelineOrder() {
+        assertThat(ProcessingState.PROCESSING.canTransitionTo(ProcessingState.TRANSCRIBING)).isTrue();
+        assertThat(ProcessingState.TRANSCRIBING.canTransitionTo(ProcessingState.COMPLETED)).isTrue();
+        assertThat(ProcessingState.TRANSCRIBING.canTransitionTo(ProcessingState.NO_RESPONSE)).isTrue();
+        assertThat(ProcessingState.PROCESSING.canTransitionTo(ProcessingState.COMPLETED)).isFalse();
+        assertThat(ProcessingState.PROCESSING.canTransitionTo(ProcessingState.NO_RESPONSE)).isFalse();
+    }
+
+    @Test
+    void errorOnlyWhileInProgress() {
+        assertThat(ProcessingState.PROCESSING.canTransitionTo(ProcessingState.ERROR)).isTrue();
+        assertThat(ProcessingState.TRANSCRIBING.canTransitionTo(ProcessingState.ERROR)).isTrue();
+        assertThat(ProcessingState.COMPLETED.canTransitionTo(ProcessingState.ERROR)).isFalse();
+        assertThat(ProcessingState.NO_RESPONSE.canTransitionTo(ProcessingState.ERROR)).isFalse();
+    }
+
+    @Test
+    void retryRestartsUnlessCompleted() {
+        assertThat(ProcessingState.ERROR.canTransitionTo(ProcessingState.PROCESSING)).isTrue();
+        assertThat(ProcessingState.TRANSCRIBING.canTransitionTo(ProcessingState.PROCESSING)).isTrue();
+        assertThat(ProcessingState.NO_RESPONSE.canTransitionTo(ProcessingState.PROCESSING)).isTrue();
+        assertThat(ProcessingState.COMPLETED.canTransitionTo(ProcessingState.PROCESSING)).isFalse();
+    }
+
+    @Test
+    void terminalStatesHaveNoForwardStep() {
+        for (ProcessingState state : ProcessingState.values()) {
+            if (state.isTerminal()) {
+                assertThat(state.canTransitionTo(ProcessingState.TRANSCRIBING)).isFalse();
+                assertThat(state.canTransitionTo(ProcessingState.COMPLETED)).isFalse();
+            }
+        }
+    }
+}